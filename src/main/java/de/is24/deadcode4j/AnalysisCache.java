@@ -0,0 +1,283 @@
+package de.is24.deadcode4j;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newConcurrentMap;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.sort;
+
+/**
+ * The <code>AnalysisCache</code> stores the reports the {@link CacheableAnalyzer}s made for each file, so that these
+ * files need not be analyzed again as long as their content does not change.<br/>
+ * A cache entry is identified by the file's path; it is valid if the file's size and modification time match. If only
+ * the modification time differs, the entry is still valid if the hash of the file's content matches.<br/>
+ * The cache is tagged with a hash of the set of cacheable analyzers and the given configuration; if one of these
+ * changes, all entries are discarded.
+ *
+ * @since 2.2.0
+ */
+public class AnalysisCache {
+
+    private static final int FORMAT_VERSION = 2;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    @Nonnull
+    private final File cacheFile;
+    @Nonnull
+    private final String tag;
+    @Nonnull
+    private final Map<String, Entry> cachedEntries;
+    @Nonnull
+    private final ConcurrentMap<String, Entry> currentEntries = newConcurrentMap();
+    @Nonnull
+    private final AtomicInteger numberOfReusedEntries = new AtomicInteger();
+
+    private AnalysisCache(@Nonnull File cacheFile, @Nonnull String tag, @Nonnull Map<String, Entry> cachedEntries) {
+        this.cacheFile = cacheFile;
+        this.tag = tag;
+        this.cachedEntries = cachedEntries;
+    }
+
+    /**
+     * Loads the cache stored in the given file. If the file does not exist, cannot be read or was created for another
+     * set of analyzers or another configuration, an empty cache is returned.
+     *
+     * @param cacheFile     the file to load the cache from and to {@link #store() store it to}
+     * @param configuration describes the configuration the cached reports depend on, e.g. the plugin's version and the
+     *                      analyzers' settings; it is hashed, so it may be of any length
+     * @param analyzers     the analyzers being used; only the {@link CacheableAnalyzer}s are considered
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static AnalysisCache loadFrom(@Nonnull File cacheFile,
+                                         @Nonnull String configuration,
+                                         @Nonnull Iterable<? extends Analyzer> analyzers) {
+        String tag = calculateTag(configuration, analyzers);
+        return new AnalysisCache(cacheFile, tag, readEntries(cacheFile, tag));
+    }
+
+    @Nonnull
+    private static String calculateTag(@Nonnull String configuration, @Nonnull Iterable<? extends Analyzer> analyzers) {
+        List<String> analyzerNames = newArrayList();
+        for (Analyzer analyzer : analyzers) {
+            if (CacheableAnalyzer.class.isInstance(analyzer)) {
+                analyzerNames.add(analyzer.getClass().getName());
+            }
+        }
+        sort(analyzerNames);
+        return Hashing.sha1().hashString(configuration + analyzerNames, Charsets.UTF_8).toString();
+    }
+
+    @Nonnull
+    private static Map<String, Entry> readEntries(@Nonnull File cacheFile, @Nonnull String tag) {
+        Logger logger = LoggerFactory.getLogger(AnalysisCache.class);
+        Map<String, Entry> entries = newHashMap();
+        if (!cacheFile.isFile()) {
+            logger.debug("No analysis cache found at [{}].", cacheFile);
+            return entries;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+            if (in.readInt() != FORMAT_VERSION || !tag.equals(readString(in))) {
+                logger.info("Discarding analysis cache [{}] as the analyzers or their configuration changed.", cacheFile);
+                return entries;
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                Entry entry = Entry.readFrom(in);
+                entries.put(entry.path, entry);
+            }
+            logger.debug("Read {} entries from analysis cache [{}].", entries.size(), cacheFile);
+        } catch (IOException e) {
+            logger.warn("Failed to read analysis cache [{}]; analyzing all files.", cacheFile, e);
+            entries.clear();
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalysisCache [" + this.cacheFile + "]";
+    }
+
+    /**
+     * Returns the cached reports for the given file or <code>null</code> if there is no valid entry.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    public AnalyzedCode getAnalyzedCodeFor(@Nonnull FileContext fileContext) {
+        File file = fileContext.getFile();
+        String path = file.getAbsolutePath();
+        Entry entry = this.cachedEntries.get(path);
+        if (entry == null) {
+            return null;
+        }
+        long length = file.length();
+        long lastModified = file.lastModified();
+        if (entry.length != length) {
+            return null;
+        }
+        if (entry.lastModified != lastModified) {
+            if (!entry.hash.equals(hashOf(fileContext))) {
+                return null;
+            }
+            entry = new Entry(path, length, lastModified, entry.hash, entry.analyzedClasses, entry.dependencies);
+        }
+        this.currentEntries.put(path, entry);
+        this.numberOfReusedEntries.incrementAndGet();
+        return new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), entry.analyzedClasses, entry.dependencies);
+    }
+
+    /**
+     * Caches the reports made for the given file.
+     *
+     * @since 2.2.0
+     */
+    public void putAnalyzedCodeFor(@Nonnull FileContext fileContext, @Nonnull AnalyzedCode analyzedCode) {
+        File file = fileContext.getFile();
+        String path = file.getAbsolutePath();
+        this.currentEntries.put(path, new Entry(path, file.length(), file.lastModified(), hashOf(fileContext),
+                analyzedCode.getAnalyzedClasses(), analyzedCode.getCodeDependencies()));
+    }
+
+    /**
+     * Stores the entries that were {@link #getAnalyzedCodeFor(FileContext) used} or
+     * {@link #putAnalyzedCodeFor(FileContext, AnalyzedCode) added} while analyzing; entries of files that were not
+     * analyzed anymore are dropped.
+     *
+     * @throws IOException if writing the cache file fails
+     * @since 2.2.0
+     */
+    public void store() throws IOException {
+        logger.info("Reused the cached analysis of {} files; analyzed {} files.", this.numberOfReusedEntries.get(),
+                this.currentEntries.size() - this.numberOfReusedEntries.get());
+        File tempFile = new File(this.cacheFile.getPath() + ".tmp");
+        FileUtils.forceMkdir(tempFile.getAbsoluteFile().getParentFile());
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        try {
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, this.tag);
+            out.writeInt(this.currentEntries.size());
+            for (Entry entry : this.currentEntries.values()) {
+                entry.writeTo(out);
+            }
+            out.close();
+        } finally {
+            IOUtils.closeQuietly(out);
+        }
+        FileUtils.deleteQuietly(this.cacheFile);
+        FileUtils.moveFile(tempFile, this.cacheFile);
+        logger.debug("Stored {} entries in analysis cache [{}].", this.currentEntries.size(), this.cacheFile);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutput, String)}.
+     */
+    @Nonnull
+    private static String readString(@Nonnull DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid length of string: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+
+    /**
+     * Writes the length of the given string's UTF-8 representation followed by the representation itself; in contrast
+     * to {@link DataOutput#writeUTF(String)}, this is not limited to 64 KB.
+     */
+    private static void writeString(@Nonnull DataOutput out, @Nonnull String string) throws IOException {
+        byte[] bytes = string.getBytes(Charsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nonnull
+    private static String hashOf(@Nonnull FileContext fileContext) {
+        return Hashing.md5().hashBytes(fileContext.getContent()).toString();
+    }
+
+    private static class Entry {
+        private final String path;
+        private final long length;
+        private final long lastModified;
+        private final String hash;
+        private final Set<String> analyzedClasses;
+        private final Map<String, Set<String>> dependencies;
+
+        public Entry(String path, long length, long lastModified, String hash,
+                     Set<String> analyzedClasses, Map<String, Set<String>> dependencies) {
+            this.path = path;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.analyzedClasses = analyzedClasses;
+            this.dependencies = dependencies;
+        }
+
+        @Nonnull
+        public static Entry readFrom(@Nonnull DataInput in) throws IOException {
+            String path = readString(in);
+            long length = in.readLong();
+            long lastModified = in.readLong();
+            String hash = readString(in);
+            Set<String> analyzedClasses = readStrings(in);
+            Map<String, Set<String>> dependencies = newHashMap();
+            for (int i = in.readInt(); i > 0; i--) {
+                dependencies.put(readString(in), readStrings(in));
+            }
+            return new Entry(path, length, lastModified, hash, analyzedClasses, dependencies);
+        }
+
+        @Nonnull
+        private static Set<String> readStrings(@Nonnull DataInput in) throws IOException {
+            Set<String> strings = newHashSet();
+            for (int i = in.readInt(); i > 0; i--) {
+                strings.add(readString(in));
+            }
+            return strings;
+        }
+
+        private static void writeStrings(@Nonnull DataOutput out, @Nonnull Set<String> strings) throws IOException {
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                writeString(out, string);
+            }
+        }
+
+        public void writeTo(@Nonnull DataOutput out) throws IOException {
+            writeString(out, this.path);
+            out.writeLong(this.length);
+            out.writeLong(this.lastModified);
+            writeString(out, this.hash);
+            writeStrings(out, this.analyzedClasses);
+            out.writeInt(this.dependencies.size());
+            for (Map.Entry<String, Set<String>> dependency : this.dependencies.entrySet()) {
+                writeString(out, dependency.getKey());
+                writeStrings(out, dependency.getValue());
+            }
+        }
+    }
+
+}
@@ -4,6 +4,9 @@ import de.is24.guava.NonNullFunction;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
 import java.util.Map;
 
 import static com.google.common.collect.Maps.newHashMap;
@@ -12,7 +15,11 @@ import static com.google.common.collect.Maps.newHashMap;
  * The <code>AnalysisContext</code> extends {@link de.is24.deadcode4j.AnalysisSink} by providing access to the
  * {@link #getModule() analyzed module} and {@link #getIntermediateResult(Object) the intermediate results} of the
  * modules it depends on. Additionally, it provides a {@link #getCache() <em>cache</em>} to use for caching calculated
- * data relevant for one context.
+ * data relevant for one context.<br/>
+ * If the files of a module are analyzed concurrently, each thread uses its own context
+ * {@link #AnalysisContext(AnalysisContext) derived} from the module's context. Data that is expensive to calculate and
+ * can be used concurrently - like indexes of the class path - is {@link #getOrCreateSharedEntry(Object,
+ * NonNullFunction) shared} by all of these contexts.
  *
  * @since 1.1.0
  */
@@ -23,6 +30,11 @@ public class AnalysisContext extends AnalysisSink {
     private final Module module;
     @Nonnull
     private final Map<Object, IntermediateResult> intermediateResults;
+    @Nullable
+    private final File jarIndexDirectory;
+    @Nonnull
+    private final Map<Object, Object> sharedEntries;
+    private final boolean derived;
 
     /**
      * Creates a new instance of <code>AnalysisContext</code> for the specified module.
@@ -30,8 +42,39 @@ public class AnalysisContext extends AnalysisSink {
      * @since 2.0.0
      */
     public AnalysisContext(@Nonnull Module module, @Nonnull Map<Object, IntermediateResult> intermediateResults) {
+        this(module, intermediateResults, null);
+    }
+
+    /**
+     * Creates a new instance of <code>AnalysisContext</code> for the specified module, storing the indexes of the
+     * class path's JAR files in the given directory.
+     *
+     * @see #getJarIndexDirectory()
+     * @since 2.2.0
+     */
+    public AnalysisContext(@Nonnull Module module,
+                           @Nonnull Map<Object, IntermediateResult> intermediateResults,
+                           @Nullable File jarIndexDirectory) {
         this.module = module;
         this.intermediateResults = newHashMap(intermediateResults);
+        this.jarIndexDirectory = jarIndexDirectory;
+        this.sharedEntries = newHashMap();
+        this.derived = false;
+    }
+
+    /**
+     * Creates a new instance of <code>AnalysisContext</code> for the module of the given context, e.g. to analyze some
+     * of the module's files in another thread. The new context has its own cache and reports, but shares the given
+     * context's intermediate results and {@link #getOrCreateSharedEntry(Object, NonNullFunction) shared entries}.
+     *
+     * @since 2.2.0
+     */
+    public AnalysisContext(@Nonnull AnalysisContext analysisContext) {
+        this.module = analysisContext.module;
+        this.intermediateResults = analysisContext.intermediateResults;
+        this.jarIndexDirectory = analysisContext.jarIndexDirectory;
+        this.sharedEntries = analysisContext.sharedEntries;
+        this.derived = true;
     }
 
     @Override
@@ -70,9 +113,72 @@ public class AnalysisContext extends AnalysisSink {
         return entry;
     }
 
+    /**
+     * Retrieves the entry shared by this context and all contexts derived from it (or the context it is derived from)
+     * or creates it. As the entry may be used by several threads concurrently, it must be thread-safe.
+     *
+     * @see #AnalysisContext(AnalysisContext)
+     * @since 2.2.0
+     */
+    @Nonnull
+    public <T> T getOrCreateSharedEntry(Object key, NonNullFunction<AnalysisContext, T> supplier) {
+        synchronized (this.sharedEntries) {
+            @SuppressWarnings("unchecked")
+            T entry = (T) this.sharedEntries.get(key);
+            if (entry == null) {
+                entry = supplier.apply(this);
+                this.sharedEntries.put(key, entry);
+            }
+            return entry;
+        }
+    }
+
     @Nullable
     public IntermediateResult getIntermediateResult(@Nonnull Object key) {
         return this.intermediateResults.get(key);
     }
 
+    /**
+     * Returns the directory in which to store the indexes of the class path's JAR files or <code>null</code> if the
+     * indexes are not to be stored.
+     *
+     * @see de.is24.deadcode4j.analyzer.classfile.JarIndex#indexOf(File, File)
+     * @since 2.2.0
+     */
+    @Nullable
+    public File getJarIndexDirectory() {
+        return this.jarIndexDirectory;
+    }
+
+    /**
+     * Releases the cached entries; entries implementing {@link Closeable} are closed. This is done once the analysis
+     * of the module is finished, i.e. the context must not be used for analyzing afterwards.<br/>
+     * The shared entries are released along with the context the others are derived from.
+     *
+     * @throws RuntimeException if closing an entry fails
+     * @since 2.2.0
+     */
+    public void release() {
+        close(this.cache.values());
+        this.cache.clear();
+        if (!this.derived) {
+            synchronized (this.sharedEntries) {
+                close(this.sharedEntries.values());
+                this.sharedEntries.clear();
+            }
+        }
+    }
+
+    private void close(@Nonnull Iterable<Object> entries) {
+        for (Object entry : entries) {
+            if (Closeable.class.isInstance(entry)) {
+                try {
+                    Closeable.class.cast(entry).close();
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to close [" + entry + "] of " + this + "!", e);
+                }
+            }
+        }
+    }
+
 }
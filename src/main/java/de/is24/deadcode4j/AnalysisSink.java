@@ -3,17 +3,13 @@ package de.is24.deadcode4j;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.EnumSet;
-import java.util.Map;
-import java.util.Set;
 
 import static com.google.common.base.Predicates.equalTo;
 import static com.google.common.base.Predicates.not;
 import static com.google.common.collect.Iterables.filter;
 import static com.google.common.collect.Iterables.size;
-import static com.google.common.collect.Maps.newHashMap;
-import static com.google.common.collect.Sets.newHashSet;
-import static de.is24.deadcode4j.Utils.getOrAddMappedSet;
 import static java.util.Arrays.asList;
 
 /**
@@ -28,11 +24,11 @@ public class AnalysisSink {
     @Nonnull
     protected final org.slf4j.Logger logger = LoggerFactory.getLogger(getClass());
     @Nonnull
-    private final Set<String> analyzedClasses = newHashSet();
-    @Nonnull
-    private final Map<String, Set<String>> dependencyMap = newHashMap();
+    private final DependencyGraph.Builder dependencyGraph = new DependencyGraph.Builder();
     @Nonnull
     private final EnumSet<AnalysisStage> stagesWithExceptions = EnumSet.noneOf(AnalysisStage.class);
+    @Nullable
+    private AnalyzedCode analyzedCode;
 
     @Override
     public String toString() {
@@ -45,7 +41,8 @@ public class AnalysisSink {
      * @since 1.1.0
      */
     public void addAnalyzedClass(@Nonnull String clazz) {
-        this.analyzedClasses.add(clazz);
+        this.dependencyGraph.addAnalyzedClass(clazz);
+        this.analyzedCode = null;
     }
 
     /**
@@ -62,10 +59,10 @@ public class AnalysisSink {
         if (size(dependees) == 0) {
             return;
         }
-        Set<String> existingDependees = getOrAddMappedSet(this.dependencyMap, depender);
         for (String aDependee : dependees) {
-            existingDependees.add(aDependee);
+            this.dependencyGraph.addDependency(depender, aDependee);
         }
+        this.analyzedCode = null;
         logger.debug("Added dependencies from [{}] to {}.", depender, dependees);
     }
 
@@ -89,17 +86,31 @@ public class AnalysisSink {
      */
     public void addException(@Nonnull AnalysisStage stage) {
         this.stagesWithExceptions.add(stage);
+        this.analyzedCode = null;
+    }
+
+    /**
+     * Adds everything the given <code>AnalyzedCode</code> comprises.
+     */
+    void addAll(@Nonnull AnalyzedCode code) {
+        this.stagesWithExceptions.addAll(code.getStagesWithExceptions());
+        this.dependencyGraph.addAll(code.getDependencyGraph());
+        this.analyzedCode = null;
     }
 
     /**
      * Computes the {@link AnalyzedCode} based on the reports being made via {@link #addAnalyzedClass(String)} and
-     * {@link #addDependencies(String, Iterable)}.
+     * {@link #addDependencies(String, Iterable)}. The result is a snapshot; it is reused until further reports are
+     * made.
      *
      * @since 1.1.0
      */
     @Nonnull
     public AnalyzedCode getAnalyzedCode() {
-        return new AnalyzedCode(this.stagesWithExceptions, this.analyzedClasses, this.dependencyMap);
+        if (this.analyzedCode == null) {
+            this.analyzedCode = new AnalyzedCode(EnumSet.copyOf(this.stagesWithExceptions), this.dependencyGraph.build());
+        }
+        return this.analyzedCode;
     }
 
 }
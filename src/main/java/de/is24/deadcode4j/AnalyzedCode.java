@@ -7,6 +7,8 @@ import java.util.Set;
 
 /**
  * <code>AnalyzedCode</code> comprises the classes being analyzed as well as the code dependencies.
+ * Internally, these are stored as a {@link DependencyGraph}; the collections provided by
+ * {@link #getAnalyzedClasses()} and {@link #getCodeDependencies()} are unmodifiable views of it.
  *
  * @since 1.0.0
  */
@@ -14,6 +16,8 @@ public class AnalyzedCode {
     @Nonnull
     private final EnumSet<AnalysisStage> stagesWithExceptions;
     @Nonnull
+    private final DependencyGraph dependencyGraph;
+    @Nonnull
     private final Set<String> analyzedClasses;
     @Nonnull
     private final Map<String, Set<String>> codeDependencies;
@@ -21,9 +25,35 @@ public class AnalyzedCode {
     public AnalyzedCode(@Nonnull EnumSet<AnalysisStage> stagesWithExceptions,
                         @Nonnull Set<String> analyzedClasses,
                         @Nonnull Map<String, Set<String>> codeDependencies) {
+        this(stagesWithExceptions, toDependencyGraph(analyzedClasses, codeDependencies));
+    }
+
+    /**
+     * Creates a new instance of <code>AnalyzedCode</code> based on the given graph.
+     *
+     * @since 2.2.0
+     */
+    public AnalyzedCode(@Nonnull EnumSet<AnalysisStage> stagesWithExceptions,
+                        @Nonnull DependencyGraph dependencyGraph) {
         this.stagesWithExceptions = stagesWithExceptions;
-        this.analyzedClasses = analyzedClasses;
-        this.codeDependencies = codeDependencies;
+        this.dependencyGraph = dependencyGraph;
+        this.analyzedClasses = dependencyGraph.analyzedClassesView();
+        this.codeDependencies = dependencyGraph.dependenciesView();
+    }
+
+    @Nonnull
+    private static DependencyGraph toDependencyGraph(@Nonnull Set<String> analyzedClasses,
+                                                     @Nonnull Map<String, Set<String>> codeDependencies) {
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        for (String analyzedClass : analyzedClasses) {
+            builder.addAnalyzedClass(analyzedClass);
+        }
+        for (Map.Entry<String, Set<String>> dependencies : codeDependencies.entrySet()) {
+            for (String dependee : dependencies.getValue()) {
+                builder.addDependency(dependencies.getKey(), dependee);
+            }
+        }
+        return builder.build();
     }
 
     @Nonnull
@@ -39,6 +69,16 @@ public class AnalyzedCode {
         return codeDependencies;
     }
 
+    /**
+     * Returns the graph of analyzed classes and code dependencies.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public DependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
     /**
      * Returns the stages for which an exception occurred.
      *
@@ -0,0 +1,136 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * The <code>AnalyzerRoutingTable</code> determines which analyzers are interested in a file. It buckets the
+ * {@link SelectiveAnalyzer#getFileNameSuffixes() file name suffixes} declared by the analyzers by file extension, so
+ * a file is only matched against the suffixes sharing its extension.
+ *
+ * @since 2.2.0
+ */
+final class AnalyzerRoutingTable {
+
+    @Nonnull
+    private final Map<String, List<Route>> routesByExtension = newHashMap();
+    @Nonnull
+    private final List<Route> defaultRoutes;
+
+    public AnalyzerRoutingTable(@Nonnull Iterable<? extends Analyzer> analyzers) {
+        Set<String> extensions = newHashSet();
+        for (Analyzer analyzer : analyzers) {
+            for (String suffix : getSuffixesOf(analyzer)) {
+                String extension = getExtensionOfSuffix(suffix);
+                if (extension != null) {
+                    extensions.add(extension);
+                }
+            }
+        }
+        for (String extension : extensions) {
+            this.routesByExtension.put(extension, calculateRoutes(analyzers, extension));
+        }
+        this.defaultRoutes = calculateRoutes(analyzers, null);
+    }
+
+    @Nonnull
+    private static Iterable<String> getSuffixesOf(@Nonnull Analyzer analyzer) {
+        return SelectiveAnalyzer.class.isInstance(analyzer)
+                ? SelectiveAnalyzer.class.cast(analyzer).getFileNameSuffixes()
+                : Collections.<String>emptyList();
+    }
+
+    /**
+     * Returns the extension a file must have to match the given suffix, or <code>null</code> if files of any
+     * extension may match.
+     */
+    @Nullable
+    private static String getExtensionOfSuffix(@Nonnull String suffix) {
+        int lastDot = suffix.lastIndexOf('.');
+        return lastDot < 0 ? null : suffix.substring(lastDot + 1);
+    }
+
+    @Nonnull
+    private static String getExtensionOf(@Nonnull String fileName) {
+        int lastDot = fileName.lastIndexOf('.');
+        return lastDot < 0 ? "" : fileName.substring(lastDot + 1);
+    }
+
+    @Nonnull
+    private static List<Route> calculateRoutes(@Nonnull Iterable<? extends Analyzer> analyzers,
+                                               @Nullable String extension) {
+        List<Route> routes = newArrayList();
+        for (Analyzer analyzer : analyzers) {
+            if (!SelectiveAnalyzer.class.isInstance(analyzer)) {
+                routes.add(new Route(analyzer, null));
+                continue;
+            }
+            List<String> matchingSuffixes = newArrayList();
+            for (String suffix : getSuffixesOf(analyzer)) {
+                String extensionOfSuffix = getExtensionOfSuffix(suffix);
+                if (extensionOfSuffix == null || extensionOfSuffix.equals(extension)) {
+                    matchingSuffixes.add(suffix);
+                }
+            }
+            if (!matchingSuffixes.isEmpty()) {
+                routes.add(new Route(analyzer, matchingSuffixes));
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Returns the analyzers interested in the given file, in the order the analyzers were given.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<Analyzer> getAnalyzersFor(@Nonnull File file) {
+        String fileName = file.getName();
+        List<Route> routes = this.routesByExtension.get(getExtensionOf(fileName));
+        if (routes == null) {
+            routes = this.defaultRoutes;
+        }
+        List<Analyzer> analyzers = newArrayList();
+        for (Route route : routes) {
+            if (route.matches(fileName)) {
+                analyzers.add(route.analyzer);
+            }
+        }
+        return analyzers;
+    }
+
+    private static class Route {
+        @Nonnull
+        private final Analyzer analyzer;
+        @Nullable
+        private final List<String> suffixes;
+
+        public Route(@Nonnull Analyzer analyzer, @Nullable List<String> suffixes) {
+            this.analyzer = analyzer;
+            this.suffixes = suffixes;
+        }
+
+        public boolean matches(@Nonnull String fileName) {
+            if (this.suffixes == null) {
+                return true;
+            }
+            for (String suffix : this.suffixes) {
+                if (fileName.endsWith(suffix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+}
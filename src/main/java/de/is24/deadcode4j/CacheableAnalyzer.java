@@ -0,0 +1,14 @@
+package de.is24.deadcode4j;
+
+/**
+ * A <code>CacheableAnalyzer</code> is an {@link Analyzer} whose reports made while
+ * {@link #doAnalysis(AnalysisContext, java.io.File) analyzing a file} depend on nothing but the file's content; i.e.
+ * they neither depend on the class path, on other files nor on any state collected during the analysis. Additionally,
+ * the analyzer's configuration must be determined by its class.<br/>
+ * If an {@link AnalysisCache} is used, the reports of all <code>CacheableAnalyzer</code>s are stored for each file and
+ * reused as long as the file's content does not change.
+ *
+ * @since 2.2.0
+ */
+public interface CacheableAnalyzer extends Analyzer {
+}
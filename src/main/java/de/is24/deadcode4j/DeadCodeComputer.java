@@ -1,20 +1,45 @@
 package de.is24.deadcode4j;
 
 import javax.annotation.Nonnull;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.List;
-import java.util.Set;
-
-import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Sets.newHashSet;
 
 /**
  * The <code>DeadCodeComputer</code> computes the {@link DeadCode} based on {@link AnalyzedCode}.
+ * <p/>
+ * By default, a class is considered to be dead if no other class or conceptual entity depends on it. If the
+ * <i>reachability analysis</i> is enabled, each depending entity not being an analyzed class (e.g.
+ * <code>_Spring_</code>, <code>_Main-Class_</code> or <code>_IgnoredClasses_</code>) serves as a root; a class is
+ * considered to be dead if it cannot be reached from any of those roots. This way, groups of dead classes referencing
+ * each other are found in a single run.
  *
  * @since 2.0.0
  */
 public class DeadCodeComputer {
 
+    private final boolean reachabilityAnalysis;
+
+    public DeadCodeComputer() {
+        this(false);
+    }
+
+    /**
+     * Creates a new <code>DeadCodeComputer</code>.
+     *
+     * @param reachabilityAnalysis if <code>true</code>, classes not being reachable from a conceptual root are
+     *                             considered to be dead
+     * @since 2.2.0
+     */
+    public DeadCodeComputer(boolean reachabilityAnalysis) {
+        this.reachabilityAnalysis = reachabilityAnalysis;
+    }
+
+    /**
+     * Computes the dead code. The sets of ids this computation is based on are memoized by the
+     * {@link AnalyzedCode#getDependencyGraph() dependency graph} and maintained incrementally if the graph is
+     * {@link DependencyGraph#extendWith(DependencyGraph) extended}, so this method can be called cheaply while finishing
+     * the project analysis. The returned dead classes are a view backed by the graph.
+     */
     @Nonnull
     public DeadCode computeDeadCode(@Nonnull AnalyzedCode analyzedCode) {
         Collection<String> deadClasses = determineDeadClasses(analyzedCode);
@@ -23,16 +48,12 @@ public class DeadCodeComputer {
 
     @Nonnull
     private Collection<String> determineDeadClasses(@Nonnull AnalyzedCode analyzedCode) {
-        Set<String> classesInUse = newHashSet();
-        for (Iterable<String> usedClasses : analyzedCode.getCodeDependencies().values()) {
-            for (String clazz : usedClasses) {
-                classesInUse.add(clazz);
-            }
-        }
-
-        List<String> deadClasses = newArrayList(analyzedCode.getAnalyzedClasses());
-        deadClasses.removeAll(classesInUse);
-        return deadClasses;
+        DependencyGraph dependencyGraph = analyzedCode.getDependencyGraph();
+        BitSet deadClassIds = dependencyGraph.getAnalyzedClassIds();
+        deadClassIds.andNot(this.reachabilityAnalysis
+                ? dependencyGraph.idsReachableFromRoots()
+                : dependencyGraph.dependeeIds());
+        return dependencyGraph.namesView(deadClassIds);
     }
 
 }
@@ -1,20 +1,23 @@
 package de.is24.deadcode4j;
 
-import org.apache.commons.io.DirectoryWalker;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.Module.sort;
 import static de.is24.deadcode4j.Utils.getOrAddMappedSet;
-import static java.util.Arrays.asList;
 
 /**
  * The <code>DeadCodeFinder</code> ties everything together in order to ultimately find dead code.
@@ -23,15 +26,96 @@ import static java.util.Arrays.asList;
  */
 public class DeadCodeFinder {
 
+    private static final int PREPARED_FILES_PER_THREAD = 2;
+    private static final int PENDING_FILES_PER_THREAD = 8;
     private final Logger logger = LoggerFactory.getLogger(getClass());
     @Nonnull
     private final DeadCodeComputer deadCodeComputer;
     @Nonnull
     private final Iterable<? extends Analyzer> analyzers;
+    @Nonnull
+    private final AnalyzerRoutingTable routingTable;
+    private final int numberOfThreads;
+    @Nullable
+    private final AnalysisCache analysisCache;
+    private final int numberOfPreparingThreads;
+    @Nullable
+    private final File jarIndexDirectory;
 
     public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer, @Nonnull Set<? extends Analyzer> analyzers) {
+        this(deadCodeComputer, analyzers, 1);
+    }
+
+    /**
+     * Creates a <code>DeadCodeFinder</code> that distributes the files of a module among the given number of threads.
+     * Each thread uses its own {@link AnalysisContext}; these are merged before the module analysis is finished.<br/>
+     * Additionally, modules that do not depend on each other are analyzed concurrently.
+     *
+     * @see PartialResult
+     * @since 2.2.0
+     */
+    public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer,
+                          @Nonnull Set<? extends Analyzer> analyzers,
+                          int numberOfThreads) {
+        this(deadCodeComputer, analyzers, numberOfThreads, null);
+    }
+
+    /**
+     * Creates a <code>DeadCodeFinder</code> that reuses the reports of the {@link CacheableAnalyzer}s stored in the given
+     * cache for all files that did not change; the cache is updated accordingly, but not
+     * {@link AnalysisCache#store() stored}.
+     *
+     * @see #DeadCodeFinder(DeadCodeComputer, Set, int)
+     * @since 2.2.0
+     */
+    public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer,
+                          @Nonnull Set<? extends Analyzer> analyzers,
+                          int numberOfThreads,
+                          @Nullable AnalysisCache analysisCache) {
+        this(deadCodeComputer, analyzers, numberOfThreads, analysisCache, 0);
+    }
+
+    /**
+     * Creates a <code>DeadCodeFinder</code> that uses the given number of threads to
+     * {@link PreparingAnalyzer#prepareAnalysis(AnalysisContext, FileContext) prepare the analysis} of upcoming files -
+     * i.e. to parse them - while the current file is analyzed. At most twice as many prepared files as there are
+     * preparing threads are held in memory per analyzing thread; the files are analyzed in the same order as without
+     * preparation. If the number of preparing threads is <code>0</code>, files are not prepared in advance.
+     *
+     * @see #DeadCodeFinder(DeadCodeComputer, Set, int, AnalysisCache)
+     * @since 2.2.0
+     */
+    public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer,
+                          @Nonnull Set<? extends Analyzer> analyzers,
+                          int numberOfThreads,
+                          @Nullable AnalysisCache analysisCache,
+                          int numberOfPreparingThreads) {
+        this(deadCodeComputer, analyzers, numberOfThreads, analysisCache, numberOfPreparingThreads, null);
+    }
+
+    /**
+     * Creates a <code>DeadCodeFinder</code> that stores the indexes of the class path's JAR files in the given
+     * directory, so that they are read only once across several analyses.
+     *
+     * @see #DeadCodeFinder(DeadCodeComputer, Set, int, AnalysisCache, int)
+     * @see AnalysisContext#getJarIndexDirectory()
+     * @since 2.2.0
+     */
+    public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer,
+                          @Nonnull Set<? extends Analyzer> analyzers,
+                          int numberOfThreads,
+                          @Nullable AnalysisCache analysisCache,
+                          int numberOfPreparingThreads,
+                          @Nullable File jarIndexDirectory) {
+        checkArgument(numberOfThreads > 0, "[numberOfThreads] must be greater than 0!");
+        checkArgument(numberOfPreparingThreads >= 0, "[numberOfPreparingThreads] must not be negative!");
         this.deadCodeComputer = deadCodeComputer;
         this.analyzers = newArrayList(analyzers);
+        this.routingTable = new AnalyzerRoutingTable(this.analyzers);
+        this.numberOfThreads = numberOfThreads;
+        this.analysisCache = analysisCache;
+        this.numberOfPreparingThreads = numberOfPreparingThreads;
+        this.jarIndexDirectory = jarIndexDirectory;
     }
 
     @Nonnull
@@ -42,23 +126,35 @@ public class DeadCodeFinder {
 
     @Nonnull
     private AnalyzedCode analyzeCode(@Nonnull Iterable<Module> modules) {
-        List<AnalyzedCode> analyzedCode = newArrayList();
+        List<Module> sortedModules = newArrayList(sort(modules));
         IntermediateResults intermediateResults = new IntermediateResults();
-        for (Module module : sort(modules)) {
-            AnalysisContext analysisContext = new AnalysisContext(module, intermediateResults.calculateIntermediateResultsFor(module));
-            for (Repository repository : module.getAllRepositories()) {
-                analyzeRepository(analysisContext, repository);
+        AnalyzedCode combinedAnalysis;
+        ExecutorService preparingExecutor = null;
+        if (this.numberOfPreparingThreads > 0) {
+            logger.debug("Preparing the analysis of files using {} threads.", this.numberOfPreparingThreads);
+            preparingExecutor = createExecutor("deadcode4j-preparer-%d", this.numberOfPreparingThreads);
+        }
+        try {
+            if (this.numberOfThreads < 2) {
+                combinedAnalysis = merge(analyzeModules(sortedModules, intermediateResults, preparingExecutor));
+            } else {
+                logger.debug("Analyzing code using {} threads.", this.numberOfThreads);
+                ExecutorService moduleExecutor = createExecutor("deadcode4j-module-%d", this.numberOfThreads);
+                ExecutorService fileExecutor = createExecutor("deadcode4j-worker-%d", this.numberOfThreads);
+                try {
+                    combinedAnalysis = mergeInParallel(analyzeModules(sortedModules, intermediateResults,
+                            moduleExecutor, fileExecutor, preparingExecutor), fileExecutor);
+                } finally {
+                    moduleExecutor.shutdownNow();
+                    fileExecutor.shutdownNow();
+                }
             }
-            logger.debug("Finishing analysis of [{}]...", analysisContext);
-            for (Analyzer analyzer : this.analyzers) {
-                analyzer.finishAnalysis(analysisContext);
+        } finally {
+            if (preparingExecutor != null) {
+                preparingExecutor.shutdownNow();
             }
-            logger.debug("Finished analysis of [{}].", analysisContext);
-            intermediateResults.add(analysisContext);
-            analyzedCode.add(analysisContext.getAnalyzedCode());
         }
         logger.debug("Finishing analysis of whole project...");
-        AnalyzedCode combinedAnalysis = merge(analyzedCode);
         for (Analyzer analyzer : this.analyzers) {
             AnalysisSink analysisSink = new AnalysisSink();
             analyzer.finishAnalysis(analysisSink, combinedAnalysis);
@@ -68,36 +164,346 @@ public class DeadCodeFinder {
         return combinedAnalysis;
     }
 
+    @Nonnull
+    private ExecutorService createExecutor(@Nonnull String nameFormat, int numberOfThreads) {
+        return Executors.newFixedThreadPool(numberOfThreads,
+                new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
+    }
+
+    @Nonnull
+    private List<AnalyzedCode> analyzeModules(@Nonnull List<Module> sortedModules,
+                                              @Nonnull IntermediateResults intermediateResults,
+                                              @Nullable ExecutorService preparingExecutor) {
+        List<AnalyzedCode> analyzedCode = newArrayList();
+        for (Module module : sortedModules) {
+            AnalysisContext analysisContext = analyzeModule(module, intermediateResults, null, preparingExecutor);
+            intermediateResults.add(analysisContext);
+            analyzedCode.add(analysisContext.getAnalyzedCode());
+            analysisContext.release();
+        }
+        return analyzedCode;
+    }
+
+    /**
+     * Schedules each module as soon as all of its required modules are analyzed, so that independent modules are
+     * analyzed concurrently. Module tasks run on their own executor, as they wait for the file analysis tasks.
+     */
+    @Nonnull
+    private List<AnalyzedCode> analyzeModules(@Nonnull List<Module> sortedModules,
+                                              @Nonnull final IntermediateResults intermediateResults,
+                                              @Nonnull ExecutorService moduleExecutor,
+                                              @Nonnull ExecutorService fileExecutor,
+                                              @Nullable ExecutorService preparingExecutor) {
+        Map<Module, Integer> numberOfPendingModules = newHashMap();
+        Map<Module, Set<Module>> dependentModules = newHashMap();
+        for (Module module : sortedModules) {
+            Set<Module> requiredModules = newHashSet(module.getRequiredModules());
+            numberOfPendingModules.put(module, requiredModules.size());
+            for (Module requiredModule : requiredModules) {
+                getOrAddMappedSet(dependentModules, requiredModule).add(module);
+            }
+        }
+
+        CompletionService<AnalysisContext> completionService =
+                new ExecutorCompletionService<AnalysisContext>(moduleExecutor);
+        int numberOfRunningModules = 0;
+        for (Module module : sortedModules) {
+            if (numberOfPendingModules.get(module) == 0) {
+                submitAnalysisOf(module, intermediateResults, completionService, fileExecutor,
+                        preparingExecutor);
+                numberOfRunningModules++;
+            }
+        }
+
+        Map<Module, AnalyzedCode> analyzedModules = newHashMap();
+        while (numberOfRunningModules > 0) {
+            AnalysisContext analysisContext = getResultOf(takeNextFrom(completionService));
+            numberOfRunningModules--;
+            Module module = analysisContext.getModule();
+            intermediateResults.add(analysisContext);
+            analyzedModules.put(module, analysisContext.getAnalyzedCode());
+            analysisContext.release();
+            Set<Module> dependents = dependentModules.get(module);
+            if (dependents == null) {
+                continue;
+            }
+            for (Module dependentModule : dependents) {
+                int pendingModules = numberOfPendingModules.get(dependentModule) - 1;
+                numberOfPendingModules.put(dependentModule, pendingModules);
+                if (pendingModules == 0) {
+                    submitAnalysisOf(dependentModule, intermediateResults, completionService, fileExecutor,
+                            preparingExecutor);
+                    numberOfRunningModules++;
+                }
+            }
+        }
+
+        List<AnalyzedCode> analyzedCode = newArrayList();
+        for (Module module : sortedModules) {
+            analyzedCode.add(analyzedModules.get(module));
+        }
+        return analyzedCode;
+    }
+
+    private void submitAnalysisOf(@Nonnull final Module module,
+                                  @Nonnull final IntermediateResults intermediateResults,
+                                  @Nonnull CompletionService<AnalysisContext> completionService,
+                                  @Nonnull final ExecutorService fileExecutor,
+                                  @Nullable final ExecutorService preparingExecutor) {
+        completionService.submit(new Callable<AnalysisContext>() {
+            @Override
+            public AnalysisContext call() {
+                return analyzeModule(module, intermediateResults, fileExecutor, preparingExecutor);
+            }
+        });
+    }
+
+    @Nonnull
+    private <T> Future<T> takeNextFrom(@Nonnull CompletionService<T> completionService) {
+        try {
+            return completionService.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the analysis to finish!", e);
+        }
+    }
+
+    @Nonnull
+    private AnalysisContext analyzeModule(@Nonnull Module module,
+                                          @Nonnull IntermediateResults intermediateResults,
+                                          @Nullable ExecutorService fileExecutor,
+                                          @Nullable ExecutorService preparingExecutor) {
+        Map<Object, IntermediateResult> availableResults = intermediateResults.calculateIntermediateResultsFor(module);
+        AnalysisContext analysisContext = new AnalysisContext(module, availableResults, this.jarIndexDirectory);
+        List<File> files = newArrayList();
+        for (Repository repository : module.getAllRepositories()) {
+            files.addAll(listFiles(repository, fileExecutor));
+        }
+        if (fileExecutor == null || files.size() < 2) {
+            analyzeFiles(analysisContext, files, preparingExecutor);
+        } else {
+            analyzeFilesInParallel(analysisContext, files, fileExecutor, preparingExecutor);
+        }
+        logger.debug("Finishing analysis of [{}]...", analysisContext);
+        for (Analyzer analyzer : this.analyzers) {
+            analyzer.finishAnalysis(analysisContext);
+        }
+        logger.debug("Finished analysis of [{}].", analysisContext);
+        return analysisContext;
+    }
+
     @Nonnull
     private DeadCode computeDeadCode(@Nonnull AnalyzedCode analyzedCode) {
         return this.deadCodeComputer.computeDeadCode(analyzedCode);
     }
 
-    private void analyzeRepository(@Nonnull AnalysisContext analysisContext, @Nonnull Repository repository) {
-        RepositoryAnalyzer repositoryAnalyzer = new RepositoryAnalyzer(analysisContext, repository, this.analyzers);
+    @Nonnull
+    private List<File> listFiles(@Nonnull Repository repository, @Nullable ExecutorService fileExecutor) {
+        RepositoryWalker repositoryWalker = new RepositoryWalker(repository);
+        return fileExecutor == null ? repositoryWalker.listFiles() : repositoryWalker.listFiles(fileExecutor);
+    }
+
+    private void analyzeFiles(@Nonnull AnalysisContext analysisContext,
+                              @Nonnull List<File> files,
+                              @Nullable ExecutorService preparingExecutor) {
+        Iterator<FileContext> fileContexts = preparingExecutor == null
+                ? new UnpreparedFiles(analysisContext, files)
+                : new PreparedFiles(analysisContext, files, preparingExecutor);
+        while (fileContexts.hasNext()) {
+            FileContext fileContext = fileContexts.next();
+            File file = fileContext.getFile();
+            logger.debug("Analyzing file [{}]...", file);
+            Iterable<Analyzer> analyzers = this.routingTable.getAnalyzersFor(file);
+            if (this.analysisCache == null) {
+                analyzeFile(analysisContext, fileContext, analyzers);
+            } else {
+                analyzeFileUsingCache(analysisContext, fileContext, analyzers, this.analysisCache);
+            }
+            fileContext.release();
+        }
+    }
+
+    private void analyzeFile(@Nonnull AnalysisContext analysisContext,
+                             @Nonnull FileContext fileContext,
+                             @Nonnull Iterable<? extends Analyzer> analyzers) {
+        for (Analyzer analyzer : analyzers) {
+            try {
+                if (FileContextAnalyzer.class.isInstance(analyzer)) {
+                    FileContextAnalyzer.class.cast(analyzer).doAnalysis(analysisContext, fileContext);
+                } else {
+                    analyzer.doAnalysis(analysisContext, fileContext.getFile());
+                }
+            } catch (RuntimeException rE) {
+                logger.warn("Analyzer [{}] failed to analyze file [{}]!", analyzer, fileContext.getFile(), rE);
+                analysisContext.addException(AnalysisStage.FILE_ANALYSIS);
+            }
+        }
+    }
+
+    /**
+     * The cacheable analyzers are skipped if the cache provides their reports for the file; otherwise, their reports
+     * are recorded and cached - unless one of them failed.
+     */
+    private void analyzeFileUsingCache(@Nonnull AnalysisContext analysisContext,
+                                       @Nonnull FileContext fileContext,
+                                       @Nonnull Iterable<Analyzer> analyzers,
+                                       @Nonnull AnalysisCache analysisCache) {
+        List<Analyzer> cacheableAnalyzers = newArrayList();
+        List<Analyzer> otherAnalyzers = newArrayList();
+        for (Analyzer analyzer : analyzers) {
+            if (CacheableAnalyzer.class.isInstance(analyzer)) {
+                cacheableAnalyzers.add(analyzer);
+            } else {
+                otherAnalyzers.add(analyzer);
+            }
+        }
+        analyzeFile(analysisContext, fileContext, otherAnalyzers);
+        if (cacheableAnalyzers.isEmpty()) {
+            return;
+        }
+        AnalyzedCode cachedCode = analysisCache.getAnalyzedCodeFor(fileContext);
+        if (cachedCode != null) {
+            logger.debug("Reusing cached analysis of file [{}].", fileContext.getFile());
+            analysisContext.addAll(cachedCode);
+            return;
+        }
+        RecordingAnalysisContext recordingContext = new RecordingAnalysisContext(analysisContext);
+        analyzeFile(recordingContext, fileContext, cacheableAnalyzers);
+        AnalyzedCode recordedCode = recordingContext.getAnalyzedCode();
+        if (recordedCode.getStagesWithExceptions().isEmpty()) {
+            analysisCache.putAnalyzedCodeFor(fileContext, recordedCode);
+        }
+    }
+
+    /**
+     * Splits the files into contiguous chunks, one for each thread. Each chunk is analyzed using a dedicated
+     * <code>AnalysisContext</code> derived from the module's context; those are merged into the module's context in the
+     * order of the chunks, thus producing the same result as the sequential analysis. The worker contexts are released
+     * in any case.
+     */
+    private void analyzeFilesInParallel(@Nonnull final AnalysisContext analysisContext,
+                                        @Nonnull List<File> files,
+                                        @Nonnull ExecutorService executor,
+                                        @Nullable final ExecutorService preparingExecutor) {
+        int numberOfChunks = Math.min(this.numberOfThreads, files.size());
+        List<Future<AnalysisContext>> workerResults = newArrayList();
+        for (int i = 0; i < numberOfChunks; i++) {
+            final List<File> chunk = files.subList(i * files.size() / numberOfChunks, (i + 1) * files.size() / numberOfChunks);
+            workerResults.add(executor.submit(new Callable<AnalysisContext>() {
+                @Override
+                public AnalysisContext call() {
+                    AnalysisContext workerContext = new AnalysisContext(analysisContext);
+                    analyzeFiles(workerContext, chunk, preparingExecutor);
+                    return workerContext;
+                }
+            }));
+        }
+        try {
+            for (Future<AnalysisContext> workerResult : workerResults) {
+                mergeWorkerContext(analysisContext, getResultOf(workerResult));
+            }
+        } finally {
+            for (Future<AnalysisContext> workerResult : workerResults) {
+                releaseWorkerContext(workerResult);
+            }
+        }
+    }
+
+    /**
+     * Releases the context of the given worker, waiting for the worker to finish if necessary; a worker that failed
+     * has no context to release.
+     */
+    private static void releaseWorkerContext(@Nonnull Future<AnalysisContext> workerResult) {
+        try {
+            workerResult.get().release();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // the failure is reported by getResultOf
+        }
+    }
+
+    @Nonnull
+    private <T> T getResultOf(@Nonnull Future<T> result) {
         try {
-            repositoryAnalyzer.analyze();
-        } catch (IOException e) {
-            throw new RuntimeException("This was unexpected; failed to parse files of " + repository + "!", e);
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the analysis to finish!", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Failed to analyze code!", cause);
+        }
+    }
+
+    private void mergeWorkerContext(@Nonnull AnalysisContext analysisContext, @Nonnull AnalysisContext workerContext) {
+        analysisContext.addAll(workerContext.getAnalyzedCode());
+        Map<Object, Object> cache = analysisContext.getCache();
+        for (Map.Entry<Object, Object> cachedEntry : workerContext.getCache().entrySet()) {
+            Object cachedValue = cachedEntry.getValue();
+            if (!PartialResult.class.isInstance(cachedValue)) {
+                continue;
+            }
+            Object existingResult = cache.get(cachedEntry.getKey());
+            if (existingResult == null) {
+                cache.put(cachedEntry.getKey(), cachedValue);
+            } else {
+                PartialResult.class.cast(existingResult).mergeSubsequent(PartialResult.class.cast(cachedValue));
+            }
         }
     }
 
     @Nonnull
     private AnalyzedCode merge(@Nonnull List<AnalyzedCode> analyzedCode) {
         EnumSet<AnalysisStage> stagesWithExceptions = EnumSet.noneOf(AnalysisStage.class);
-        Set<String> analyzedClasses = newHashSet();
-        Map<String, Set<String>> dependencies = newHashMap();
+        DependencyGraph.Builder dependencyGraph = new DependencyGraph.Builder();
         for (AnalyzedCode code : analyzedCode) {
             stagesWithExceptions.addAll(code.getStagesWithExceptions());
-            analyzedClasses.addAll(code.getAnalyzedClasses());
-            for (Map.Entry<String, Set<String>> dependencyEntry : code.getCodeDependencies().entrySet()) {
-                Set<String> knownDependencies = getOrAddMappedSet(dependencies, dependencyEntry.getKey());
-                knownDependencies.addAll(dependencyEntry.getValue());
-            }
+            dependencyGraph.addAll(code.getDependencyGraph());
+        }
+        return new AnalyzedCode(stagesWithExceptions, dependencyGraph.build());
+    }
+
+    /**
+     * Splits the modules' results into contiguous chunks, one for each thread, and merges each chunk concurrently.
+     * As each chunk's names and dependencies are deduplicated in the process, the final merge of the chunks has to
+     * handle less data than merging the modules' results one after the other.
+     */
+    @Nonnull
+    private AnalyzedCode mergeInParallel(@Nonnull List<AnalyzedCode> analyzedCode, @Nonnull ExecutorService executor) {
+        int numberOfChunks = Math.min(this.numberOfThreads, analyzedCode.size() / 2);
+        if (numberOfChunks < 2) {
+            return merge(analyzedCode);
         }
-        return new AnalyzedCode(stagesWithExceptions, analyzedClasses, dependencies);
+        List<Future<AnalyzedCode>> partialResults = newArrayList();
+        for (int i = 0; i < numberOfChunks; i++) {
+            final List<AnalyzedCode> chunk = analyzedCode.subList(
+                    i * analyzedCode.size() / numberOfChunks, (i + 1) * analyzedCode.size() / numberOfChunks);
+            partialResults.add(executor.submit(new Callable<AnalyzedCode>() {
+                @Override
+                public AnalyzedCode call() {
+                    return merge(chunk);
+                }
+            }));
+        }
+        List<AnalyzedCode> mergedChunks = newArrayList();
+        for (Future<AnalyzedCode> partialResult : partialResults) {
+            mergedChunks.add(getResultOf(partialResult));
+        }
+        return merge(mergedChunks);
     }
 
+    /**
+     * Adds the reports of the given sink by {@link DependencyGraph#extendWith(DependencyGraph) extending} the
+     * dependency graph; thus the costs are proportional to the number of reports rather than to the size of the
+     * whole project.
+     */
     @Nonnull
     private AnalyzedCode merge(@Nonnull AnalyzedCode analyzedCode, @Nonnull AnalysisSink analysisSink) {
         AnalyzedCode analysisToAdd = analysisSink.getAnalyzedCode();
@@ -106,44 +512,178 @@ public class DeadCodeFinder {
                 && analysisToAdd.getCodeDependencies().isEmpty()) {
             return analyzedCode;
         }
-        return merge(asList(analyzedCode, analysisToAdd));
+        EnumSet<AnalysisStage> stagesWithExceptions = EnumSet.noneOf(AnalysisStage.class);
+        stagesWithExceptions.addAll(analyzedCode.getStagesWithExceptions());
+        stagesWithExceptions.addAll(analysisToAdd.getStagesWithExceptions());
+        return new AnalyzedCode(stagesWithExceptions,
+                analyzedCode.getDependencyGraph().extendWith(analysisToAdd.getDependencyGraph()));
     }
 
-    private static class RepositoryAnalyzer extends DirectoryWalker<Void> {
+    /**
+     * Records the reports made for a file, passing them on to the actual context.
+     */
+    private static class RecordingAnalysisContext extends AnalysisContext {
 
-        private final Logger logger = LoggerFactory.getLogger(getClass());
         private final AnalysisContext analysisContext;
-        private final Repository repository;
-        private final Iterable<? extends Analyzer> analyzers;
 
-        public RepositoryAnalyzer(@Nonnull AnalysisContext analysisContext, @Nonnull Repository repository, @Nonnull Iterable<? extends Analyzer> analyzers) {
-            super(repository.getFileFilter(), -1);
-            this.repository = repository;
+        public RecordingAnalysisContext(@Nonnull AnalysisContext analysisContext) {
+            super(analysisContext);
             this.analysisContext = analysisContext;
-            this.analyzers = analyzers;
         }
 
-        public void analyze() throws IOException {
-            logger.debug("Starting analysis of [{}]...", this.repository);
-            super.walk(this.repository.getDirectory(), null);
+        @Nonnull
+        @Override
+        public Map<Object, Object> getCache() {
+            return this.analysisContext.getCache();
         }
 
+        @Nullable
         @Override
-        protected void handleFile(File file, int depth, Collection results) {
-            logger.debug("Analyzing file [{}]...", file);
-            for (Analyzer analyzer : this.analyzers) {
-                try {
-                    analyzer.doAnalysis(this.analysisContext, file);
-                } catch (RuntimeException rE) {
-                    logger.warn("Analyzer [{}] failed to analyze file [{}]!", analyzer, file, rE);
-                    analysisContext.addException(AnalysisStage.FILE_ANALYSIS);
+        public IntermediateResult getIntermediateResult(@Nonnull Object key) {
+            return this.analysisContext.getIntermediateResult(key);
+        }
+
+        @Override
+        public void addAnalyzedClass(@Nonnull String clazz) {
+            super.addAnalyzedClass(clazz);
+            this.analysisContext.addAnalyzedClass(clazz);
+        }
+
+        @Override
+        public void addDependencies(@Nonnull String depender, @Nonnull Iterable<String> dependees) {
+            super.addDependencies(depender, dependees);
+            this.analysisContext.addDependencies(depender, dependees);
+        }
+
+        @Override
+        public void addException(@Nonnull AnalysisStage stage) {
+            super.addException(stage);
+            this.analysisContext.addException(stage);
+        }
+
+    }
+
+    /**
+     * Provides the contexts of the files to analyze, one after another.
+     */
+    private static class UnpreparedFiles extends AbstractIterator<FileContext> {
+
+        private final AnalysisContext analysisContext;
+        private final Iterator<File> files;
+
+        public UnpreparedFiles(@Nonnull AnalysisContext analysisContext, @Nonnull List<File> files) {
+            this.analysisContext = analysisContext;
+            this.files = files.iterator();
+        }
+
+        @Override
+        protected FileContext computeNext() {
+            return this.files.hasNext()
+                    ? FileContext.fileContextFor(this.analysisContext, this.files.next())
+                    : endOfData();
+        }
+
+    }
+
+    /**
+     * Provides the contexts of the files to analyze in their original order, while the {@link PreparingAnalyzer}s
+     * prepare the upcoming files using the given executor. Only {@link #PREPARED_FILES_PER_THREAD} files per preparing
+     * thread are submitted ahead of the file being analyzed; as each analyzing thread uses its own
+     * <code>PreparedFiles</code>, this limit applies per analyzing thread. Files no <code>PreparingAnalyzer</code> is
+     * interested in are passed through; as they are queued as well, the look-ahead is limited to
+     * {@link #PENDING_FILES_PER_THREAD} files per preparing thread, regardless of the kind of files. The contexts are created in advance, but handed out via
+     * {@link FileContext#fileContextFor(AnalysisContext, FileContext)}, so that analyzers looking up the context of the
+     * file being analyzed get the prepared one.
+     */
+    private class PreparedFiles extends AbstractIterator<FileContext> {
+
+        private final AnalysisContext analysisContext;
+        private final Iterator<File> files;
+        private final ExecutorService executor;
+        private final Queue<PendingFile> pendingFiles = new ArrayDeque<PendingFile>();
+        private final int maximumNumberOfPreparations;
+        private final int maximumNumberOfPendingFiles;
+        private int numberOfPreparations = 0;
+
+        public PreparedFiles(@Nonnull AnalysisContext analysisContext,
+                             @Nonnull List<File> files,
+                             @Nonnull ExecutorService executor) {
+            this.analysisContext = analysisContext;
+            this.files = files.iterator();
+            this.executor = executor;
+            this.maximumNumberOfPreparations = PREPARED_FILES_PER_THREAD * numberOfPreparingThreads;
+            this.maximumNumberOfPendingFiles = PENDING_FILES_PER_THREAD * numberOfPreparingThreads;
+        }
+
+        @Override
+        protected FileContext computeNext() {
+            while (this.files.hasNext()
+                    && this.numberOfPreparations < this.maximumNumberOfPreparations
+                    && this.pendingFiles.size() < this.maximumNumberOfPendingFiles) {
+                File file = this.files.next();
+                List<PreparingAnalyzer> preparingAnalyzers = getPreparingAnalyzersFor(file);
+                if (preparingAnalyzers.isEmpty()) {
+                    this.pendingFiles.add(new PendingFile(immediateFuture(new FileContext(file)), false));
+                } else {
+                    this.pendingFiles.add(new PendingFile(submitPreparationOf(file, preparingAnalyzers), true));
+                    this.numberOfPreparations++;
                 }
             }
+            PendingFile pendingFile = this.pendingFiles.poll();
+            if (pendingFile == null) {
+                return endOfData();
+            }
+            if (pendingFile.prepared) {
+                this.numberOfPreparations--;
+            }
+            return FileContext.fileContextFor(this.analysisContext, getResultOf(pendingFile.fileContext));
         }
 
-        @Override
-        protected void handleEnd(Collection<Void> results) {
-            logger.debug("Analysis of [{}] is done.", this.repository);
+        @Nonnull
+        private List<PreparingAnalyzer> getPreparingAnalyzersFor(@Nonnull File file) {
+            List<PreparingAnalyzer> preparingAnalyzers = newArrayList();
+            for (Analyzer analyzer : routingTable.getAnalyzersFor(file)) {
+                if (PreparingAnalyzer.class.isInstance(analyzer)) {
+                    preparingAnalyzers.add(PreparingAnalyzer.class.cast(analyzer));
+                }
+            }
+            return preparingAnalyzers;
+        }
+
+        @Nonnull
+        private Future<FileContext> submitPreparationOf(@Nonnull final File file,
+                                                        @Nonnull final List<PreparingAnalyzer> preparingAnalyzers) {
+            return this.executor.submit(new Callable<FileContext>() {
+                @Override
+                public FileContext call() {
+                    FileContext fileContext = new FileContext(file);
+                    for (PreparingAnalyzer preparingAnalyzer : preparingAnalyzers) {
+                        try {
+                            preparingAnalyzer.prepareAnalysis(analysisContext, fileContext);
+                        } catch (RuntimeException rE) {
+                            logger.debug("Analyzer [{}] failed to prepare the analysis of file [{}].",
+                                    preparingAnalyzer, file, rE);
+                        }
+                    }
+                    return fileContext;
+                }
+            });
+        }
+
+    }
+
+    /**
+     * A file waiting to be analyzed, along with the information if it is being prepared.
+     */
+    private static class PendingFile {
+
+        @Nonnull
+        private final Future<FileContext> fileContext;
+        private final boolean prepared;
+
+        public PendingFile(@Nonnull Future<FileContext> fileContext, boolean prepared) {
+            this.fileContext = fileContext;
+            this.prepared = prepared;
         }
 
     }
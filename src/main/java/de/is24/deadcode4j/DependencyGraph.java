@@ -0,0 +1,726 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * A <code>DependencyGraph</code> is a compact, immutable representation of the analyzed classes and their
+ * dependencies: each name is interned to an <code>int</code> id, the analyzed classes are stored in a {@link BitSet}
+ * and the dependencies as sorted adjacency lists in one primitive array (i.e. in <i>compressed sparse row</i> format).
+ * <br/>
+ * Instances are created using a {@link Builder}. A graph can be {@link #extendWith(DependencyGraph) extended} by
+ * another one; the extended graph is a new <i>layer</i> on top of the original graph, storing only what was added.
+ * The sets of ids derived from the whole graph (like the {@link #getDependeeIds() dependees}) are computed once and
+ * then maintained incrementally for each layer.
+ *
+ * @since 2.2.0
+ */
+public final class DependencyGraph {
+
+    private static final int MAX_NUMBER_OF_LAYERS = 8;
+    @Nullable
+    private final DependencyGraph base;
+    private final int numberOfLayers;
+    private final int firstId;
+    @Nonnull
+    private final SymbolTable symbols;
+    @Nonnull
+    private final BitSet analyzedClasses;
+    @Nullable
+    private final int[] dependerIds;
+    @Nonnull
+    private final int[] offsets;
+    @Nonnull
+    private final int[] dependees;
+    // the following sets are computed on demand, based on those of the base; they are guarded by this
+    @Nullable
+    private BitSet allAnalyzedClassIds;
+    @Nullable
+    private BitSet allDependeeIds;
+    @Nullable
+    private BitSet allDependerIds;
+    @Nullable
+    private BitSet idsReachableFromRoots;
+
+    /**
+     * @param base            the graph this layer is put on top of or <code>null</code> if this is the bottom layer
+     * @param symbols         the names added by this layer; their ids start with the base's number of names
+     * @param analyzedClasses the ids of the analyzed classes added by this layer
+     * @param dependerIds     the sorted ids of the dependers of each row or <code>null</code> if there is a row for
+     *                        each id
+     * @param offsets         the offsets of each row (plus the end of the last row)
+     * @param dependees       the dependees of all rows; these are not contained in the base
+     */
+    private DependencyGraph(@Nullable DependencyGraph base,
+                            @Nonnull SymbolTable symbols,
+                            @Nonnull BitSet analyzedClasses,
+                            @Nullable int[] dependerIds,
+                            @Nonnull int[] offsets,
+                            @Nonnull int[] dependees) {
+        this.base = base;
+        this.numberOfLayers = base == null ? 1 : base.numberOfLayers + 1;
+        this.firstId = base == null ? 0 : base.getNumberOfNames();
+        this.symbols = symbols;
+        this.analyzedClasses = analyzedClasses;
+        this.dependerIds = dependerIds;
+        this.offsets = offsets;
+        this.dependees = dependees;
+    }
+
+    /**
+     * Returns the number of names being known, i.e. the ids range from <code>0</code> to this number (exclusively).
+     *
+     * @since 2.2.0
+     */
+    public int getNumberOfNames() {
+        return this.firstId + this.symbols.size();
+    }
+
+    /**
+     * Returns the id of the given name or <code>-1</code> if the name is unknown.
+     *
+     * @since 2.2.0
+     */
+    public int getId(@Nonnull String name) {
+        if (this.base != null) {
+            int id = this.base.getId(name);
+            if (id >= 0) {
+                return id;
+            }
+        }
+        int id = this.symbols.getId(name);
+        return id < 0 ? id : this.firstId + id;
+    }
+
+    /**
+     * Returns the name associated with the given id.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public String getName(int id) {
+        return id < this.firstId ? this.base.getName(id) : this.symbols.getName(id - this.firstId);
+    }
+
+    /**
+     * Returns the ids of the analyzed classes; the returned <code>BitSet</code> may be modified.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public BitSet getAnalyzedClassIds() {
+        return (BitSet) analyzedClassIds().clone();
+    }
+
+    /**
+     * Returns the ids of all names being depended upon; the returned <code>BitSet</code> may be modified.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public BitSet getDependeeIds() {
+        return (BitSet) dependeeIds().clone();
+    }
+
+    /**
+     * Returns the ids of all names depending on something; the returned <code>BitSet</code> may be modified.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public BitSet getDependerIds() {
+        return (BitSet) dependerIds().clone();
+    }
+
+    /**
+     * Returns the ids of all names being reachable from the given ids (including those); i.e. performs a breadth-first
+     * traversal along the dependencies. The returned <code>BitSet</code> may be modified.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public BitSet getReachableIds(@Nonnull BitSet startIds) {
+        BitSet reachableIds = new BitSet(getNumberOfNames());
+        traverse(reachableIds, startIds);
+        return reachableIds;
+    }
+
+    /**
+     * Returns the ids of all names being reachable from a <i>root</i>, i.e. from a name depending on something without
+     * being an analyzed class (like <code>_Spring_</code>). The returned <code>BitSet</code> may be modified.
+     *
+     * @see #getReachableIds(BitSet)
+     * @since 2.2.0
+     */
+    @Nonnull
+    public BitSet getIdsReachableFromRoots() {
+        return (BitSet) idsReachableFromRoots().clone();
+    }
+
+    /**
+     * Returns the sorted ids of the names the given id depends upon.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public int[] getDependeeIdsOf(int id) {
+        int[] dependeeIds = new int[0];
+        for (DependencyGraph layer = this; layer != null; layer = layer.base) {
+            int row = layer.rowOf(id);
+            if (row < 0 || layer.offsets[row] == layer.offsets[row + 1]) {
+                continue;
+            }
+            int numberOfIds = dependeeIds.length;
+            dependeeIds = Arrays.copyOf(dependeeIds, numberOfIds + layer.offsets[row + 1] - layer.offsets[row]);
+            System.arraycopy(layer.dependees, layer.offsets[row], dependeeIds, numberOfIds,
+                    dependeeIds.length - numberOfIds);
+        }
+        if (this.base != null) {
+            Arrays.sort(dependeeIds);
+        }
+        return dependeeIds;
+    }
+
+    /**
+     * Returns the number of dependencies, i.e. of edges.
+     *
+     * @since 2.2.0
+     */
+    public int getNumberOfDependencies() {
+        int numberOfDependencies = 0;
+        for (DependencyGraph layer = this; layer != null; layer = layer.base) {
+            numberOfDependencies += layer.dependees.length;
+        }
+        return numberOfDependencies;
+    }
+
+    /**
+     * Returns a graph containing the analyzed classes and dependencies of both this and the given graph.<br/>
+     * The returned graph is put on top of this graph, storing only those classes and dependencies that are not
+     * already known; thus the costs are proportional to the size of the given graph, not to the size of this one.
+     * If there are already {@value #MAX_NUMBER_OF_LAYERS} layers, a new, flat graph is built instead.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public DependencyGraph extendWith(@Nonnull DependencyGraph graph) {
+        if (this.numberOfLayers >= MAX_NUMBER_OF_LAYERS) {
+            return new Builder().addAll(this).addAll(graph).build();
+        }
+        SymbolTable newSymbols = new SymbolTable();
+        int[] ids = new int[graph.getNumberOfNames()];
+        for (int id = 0; id < ids.length; id++) {
+            String name = graph.getName(id);
+            int existingId = getId(name);
+            ids[id] = existingId >= 0 ? existingId : getNumberOfNames() + newSymbols.intern(name);
+        }
+        BitSet newAnalyzedClasses = new BitSet();
+        BitSet analyzedClassIds = graph.analyzedClassIds();
+        for (int id = analyzedClassIds.nextSetBit(0); id >= 0; id = analyzedClassIds.nextSetBit(id + 1)) {
+            if (!isAnalyzedClass(ids[id])) {
+                newAnalyzedClasses.set(ids[id]);
+            }
+        }
+        long[] newEdges = new long[graph.getNumberOfDependencies()];
+        int numberOfNewEdges = 0;
+        for (int depender = 0; depender < ids.length; depender++) {
+            for (int dependee : graph.getDependeeIdsOf(depender)) {
+                if (!hasDependency(ids[depender], ids[dependee])) {
+                    newEdges[numberOfNewEdges++] = ((long) ids[depender] << 32) | ids[dependee];
+                }
+            }
+        }
+        if (newSymbols.size() == 0 && newAnalyzedClasses.isEmpty() && numberOfNewEdges == 0) {
+            return this;
+        }
+        Arrays.sort(newEdges, 0, numberOfNewEdges);
+        int[] newDependerIds = new int[numberOfNewEdges];
+        int[] newOffsets = new int[numberOfNewEdges + 1];
+        int[] newDependees = new int[numberOfNewEdges];
+        int numberOfRows = 0;
+        for (int i = 0; i < numberOfNewEdges; i++) {
+            int depender = (int) (newEdges[i] >>> 32);
+            if (numberOfRows == 0 || newDependerIds[numberOfRows - 1] != depender) {
+                newDependerIds[numberOfRows] = depender;
+                newOffsets[numberOfRows++] = i;
+            }
+            newDependees[i] = (int) newEdges[i];
+        }
+        newOffsets[numberOfRows] = numberOfNewEdges;
+        return new DependencyGraph(this, newSymbols, newAnalyzedClasses,
+                Arrays.copyOf(newDependerIds, numberOfRows), Arrays.copyOf(newOffsets, numberOfRows + 1), newDependees);
+    }
+
+    /**
+     * Returns an unmodifiable view of the analyzed classes.
+     */
+    @Nonnull
+    Set<String> analyzedClassesView() {
+        return namesView(analyzedClassIds());
+    }
+
+    /**
+     * Returns an unmodifiable view of the names associated with the given ids; the ids must not be modified afterwards.
+     */
+    @Nonnull
+    Set<String> namesView(@Nonnull final BitSet ids) {
+        final int numberOfNames = ids.cardinality();
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new IdIterator() {
+                    private int candidate = ids.nextSetBit(0);
+
+                    @Override
+                    protected int nextId() {
+                        int id = this.candidate;
+                        this.candidate = id < 0 ? id : ids.nextSetBit(id + 1);
+                        return id;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return numberOfNames;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                int id = idOf(o);
+                return id >= 0 && ids.get(id);
+            }
+        };
+    }
+
+    /**
+     * Returns the ids of the analyzed classes; the returned <code>BitSet</code> must not be modified.
+     */
+    @Nonnull
+    synchronized BitSet analyzedClassIds() {
+        if (this.allAnalyzedClassIds == null) {
+            if (this.base == null) {
+                this.allAnalyzedClassIds = this.analyzedClasses;
+            } else {
+                BitSet ids = (BitSet) this.base.analyzedClassIds().clone();
+                ids.or(this.analyzedClasses);
+                this.allAnalyzedClassIds = ids;
+            }
+        }
+        return this.allAnalyzedClassIds;
+    }
+
+    /**
+     * Returns the ids of all names being depended upon; the returned <code>BitSet</code> must not be modified.
+     */
+    @Nonnull
+    synchronized BitSet dependeeIds() {
+        if (this.allDependeeIds == null) {
+            BitSet ids = this.base == null ? new BitSet(getNumberOfNames()) : (BitSet) this.base.dependeeIds().clone();
+            for (int dependee : this.dependees) {
+                ids.set(dependee);
+            }
+            this.allDependeeIds = ids;
+        }
+        return this.allDependeeIds;
+    }
+
+    /**
+     * Returns the ids of all names depending on something; the returned <code>BitSet</code> must not be modified.
+     */
+    @Nonnull
+    synchronized BitSet dependerIds() {
+        if (this.allDependerIds == null) {
+            BitSet ids = this.base == null ? new BitSet(getNumberOfNames()) : (BitSet) this.base.dependerIds().clone();
+            for (int row = 0; row < this.offsets.length - 1; row++) {
+                if (this.offsets[row] < this.offsets[row + 1]) {
+                    ids.set(dependerOf(row));
+                }
+            }
+            this.allDependerIds = ids;
+        }
+        return this.allDependerIds;
+    }
+
+    /**
+     * Returns the ids of all names being reachable from a root; the returned <code>BitSet</code> must not be modified.
+     * If this layer does not turn a root of the base into an analyzed class, the base's result is extended by
+     * traversing from the dependers of this layer; otherwise, the whole graph is traversed.
+     */
+    @Nonnull
+    synchronized BitSet idsReachableFromRoots() {
+        if (this.idsReachableFromRoots == null) {
+            BitSet reachableIds = new BitSet(getNumberOfNames());
+            BitSet startIds;
+            if (this.base == null || this.analyzedClasses.intersects(this.base.dependerIds())) {
+                startIds = (BitSet) dependerIds().clone();
+                startIds.andNot(analyzedClassIds());
+            } else {
+                reachableIds.or(this.base.idsReachableFromRoots());
+                startIds = new BitSet();
+                for (int row = 0; row < this.offsets.length - 1; row++) {
+                    int depender = dependerOf(row);
+                    if (reachableIds.get(depender) || !analyzedClassIds().get(depender)) {
+                        startIds.set(depender);
+                    }
+                }
+            }
+            traverse(reachableIds, startIds);
+            this.idsReachableFromRoots = reachableIds;
+        }
+        return this.idsReachableFromRoots;
+    }
+
+    /**
+     * Performs a breadth-first traversal along the dependencies, starting with the given ids and skipping those ids
+     * already marked as reachable.
+     */
+    private void traverse(@Nonnull BitSet reachableIds, @Nonnull BitSet startIds) {
+        int[] queue = new int[Math.max(16, startIds.cardinality())];
+        int tail = 0;
+        for (int id = startIds.nextSetBit(0); id >= 0; id = startIds.nextSetBit(id + 1)) {
+            reachableIds.set(id);
+            queue[tail++] = id;
+        }
+        for (int head = 0; head < tail; head++) {
+            int id = queue[head];
+            for (DependencyGraph layer = this; layer != null; layer = layer.base) {
+                int row = layer.rowOf(id);
+                if (row < 0) {
+                    continue;
+                }
+                for (int i = layer.offsets[row]; i < layer.offsets[row + 1]; i++) {
+                    int dependee = layer.dependees[i];
+                    if (!reachableIds.get(dependee)) {
+                        reachableIds.set(dependee);
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, tail * 2);
+                        }
+                        queue[tail++] = dependee;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an unmodifiable view of the dependencies, mapping each depender to the set of its dependees.
+     */
+    @Nonnull
+    Map<String, Set<String>> dependenciesView() {
+        final BitSet dependerIds = dependerIds();
+        final int size = dependerIds.cardinality();
+        final Set<Map.Entry<String, Set<String>>> entrySet = new AbstractSet<Map.Entry<String, Set<String>>>() {
+            @Override
+            public Iterator<Map.Entry<String, Set<String>>> iterator() {
+                return new Iterator<Map.Entry<String, Set<String>>>() {
+                    private int nextId = dependerIds.nextSetBit(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.nextId >= 0;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Set<String>> next() {
+                        if (this.nextId < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        int id = this.nextId;
+                        this.nextId = dependerIds.nextSetBit(id + 1);
+                        return new AbstractMap.SimpleImmutableEntry<String, Set<String>>(getName(id), dependeesView(id));
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+        return new AbstractMap<String, Set<String>>() {
+            @Override
+            public Set<Map.Entry<String, Set<String>>> entrySet() {
+                return entrySet;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public Set<String> get(Object key) {
+                int id = idOf(key);
+                return id < 0 || !dependerIds.get(id) ? null : dependeesView(id);
+            }
+        };
+    }
+
+    @Nonnull
+    private Set<String> dependeesView(int id) {
+        final int[] dependeeIds = getDependeeIdsOf(id);
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new IdIterator() {
+                    private int index = 0;
+
+                    @Override
+                    protected int nextId() {
+                        return this.index < dependeeIds.length ? dependeeIds[this.index++] : -1;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return dependeeIds.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                int dependee = idOf(o);
+                return dependee >= 0 && Arrays.binarySearch(dependeeIds, dependee) >= 0;
+            }
+        };
+    }
+
+    private int idOf(@Nullable Object name) {
+        return String.class.isInstance(name) ? getId(String.class.cast(name)) : -1;
+    }
+
+    /**
+     * Returns the row of this layer holding the dependees of the given id or <code>-1</code> if there is none.
+     */
+    private int rowOf(int id) {
+        if (this.dependerIds == null) {
+            return id < this.offsets.length - 1 ? id : -1;
+        }
+        int row = Arrays.binarySearch(this.dependerIds, id);
+        return row < 0 ? -1 : row;
+    }
+
+    private int dependerOf(int row) {
+        return this.dependerIds == null ? row : this.dependerIds[row];
+    }
+
+    private boolean isAnalyzedClass(int id) {
+        for (DependencyGraph layer = this; layer != null; layer = layer.base) {
+            if (layer.analyzedClasses.get(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasDependency(int depender, int dependee) {
+        for (DependencyGraph layer = this; layer != null; layer = layer.base) {
+            int row = layer.rowOf(depender);
+            if (row >= 0
+                    && Arrays.binarySearch(layer.dependees, layer.offsets[row], layer.offsets[row + 1], dependee) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Iterates over names by mapping the ids provided by {@link #nextId()}.
+     */
+    private abstract class IdIterator implements Iterator<String> {
+        private static final int UNKNOWN = -2;
+        private int bufferedId = UNKNOWN;
+
+        /**
+         * Returns the next id or <code>-1</code> if there is none.
+         */
+        protected abstract int nextId();
+
+        @Override
+        public boolean hasNext() {
+            if (this.bufferedId == UNKNOWN) {
+                this.bufferedId = nextId();
+            }
+            return this.bufferedId >= 0;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String name = getName(this.bufferedId);
+            this.bufferedId = UNKNOWN;
+            return name;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Collects analyzed classes and dependencies in order to {@link #build() build} a <code>DependencyGraph</code>.
+     * Dependencies are collected as plain pairs of ids; duplicates are removed whenever their number doubled.
+     * <br/>
+     * <b>A <code>Builder</code> is not thread-safe.</b>
+     *
+     * @since 2.2.0
+     */
+    public static final class Builder {
+        private static final int MIN_COMPACTION_THRESHOLD = 1024;
+        @Nonnull
+        private final SymbolTable symbols = new SymbolTable();
+        @Nonnull
+        private final BitSet analyzedClasses = new BitSet();
+        @Nonnull
+        private int[] dependers = new int[16];
+        @Nonnull
+        private int[] dependees = new int[16];
+        private int numberOfEdges = 0;
+        private int compactionThreshold = MIN_COMPACTION_THRESHOLD;
+
+        /**
+         * Indicates if neither classes nor dependencies were added.
+         *
+         * @since 2.2.0
+         */
+        public boolean isEmpty() {
+            return this.numberOfEdges == 0 && this.analyzedClasses.isEmpty();
+        }
+
+        /**
+         * @since 2.2.0
+         */
+        @Nonnull
+        public Builder addAnalyzedClass(@Nonnull String clazz) {
+            this.analyzedClasses.set(this.symbols.intern(clazz));
+            return this;
+        }
+
+        /**
+         * @since 2.2.0
+         */
+        @Nonnull
+        public Builder addDependency(@Nonnull String depender, @Nonnull String dependee) {
+            addEdge(this.symbols.intern(depender), this.symbols.intern(dependee));
+            return this;
+        }
+
+        /**
+         * Adds all analyzed classes and dependencies of the given graph.
+         *
+         * @since 2.2.0
+         */
+        @Nonnull
+        public Builder addAll(@Nonnull DependencyGraph graph) {
+            int[] ids = new int[graph.getNumberOfNames()];
+            for (int id = 0; id < ids.length; id++) {
+                ids[id] = this.symbols.intern(graph.getName(id));
+            }
+            for (DependencyGraph layer = graph; layer != null; layer = layer.base) {
+                BitSet analyzedClassIds = layer.analyzedClasses;
+                for (int id = analyzedClassIds.nextSetBit(0); id >= 0; id = analyzedClassIds.nextSetBit(id + 1)) {
+                    this.analyzedClasses.set(ids[id]);
+                }
+                for (int row = 0; row < layer.offsets.length - 1; row++) {
+                    int depender = ids[layer.dependerOf(row)];
+                    for (int i = layer.offsets[row]; i < layer.offsets[row + 1]; i++) {
+                        addEdge(depender, ids[layer.dependees[i]]);
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Creates a <code>DependencyGraph</code>; the builder can still be used afterwards.
+         *
+         * @since 2.2.0
+         */
+        @Nonnull
+        public DependencyGraph build() {
+            int[][] adjacencyLists = toAdjacencyLists();
+            return new DependencyGraph(null, this.symbols.copy(), (BitSet) this.analyzedClasses.clone(),
+                    null, adjacencyLists[0], adjacencyLists[1]);
+        }
+
+        /**
+         * Sorts the collected edges by depender (using a counting sort) and each depender's dependees, dropping
+         * duplicates. Returns the offsets and the dependees.
+         */
+        @Nonnull
+        private int[][] toAdjacencyLists() {
+            int numberOfNames = this.symbols.size();
+            int[] offsets = new int[numberOfNames + 1];
+            for (int i = 0; i < this.numberOfEdges; i++) {
+                offsets[this.dependers[i] + 1]++;
+            }
+            for (int id = 0; id < numberOfNames; id++) {
+                offsets[id + 1] += offsets[id];
+            }
+            int[] sortedDependees = new int[this.numberOfEdges];
+            int[] positions = Arrays.copyOf(offsets, numberOfNames);
+            for (int i = 0; i < this.numberOfEdges; i++) {
+                sortedDependees[positions[this.dependers[i]]++] = this.dependees[i];
+            }
+            int numberOfUniqueEdges = 0;
+            int from = 0;
+            for (int id = 0; id < numberOfNames; id++) {
+                int to = offsets[id + 1];
+                Arrays.sort(sortedDependees, from, to);
+                offsets[id] = numberOfUniqueEdges;
+                for (int i = from; i < to; i++) {
+                    if (i == from || sortedDependees[i] != sortedDependees[i - 1]) {
+                        sortedDependees[numberOfUniqueEdges++] = sortedDependees[i];
+                    }
+                }
+                from = to;
+            }
+            offsets[numberOfNames] = numberOfUniqueEdges;
+            return new int[][]{offsets, Arrays.copyOf(sortedDependees, numberOfUniqueEdges)};
+        }
+
+        private void addEdge(int depender, int dependee) {
+            if (this.numberOfEdges == this.dependers.length) {
+                if (this.numberOfEdges >= this.compactionThreshold) {
+                    compact();
+                }
+                if (this.numberOfEdges == this.dependers.length) {
+                    this.dependers = Arrays.copyOf(this.dependers, this.numberOfEdges * 2);
+                    this.dependees = Arrays.copyOf(this.dependees, this.numberOfEdges * 2);
+                }
+            }
+            this.dependers[this.numberOfEdges] = depender;
+            this.dependees[this.numberOfEdges] = dependee;
+            this.numberOfEdges++;
+        }
+
+        private void compact() {
+            int[][] adjacencyLists = toAdjacencyLists();
+            int[] offsets = adjacencyLists[0];
+            int[] uniqueDependees = adjacencyLists[1];
+            for (int depender = 0; depender < this.symbols.size(); depender++) {
+                Arrays.fill(this.dependers, offsets[depender], offsets[depender + 1], depender);
+            }
+            System.arraycopy(uniqueDependees, 0, this.dependees, 0, uniqueDependees.length);
+            this.numberOfEdges = uniqueDependees.length;
+            this.compactionThreshold = Math.max(MIN_COMPACTION_THRESHOLD, this.numberOfEdges * 2);
+        }
+
+    }
+
+}
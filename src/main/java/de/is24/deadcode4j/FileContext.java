@@ -0,0 +1,164 @@
+package de.is24.deadcode4j;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.LoadingCache;
+import de.is24.guava.NonNullFunction;
+import de.is24.guava.SequentialLoadingCache;
+import org.apache.commons.io.FileUtils;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static com.google.common.base.Optional.of;
+import static com.google.common.collect.Maps.newHashMap;
+import static de.is24.guava.NonNullFunctions.toFunction;
+
+/**
+ * A <code>FileContext</code> provides access to a file being analyzed and to the artifacts derived from it. The file's
+ * content is read only once and the artifacts (like a parsed class or compilation unit) are computed lazily, so they
+ * can be shared by all analyzers looking at the same file.
+ *
+ * @see FileContextAnalyzer
+ * @since 2.2.0
+ */
+public class FileContext {
+
+    private static final NonNullFunction<AnalysisContext, LoadingCache<File, Optional<FileContext>>> SUPPLIER =
+            new NonNullFunction<AnalysisContext, LoadingCache<File, Optional<FileContext>>>() {
+                @Nonnull
+                @Override
+                public LoadingCache<File, Optional<FileContext>> apply(@Nonnull AnalysisContext input) {
+                    return SequentialLoadingCache.createSingleValueCache(toFunction(new NonNullFunction<File, Optional<FileContext>>() {
+                        @Nonnull
+                        @Override
+                        public Optional<FileContext> apply(@Nonnull File file) {
+                            return of(new FileContext(file));
+                        }
+                    }));
+                }
+            };
+    @Nonnull
+    private final File file;
+    @Nonnull
+    private final Map<Object, Object> artifacts = newHashMap();
+    private byte[] content;
+
+    /**
+     * Creates a new <code>FileContext</code> for the given file.
+     *
+     * @since 2.2.0
+     */
+    public FileContext(@Nonnull File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the <code>FileContext</code> for the given file. As the files of a module are analyzed one after
+     * another, the context of the file being analyzed is cached by the given <code>AnalysisContext</code>.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static FileContext fileContextFor(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        return analysisContext.getOrCreateCacheEntry(FileContext.class, SUPPLIER).getUnchecked(file).get();
+    }
+
+    /**
+     * Makes the given <code>FileContext</code> - which was created and prepared in advance, possibly by another thread
+     * - the one being returned by {@link #fileContextFor(AnalysisContext, File)} for its file.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    static FileContext fileContextFor(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        analysisContext.getOrCreateCacheEntry(FileContext.class, SUPPLIER).put(fileContext.getFile(), of(fileContext));
+        return fileContext;
+    }
+
+    @Override
+    public String toString() {
+        return "FileContext for [" + this.file + "]";
+    }
+
+    /**
+     * Returns the file being analyzed.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Returns the file's content; it is read upon the first call.<br/>
+     * <b>The returned array must not be modified.</b>
+     *
+     * @throws RuntimeException if the file cannot be read
+     * @since 2.2.0
+     */
+    @Nonnull
+    public byte[] getContent() {
+        if (this.content == null) {
+            try {
+                this.content = FileUtils.readFileToByteArray(this.file);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read [" + this.file + "]!", e);
+            }
+        }
+        return this.content;
+    }
+
+    /**
+     * Returns a new <code>InputStream</code> providing the {@link #getContent() file's content}.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public InputStream openStream() {
+        return new ByteArrayInputStream(getContent());
+    }
+
+    /**
+     * Returns the artifact stored for the given key, creating it with the given supplier if it does not exist yet.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public <T> T getOrCreateArtifact(@Nonnull Object key, @Nonnull NonNullFunction<FileContext, T> supplier) {
+        @SuppressWarnings("unchecked")
+        T artifact = (T) this.artifacts.get(key);
+        if (artifact == null) {
+            artifact = supplier.apply(this);
+            this.artifacts.put(key, artifact);
+        }
+        return artifact;
+    }
+
+    /**
+     * Releases the file's content and all artifacts; artifacts implementing {@link Closeable} are closed. This is done
+     * once all analyzers are done with the file; subsequent requests will read the file again.
+     *
+     * @throws RuntimeException if closing an artifact fails
+     * @since 2.2.0
+     */
+    public void release() {
+        this.content = null;
+        for (Object artifact : this.artifacts.values()) {
+            if (Closeable.class.isInstance(artifact)) {
+                try {
+                    Closeable.class.cast(artifact).close();
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to close [" + artifact + "] of [" + this.file + "]!", e);
+                }
+            }
+        }
+        this.artifacts.clear();
+    }
+
+}
@@ -0,0 +1,22 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A <code>FileContextAnalyzer</code> is an {@link Analyzer} that is able to analyze a {@link FileContext}, thus sharing
+ * the file's content and derived artifacts with other analyzers. The {@link DeadCodeFinder} calls
+ * {@link #doAnalysis(AnalysisContext, FileContext)} instead of {@link #doAnalysis(AnalysisContext, java.io.File)}.
+ *
+ * @since 2.2.0
+ */
+public interface FileContextAnalyzer extends Analyzer {
+
+    /**
+     * Perform an analysis for the specified file.
+     * Results must be reported via the capabilities of the {@link AnalysisContext}.
+     *
+     * @since 2.2.0
+     */
+    void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext);
+
+}
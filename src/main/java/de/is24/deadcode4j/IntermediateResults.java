@@ -1,5 +1,6 @@
 package de.is24.deadcode4j;
 
+import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -7,15 +8,21 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newConcurrentMap;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 
 /**
  * Instances of <code>IntermediateResults</code> are used to keep track of and calculate the {@link IntermediateResult}s
- * produced by and being made available to {@link AnalysisContext} instances, respectively.
+ * produced by and being made available to {@link AnalysisContext} instances, respectively.<br/>
+ * Results may be added and calculated concurrently, as long as the results of a module are added before they are
+ * calculated for a module depending on it.
  *
  * @since 2.0.0
  */
@@ -23,7 +30,9 @@ public final class IntermediateResults {
     @Nonnull
     private final Logger logger = LoggerFactory.getLogger(getClass());
     @Nonnull
-    private final Map<Module, Map<Object, IntermediateResult>> intermediateResults = newHashMap();
+    private final Map<Module, Map<Object, IntermediateResult>> intermediateResults = newConcurrentMap();
+    @Nonnull
+    private final Map<Module, Map<Object, IntermediateResult>> calculatedResults = newConcurrentMap();
 
     /**
      * Returns an <code>IntermediateResultSet</code> for the given <code>Set</code>.<br/>
@@ -105,10 +114,21 @@ public final class IntermediateResults {
         return intermediateResults;
     }
 
+    /**
+     * Once the results of a module are added, the results calculated for it won't change anymore; thus they are
+     * calculated only once and reused for all modules depending on it.
+     */
     @Nonnull
     private Map<Object, IntermediateResult> calculateIntermediateResults(@Nonnull Module module) {
-        Map<Object, IntermediateResult> results = calculateResultsOfParentsFor(module);
+        Map<Object, IntermediateResult> results = calculatedResults.get(module);
+        if (results != null) {
+            return results;
+        }
+        results = calculateResultsOfParentsFor(module);
         mergeWithResultsOf(module, results);
+        if (intermediateResults.containsKey(module)) {
+            calculatedResults.put(module, Collections.unmodifiableMap(results));
+        }
         return results;
     }
 
@@ -148,14 +168,21 @@ public final class IntermediateResults {
 
     /**
      * An <code>IntermediateResultSet</code> is an implementation of {@link de.is24.deadcode4j.IntermediateResult} using
-     * a <code>Set</code> to store the results. Concerning merging with siblings & parents, it simply adds both sets.
+     * a <code>Set</code> to store the results. Concerning merging with siblings & parents, it simply adds both sets.<br/>
+     * A merged result only records the sets it consists of - identified by the modules' results they originate from -
+     * so merging costs neither copying nor comparing elements; a result reached via several paths of the module
+     * hierarchy is thus contained only once. The merged <code>Set</code> is provided upon request: as a view on a few
+     * sets or as a copy of many of them.
      *
      * @since 2.0.0
      */
     public static class IntermediateResultSet<E> implements IntermediateResult {
 
+        private static final int MAX_NUMBER_OF_VIEWED_SETS = 8;
         @Nonnull
-        private final Set<E> results;
+        private final Set<Set<E>> parts;
+        @Nullable
+        private volatile Set<E> results;
 
         /**
          * Creates an <code>IntermediateResultSet</code> to store the given <code>Set</code>.
@@ -164,11 +191,24 @@ public final class IntermediateResults {
          */
         public IntermediateResultSet(@Nonnull Collection<E> results) {
             this.results = Collections.unmodifiableSet(newHashSet(results));
+            this.parts = newIdentitySet();
+            if (!this.results.isEmpty()) {
+                this.parts.add(this.results);
+            }
+        }
+
+        private IntermediateResultSet(@Nonnull Set<Set<E>> parts) {
+            this.parts = parts;
+        }
+
+        @Nonnull
+        private static <T> Set<T> newIdentitySet() {
+            return Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
         }
 
         @Override
         public String toString() {
-            return getClass().getSimpleName() + ": " + results;
+            return getClass().getSimpleName() + ": " + getResults();
         }
 
         @Nonnull
@@ -190,20 +230,44 @@ public final class IntermediateResults {
          */
         @Nonnull
         public Set<E> getResults() {
-            return this.results;
+            Set<E> mergedResults = this.results;
+            if (mergedResults == null) {
+                mergedResults = Collections.emptySet();
+                if (this.parts.size() > MAX_NUMBER_OF_VIEWED_SETS) {
+                    Set<E> copy = newHashSet();
+                    for (Set<E> part : this.parts) {
+                        copy.addAll(part);
+                    }
+                    mergedResults = Collections.unmodifiableSet(copy);
+                } else {
+                    for (Set<E> part : this.parts) {
+                        mergedResults = mergedResults.isEmpty() ? part : Sets.union(mergedResults, part);
+                    }
+                }
+                this.results = mergedResults;
+            }
+            return mergedResults;
         }
 
         @Nonnull
         private IntermediateResult merge(@Nonnull IntermediateResult result) {
-            Set<E> mergedResults = newHashSet(this.results);
-            mergedResults.addAll(getResults(result));
-            return new IntermediateResultSet<E>(mergedResults);
+            IntermediateResultSet<E> other = cast(result);
+            if (other == this || this.parts.containsAll(other.parts)) {
+                return this;
+            }
+            if (other.parts.containsAll(this.parts)) {
+                return other;
+            }
+            Set<Set<E>> mergedParts = newIdentitySet();
+            mergedParts.addAll(this.parts);
+            mergedParts.addAll(other.parts);
+            return new IntermediateResultSet<E>(mergedParts);
         }
 
         @Nonnull
         @SuppressWarnings("unchecked")
-        private Set<E> getResults(@Nonnull IntermediateResult result) {
-            return IntermediateResultSet.class.cast(result).getResults();
+        private IntermediateResultSet<E> cast(@Nonnull IntermediateResult result) {
+            return IntermediateResultSet.class.cast(result);
         }
 
     }
@@ -215,7 +279,8 @@ public final class IntermediateResults {
      * <li>adds entries of siblings & parents to the results if they don't collide with those defined by itself</li>
      * <li>if an entry of sibling or parent collides with one defined by itself
      * <ul>
-     * <li>and the values are <code>Collection</code>s, they are added to one another</li>
+     * <li>and the values are <code>Collection</code>s, they are added to one another (resulting in a new
+     * <code>Set</code> or <code>List</code>, respectively)</li>
      * <li>otherwise, the own value is kept and the other is discarded</li>
      * </ul>
      * </li>
@@ -227,7 +292,9 @@ public final class IntermediateResults {
         @Nonnull
         private final Logger logger = LoggerFactory.getLogger(getClass());
         @Nonnull
-        private final Map<K, V> results;
+        private final List<Map<K, V>> parts;
+        @Nullable
+        private volatile Map<K, V> results;
 
         /**
          * Creates an <code>IntermediateResultMap</code> to store the given <code>Map</code>.
@@ -236,12 +303,19 @@ public final class IntermediateResults {
          */
         public IntermediateResultMap(@Nonnull Map<K, V> results) {
             this.results = Collections.unmodifiableMap(newHashMap(results));
+            this.parts = this.results.isEmpty()
+                    ? Collections.<Map<K, V>>emptyList()
+                    : Collections.singletonList(this.results);
+        }
+
+        private IntermediateResultMap(@Nonnull List<Map<K, V>> parts) {
+            this.parts = parts;
         }
 
         @Nonnull
         @Override
         public String toString() {
-            return getClass().getSimpleName() + ": " + this.results;
+            return getClass().getSimpleName() + ": " + getResults();
         }
 
         @Nonnull
@@ -257,38 +331,97 @@ public final class IntermediateResults {
         }
 
         /**
-         * Returns the stored read-only <code>Map</code>.
+         * Returns the stored read-only <code>Map</code>. The maps of merged results are combined upon the first call.
          *
          * @since 2.0.0
          */
         @Nonnull
         public Map<K, V> getResults() {
-            return this.results;
+            Map<K, V> mergedResults = this.results;
+            if (mergedResults == null) {
+                mergedResults = this.parts.size() == 1 ? this.parts.get(0) : combineParts();
+                this.results = mergedResults;
+            }
+            return mergedResults;
         }
 
+        /**
+         * Merged results only record the maps they consist of, in the order of precedence; the maps originate from the
+         * modules' results and are identified as such. Thus merging costs neither copying nor comparing entries and a
+         * result reached via several paths of the module hierarchy is contained only once.
+         */
         @Nonnull
-        @SuppressWarnings("unchecked")
         private IntermediateResult merge(@Nonnull IntermediateResult result) {
-            Map<K, V> mergedResults = newHashMap(getResults());
-            for (Map.Entry<K, V> resultEntry : getResults(result).entrySet()) {
-                K key = resultEntry.getKey();
-                V value = resultEntry.getValue();
-                V existingResult = mergedResults.get(key);
-                if (existingResult == null) {
-                    mergedResults.put(key, value);
-                } else if (Collection.class.isInstance(existingResult)) {
-                    Collection.class.cast(existingResult).addAll(Collection.class.cast(value));
-                } else if (!existingResult.equals(value)) {
-                    logger.debug("Intermediate result [{}] refers to [{}] and [{}] defined by different modules, keeping the former.", key, existingResult, value);
+            List<Map<K, V>> partsToMerge = cast(result).parts;
+            if (result == this || containsAll(this.parts, partsToMerge)) {
+                return this;
+            }
+            List<Map<K, V>> mergedParts = newArrayList(this.parts);
+            for (Map<K, V> part : partsToMerge) {
+                if (!containsPart(this.parts, part)) {
+                    mergedParts.add(part);
+                }
+            }
+            return new IntermediateResultMap<K, V>(mergedParts);
+        }
+
+        private static <T> boolean containsAll(@Nonnull List<T> parts, @Nonnull List<T> partsToCheck) {
+            for (T part : partsToCheck) {
+                if (!containsPart(parts, part)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static <T> boolean containsPart(@Nonnull List<T> parts, @Nonnull T partToCheck) {
+            for (T part : parts) {
+                if (part == partToCheck) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Nonnull
+        @SuppressWarnings("unchecked")
+        private Map<K, V> combineParts() {
+            Map<K, V> mergedResults = newHashMap();
+            for (Map<K, V> part : this.parts) {
+                for (Map.Entry<K, V> resultEntry : part.entrySet()) {
+                    K key = resultEntry.getKey();
+                    V value = resultEntry.getValue();
+                    V existingResult = mergedResults.get(key);
+                    if (existingResult == null) {
+                        mergedResults.put(key, value);
+                    } else if (Collection.class.isInstance(existingResult)) {
+                        mergedResults.put(key, (V) mergeCollections(
+                                Collection.class.cast(existingResult), Collection.class.cast(value)));
+                    } else if (!existingResult.equals(value)) {
+                        logger.debug("Intermediate result [{}] refers to [{}] and [{}] defined by different modules, keeping the former.", key, existingResult, value);
+                    }
                 }
             }
-            return new IntermediateResultMap<K, V>(mergedResults);
+            return Collections.unmodifiableMap(mergedResults);
+        }
+
+        /**
+         * The values must not be modified, as they are shared by the results of other modules.
+         */
+        @Nonnull
+        private Collection<Object> mergeCollections(@Nonnull Collection<Object> existingValues,
+                                                    @Nonnull Collection<Object> values) {
+            Collection<Object> mergedValues = Set.class.isInstance(existingValues)
+                    ? newHashSet(existingValues)
+                    : newArrayList(existingValues);
+            mergedValues.addAll(values);
+            return mergedValues;
         }
 
         @Nonnull
         @SuppressWarnings("unchecked")
-        private Map<K, V> getResults(IntermediateResult result) {
-            return IntermediateResultMap.class.cast(result).getResults();
+        private IntermediateResultMap<K, V> cast(@Nonnull IntermediateResult result) {
+            return IntermediateResultMap.class.cast(result);
         }
 
     }
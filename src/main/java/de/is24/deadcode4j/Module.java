@@ -11,10 +11,16 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.collect.Iterables.addAll;
+import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.Utils.addIfNonNull;
 
 /**
@@ -66,30 +72,90 @@ public class Module {
      */
     @Nonnull
     public static Iterable<Module> sort(@Nonnull Iterable<Module> modules) {
-        List<Module> unsortedModules = newArrayList(modules);
-        List<Module> sortedModules = newArrayListWithCapacity(unsortedModules.size());
-        while (!unsortedModules.isEmpty()) {
-            List<Module> modulesToAdd = newArrayList();
-            for (Module module : unsortedModules) {
-                if (sortedModules.containsAll(module.getRequiredModules())) {
-                    modulesToAdd.add(module);
+        return concat(sortIntoLevels(modules));
+    }
+
+    /**
+     * Groups the given modules into levels: each module is placed in the first level following the levels of all
+     * modules it requires. Thus, the modules of one level do not depend on each other and may be analyzed
+     * concurrently. Within one level, modules are sorted alphabetically.
+     *
+     * @throws RuntimeException if the modules' dependencies contain a cycle or refer to a module not given
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static List<List<Module>> sortIntoLevels(@Nonnull Iterable<Module> modules) {
+        Map<Module, Collection<Module>> requiredModules = newLinkedHashMap();
+        for (Module module : modules) {
+            requiredModules.put(module, newHashSet(module.getRequiredModules()));
+        }
+        Map<Module, Integer> numberOfUnresolvedModules = newHashMap();
+        Map<Module, List<Module>> dependentModules = newHashMap();
+        List<Module> currentLevel = newArrayList();
+        for (Map.Entry<Module, Collection<Module>> moduleEntry : requiredModules.entrySet()) {
+            Module module = moduleEntry.getKey();
+            numberOfUnresolvedModules.put(module, moduleEntry.getValue().size());
+            if (moduleEntry.getValue().isEmpty()) {
+                currentLevel.add(module);
+            }
+            for (Module requiredModule : moduleEntry.getValue()) {
+                List<Module> dependents = dependentModules.get(requiredModule);
+                if (dependents == null) {
+                    dependents = newArrayList();
+                    dependentModules.put(requiredModule, dependents);
                 }
+                dependents.add(module);
             }
-            if (modulesToAdd.isEmpty()) {
-                Logger logger = LoggerFactory.getLogger(Module.class);
-                logger.error("Could not resolve dependencies for all modules! Those modules are affected:");
-                for (Module unsortedModule : unsortedModules) {
-                    List<Module> unresolvedModules = newArrayList(unsortedModule.getRequiredModules());
-                    unresolvedModules.removeAll(sortedModules);
-                    logger.error("  {} requires {}", unsortedModule, unresolvedModules);
+        }
+
+        List<List<Module>> levels = newArrayList();
+        int numberOfSortedModules = 0;
+        while (!currentLevel.isEmpty()) {
+            currentLevel = Ordering.natural().onResultOf(toModuleId()).sortedCopy(currentLevel);
+            levels.add(currentLevel);
+            numberOfSortedModules += currentLevel.size();
+            List<Module> nextLevel = newArrayList();
+            for (Module module : currentLevel) {
+                List<Module> dependents = dependentModules.get(module);
+                if (dependents == null) {
+                    continue;
                 }
-                throw new RuntimeException("Could not build dependency graph!");
+                for (Module dependentModule : dependents) {
+                    int unresolvedModules = numberOfUnresolvedModules.get(dependentModule) - 1;
+                    numberOfUnresolvedModules.put(dependentModule, unresolvedModules);
+                    if (unresolvedModules == 0) {
+                        nextLevel.add(dependentModule);
+                    }
+                }
+            }
+            currentLevel = nextLevel;
+        }
+
+        if (numberOfSortedModules < requiredModules.size()) {
+            logUnresolvedDependencies(requiredModules, numberOfUnresolvedModules);
+            throw new RuntimeException("Could not build dependency graph!");
+        }
+        return levels;
+    }
+
+    private static void logUnresolvedDependencies(@Nonnull Map<Module, Collection<Module>> requiredModules,
+                                                  @Nonnull Map<Module, Integer> numberOfUnresolvedModules) {
+        Set<Module> sortedModules = newHashSet();
+        for (Map.Entry<Module, Integer> moduleEntry : numberOfUnresolvedModules.entrySet()) {
+            if (moduleEntry.getValue() == 0) {
+                sortedModules.add(moduleEntry.getKey());
+            }
+        }
+        Logger logger = LoggerFactory.getLogger(Module.class);
+        logger.error("Could not resolve dependencies for all modules! Those modules are affected:");
+        for (Map.Entry<Module, Collection<Module>> moduleEntry : requiredModules.entrySet()) {
+            if (sortedModules.contains(moduleEntry.getKey())) {
+                continue;
             }
-            modulesToAdd = Ordering.natural().onResultOf(toModuleId()).sortedCopy(modulesToAdd);
-            sortedModules.addAll(modulesToAdd);
-            unsortedModules.removeAll(modulesToAdd);
+            List<Module> unresolvedModules = newArrayList(moduleEntry.getValue());
+            unresolvedModules.removeAll(sortedModules);
+            logger.error("  {} requires {}", moduleEntry.getKey(), unresolvedModules);
         }
-        return sortedModules;
     }
 
     @Nonnull
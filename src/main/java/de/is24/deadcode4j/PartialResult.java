@@ -0,0 +1,30 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+
+/**
+ * If a <code>PartialResult</code> is put into an {@link AnalysisContext#getCache() analysis context's cache}, it will
+ * survive the parallel analysis of a module: if the files of a module are analyzed by several worker threads, each
+ * worker uses its own <code>AnalysisContext</code>; the partial results of those are merged into the module's context
+ * before {@link Analyzer#finishAnalysis(AnalysisContext)} is called.
+ * <p/>
+ * This allows <code>Analyzer</code>s to collect state while analyzing files and process it at the end of a module,
+ * regardless of how many threads are used.
+ *
+ * @since 2.2.0
+ */
+public interface PartialResult {
+
+    /**
+     * Merges the given result into this instance.<br/>
+     * The given result was gathered by analyzing files that come <i>after</i> the files this result is based on, i.e.
+     * if collisions occur, the given result should be preferred in order to reproduce the results of a sequential
+     * analysis.</p>
+     * <b>This instance is modified by this call, whereas the given result must not be modified.</b>
+     *
+     * @param subsequentResult the <code>PartialResult</code> to merge with
+     * @since 2.2.0
+     */
+    void mergeSubsequent(@Nonnull PartialResult subsequentResult);
+
+}
@@ -0,0 +1,26 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A <code>PreparingAnalyzer</code> is a {@link FileContextAnalyzer} that is able to do the expensive part of its
+ * analysis - like parsing a file - in advance, storing the results as artifacts of the {@link FileContext}. If
+ * configured to do so, the {@link DeadCodeFinder} prepares upcoming files using a pool of threads while the analyzers
+ * process the current file; the files are still analyzed one after another, in the same order.
+ *
+ * @since 2.2.0
+ */
+public interface PreparingAnalyzer extends FileContextAnalyzer {
+
+    /**
+     * Prepares the analysis of the specified file. This method is called by another thread than the one calling
+     * {@link #doAnalysis(AnalysisContext, FileContext)}, possibly while other files are analyzed; thus it must neither
+     * modify the {@link AnalysisContext} nor report any results.<br/>
+     * Failures need not be handled: if the preparation fails, nothing is stored and
+     * {@link #doAnalysis(AnalysisContext, FileContext)} will run into the same failure.
+     *
+     * @since 2.2.0
+     */
+    void prepareAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext);
+
+}
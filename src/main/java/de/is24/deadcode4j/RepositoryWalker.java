@@ -0,0 +1,190 @@
+package de.is24.deadcode4j;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileFilter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Maps.newHashMap;
+
+/**
+ * The <code>RepositoryWalker</code> lists the files of a {@link Repository} accepted by the repository's file filter.
+ * Subdirectories rejected by the filter are not entered at all.<br/>
+ * Each directory entry is checked at most once for being a directory - and not before the filter or the walker asks
+ * for it; the <code>File</code> handed to the filter (and returned) keeps the result, so that checking for directories
+ * again does not access the file system.<br/>
+ * The directories may be listed concurrently; the files are returned in the same order in any case, i.e. the order of
+ * a depth-first traversal.
+ *
+ * @since 2.2.0
+ */
+final class RepositoryWalker {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    @Nonnull
+    private final Repository repository;
+
+    public RepositoryWalker(@Nonnull Repository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Lists the files of the repository.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<File> listFiles() {
+        logger.debug("Collecting files of [{}]...", this.repository);
+        List<File> files = newArrayList();
+        walk(this.repository.getDirectory(), files);
+        logger.debug("Found {} files to analyze in [{}].", files.size(), this.repository);
+        return files;
+    }
+
+    /**
+     * Lists the files of the repository, using the given executor to list the directories concurrently. The filter of
+     * the repository must be thread-safe.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<File> listFiles(@Nonnull ExecutorService executor) {
+        logger.debug("Collecting files of [{}] concurrently...", this.repository);
+        CompletionService<DirectoryListing> completionService = new ExecutorCompletionService<DirectoryListing>(executor);
+        Map<File, List<ListedFile>> entriesOfDirectories = newHashMap();
+        submitListingOf(this.repository.getDirectory(), completionService);
+        int numberOfPendingDirectories = 1;
+        while (numberOfPendingDirectories > 0) {
+            DirectoryListing directoryListing = takeNextFrom(completionService);
+            numberOfPendingDirectories--;
+            entriesOfDirectories.put(directoryListing.directory, directoryListing.entries);
+            for (ListedFile entry : directoryListing.entries) {
+                if (entry.isDirectory()) {
+                    submitListingOf(entry, completionService);
+                    numberOfPendingDirectories++;
+                }
+            }
+        }
+        List<File> files = newArrayList();
+        collect(this.repository.getDirectory(), entriesOfDirectories, files);
+        logger.debug("Found {} files to analyze in [{}].", files.size(), this.repository);
+        return files;
+    }
+
+    private void walk(@Nonnull File directory, @Nonnull List<File> files) {
+        for (ListedFile entry : list(directory)) {
+            if (entry.isDirectory()) {
+                walk(entry, files);
+            } else {
+                files.add(entry);
+            }
+        }
+    }
+
+    private void collect(@Nonnull File directory,
+                         @Nonnull Map<File, List<ListedFile>> entriesOfDirectories,
+                         @Nonnull List<File> files) {
+        for (ListedFile entry : entriesOfDirectories.get(directory)) {
+            if (entry.isDirectory()) {
+                collect(entry, entriesOfDirectories, files);
+            } else {
+                files.add(entry);
+            }
+        }
+    }
+
+    @Nonnull
+    private List<ListedFile> list(@Nonnull File directory) {
+        String[] names = directory.list();
+        if (names == null) {
+            logger.debug("Failed to list the contents of [{}]; skipping it.", directory);
+            return Collections.emptyList();
+        }
+        FileFilter fileFilter = this.repository.getFileFilter();
+        List<ListedFile> entries = newArrayListWithCapacity(names.length);
+        for (String name : names) {
+            ListedFile entry = new ListedFile(directory, name);
+            if (fileFilter.accept(entry)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private void submitListingOf(@Nonnull final File directory,
+                                 @Nonnull CompletionService<DirectoryListing> completionService) {
+        completionService.submit(new Callable<DirectoryListing>() {
+            @Override
+            public DirectoryListing call() {
+                return new DirectoryListing(directory, list(directory));
+            }
+        });
+    }
+
+    @Nonnull
+    private DirectoryListing takeNextFrom(@Nonnull CompletionService<DirectoryListing> completionService) {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while listing the files of " + this.repository + "!", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Failed to list the files of " + this.repository + "!", cause);
+        }
+    }
+
+    /**
+     * A <code>File</code> found while listing a directory; it checks upon the first request if it is a directory
+     * itself and remembers the result. Thus, entries rejected by a filter not asking for it are never checked.
+     */
+    private static class ListedFile extends File {
+
+        private static final long serialVersionUID = 1L;
+        private Boolean directory;
+
+        public ListedFile(@Nonnull File parent, @Nonnull String child) {
+            super(parent, child);
+        }
+
+        @Override
+        public boolean isDirectory() {
+            if (this.directory == null) {
+                this.directory = super.isDirectory();
+            }
+            return this.directory;
+        }
+
+    }
+
+    private static class DirectoryListing {
+
+        @Nonnull
+        private final File directory;
+        @Nonnull
+        private final List<ListedFile> entries;
+
+        public DirectoryListing(@Nonnull File directory, @Nonnull List<ListedFile> entries) {
+            this.directory = directory;
+            this.entries = entries;
+        }
+
+    }
+
+}
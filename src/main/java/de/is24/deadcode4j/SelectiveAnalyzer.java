@@ -0,0 +1,23 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A <code>SelectiveAnalyzer</code> is an {@link Analyzer} declaring which files it is interested in: the
+ * {@link DeadCodeFinder} only passes those files to {@link #doAnalysis(AnalysisContext, java.io.File)} whose name ends
+ * with one of the {@link #getFileNameSuffixes() declared suffixes}.
+ *
+ * @since 2.2.0
+ */
+public interface SelectiveAnalyzer extends Analyzer {
+
+    /**
+     * Returns the suffixes of the names of the files to analyze, e.g. <tt>.class</tt> or <tt>web.xml</tt>.<br/>
+     * Note that the suffixes are matched against a file's name, not its path.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    Iterable<String> getFileNameSuffixes();
+
+}
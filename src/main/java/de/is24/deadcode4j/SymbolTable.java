@@ -0,0 +1,106 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * Interns names by assigning them consecutive <code>int</code> ids, starting with <code>0</code>.
+ * The lookup uses open addressing on a primitive array, thus avoiding the overhead of boxed map entries.
+ *
+ * @since 2.2.0
+ */
+final class SymbolTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    @Nonnull
+    private String[] names;
+    @Nonnull
+    private int[] slots; // id + 1 of the name hashed to the slot; 0 marks an empty slot
+    private int size;
+
+    public SymbolTable() {
+        this.names = new String[INITIAL_CAPACITY];
+        this.slots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    private SymbolTable(@Nonnull SymbolTable original) {
+        this.names = Arrays.copyOf(original.names, Math.max(original.size, INITIAL_CAPACITY));
+        this.slots = original.slots.clone();
+        this.size = original.size;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the id of the given name, assigning a new one if the name is unknown.
+     */
+    public int intern(@Nonnull String name) {
+        int slot = findSlot(name);
+        int entry = this.slots[slot];
+        if (entry != 0) {
+            return entry - 1;
+        }
+        int id = this.size++;
+        if (id == this.names.length) {
+            this.names = Arrays.copyOf(this.names, id * 2);
+        }
+        this.names[id] = name;
+        this.slots[slot] = id + 1;
+        if (this.size * 2 > this.slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the given name or <code>-1</code> if the name is unknown.
+     */
+    public int getId(@Nonnull String name) {
+        return this.slots[findSlot(name)] - 1;
+    }
+
+    @Nonnull
+    public String getName(int id) {
+        return this.names[id];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns an independent copy of this table.
+     */
+    @Nonnull
+    public SymbolTable copy() {
+        return new SymbolTable(this);
+    }
+
+    private int findSlot(@Nonnull String name) {
+        int mask = this.slots.length - 1;
+        int slot = spread(name.hashCode()) & mask;
+        for (int entry = this.slots[slot]; entry != 0; entry = this.slots[slot]) {
+            if (this.names[entry - 1].equals(name)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        this.slots = new int[this.slots.length * 2];
+        int mask = this.slots.length - 1;
+        for (int id = 0; id < this.size; id++) {
+            int slot = spread(this.names[id].hashCode()) & mask;
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = id + 1;
+        }
+    }
+
+}
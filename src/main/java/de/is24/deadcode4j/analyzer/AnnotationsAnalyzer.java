@@ -1,14 +1,14 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.analyzer.classfile.ClassInfo;
 import de.is24.deadcode4j.analyzer.javassist.ClassPathFilter;
+import de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor;
 import de.is24.guava.NonNullFunction;
-import javassist.ClassPool;
 import javassist.CtClass;
 import javassist.bytecode.annotation.Annotation;
 
 import javax.annotation.Nonnull;
-import java.lang.annotation.Inherited;
 import java.util.List;
 import java.util.Set;
 
@@ -40,19 +40,15 @@ public abstract class AnnotationsAnalyzer extends ByteCodeAnalyzer {
         @Override
         public List<String> apply(@Nonnull AnalysisContext analysisContext) {
             List<String> inheritedAnnotations = newArrayList();
-            ClassPool classPool = classPoolAccessorFor(analysisContext).getClassPool();
+            ClassPoolAccessor classPoolAccessor = classPoolAccessorFor(analysisContext);
             for (String annotation : getAnnotationsFoundInClassPath(analysisContext)) {
-                CtClass annotationClazz = classPool.getOrNull(annotation);
-                if (annotationClazz == null) {
+                ClassInfo annotationClass = classPoolAccessor.getClassInfo(annotation);
+                if (annotationClass == null) {
                     logger.debug("Annotation [{}] cannot be found on the class path; skipping detection", annotation);
                     continue;
                 }
-                try {
-                    if (annotationClazz.getAnnotation(Inherited.class) != null) {
-                        inheritedAnnotations.add(annotation);
-                    }
-                } catch (ClassNotFoundException e) {
-                    logger.debug("@Inherited is not available; this is quite disturbing.");
+                if (annotationClass.isMarkedAsInherited()) {
+                    inheritedAnnotations.add(annotation);
                 }
             }
             logger.debug("Found those inheritable annotations: {}", inheritedAnnotations);
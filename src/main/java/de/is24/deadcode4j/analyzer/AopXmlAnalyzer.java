@@ -1,5 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.CacheableAnalyzer;
+
 /**
  * Analyzes aop.xml files: lists the aspects being referenced.<br/>
  * This should work for both <a href="http://eclipse.org/aspectj/">AspectJ</a> and
@@ -7,7 +9,7 @@ package de.is24.deadcode4j.analyzer;
  *
  * @since 1.5
  */
-public final class AopXmlAnalyzer extends SimpleXmlAnalyzer {
+public final class AopXmlAnalyzer extends SimpleXmlAnalyzer implements CacheableAnalyzer {
 
     public AopXmlAnalyzer() {
         super("_AOP-XML_", "aop.xml", null);
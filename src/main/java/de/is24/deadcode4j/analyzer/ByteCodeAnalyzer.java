@@ -1,30 +1,28 @@
 package de.is24.deadcode4j.analyzer;
 
-import com.google.common.base.Optional;
-import com.google.common.cache.LoadingCache;
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.FileContextAnalyzer;
+import de.is24.deadcode4j.SelectiveAnalyzer;
 import de.is24.guava.NonNullFunction;
-import de.is24.guava.SequentialLoadingCache;
 import javassist.CtClass;
 import javassist.CtField;
 import javassist.CtMethod;
 import javassist.bytecode.AnnotationsAttribute;
 import javassist.bytecode.AttributeInfo;
 import javassist.bytecode.annotation.Annotation;
-import org.apache.commons.io.IOUtils;
 
 import javax.annotation.Nonnull;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.annotation.ElementType;
 import java.util.Collections;
 import java.util.List;
 
-import static com.google.common.base.Optional.of;
 import static com.google.common.collect.Lists.newArrayList;
 import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
-import static de.is24.guava.NonNullFunctions.toFunction;
+import static de.is24.deadcode4j.FileContext.fileContextFor;
 import static java.lang.annotation.ElementType.FIELD;
 import static java.lang.annotation.ElementType.METHOD;
 import static java.util.Arrays.asList;
@@ -35,28 +33,25 @@ import static java.util.Arrays.asList;
  * @see de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor
  * @since 1.3
  */
-public abstract class ByteCodeAnalyzer extends AnalyzerAdapter {
+public abstract class ByteCodeAnalyzer extends AnalyzerAdapter implements FileContextAnalyzer, SelectiveAnalyzer {
 
-    private static final NonNullFunction<AnalysisContext, LoadingCache<File, Optional<CtClass>>> SUPPLIER =
-            new NonNullFunction<AnalysisContext, LoadingCache<File, Optional<CtClass>>>() {
+    private static final NonNullFunction<AnalysisContext, NonNullFunction<FileContext, AnalyzedClass>> SUPPLIER =
+            new NonNullFunction<AnalysisContext, NonNullFunction<FileContext, AnalyzedClass>>() {
                 @Nonnull
                 @Override
-                public LoadingCache<File, Optional<CtClass>> apply(@Nonnull final AnalysisContext analysisContext) {
-                    return SequentialLoadingCache.createSingleValueCache(toFunction(new NonNullFunction<File, Optional<CtClass>>() {
+                public NonNullFunction<FileContext, AnalyzedClass> apply(@Nonnull final AnalysisContext analysisContext) {
+                    return new NonNullFunction<FileContext, AnalyzedClass>() {
                         @Nonnull
                         @Override
-                        public Optional<CtClass> apply(@Nonnull File file) {
-                            FileInputStream in = null;
+                        public AnalyzedClass apply(@Nonnull FileContext fileContext) {
                             try {
-                                in = new FileInputStream(file);
-                                return of(classPoolAccessorFor(analysisContext).getClassPool().makeClass(in));
+                                return new AnalyzedClass(classPoolAccessorFor(analysisContext).getClassPool()
+                                        .makeClass(fileContext.openStream()));
                             } catch (IOException e) {
-                                throw new RuntimeException("Could not load class from [" + file + "]!", e);
-                            } finally {
-                                IOUtils.closeQuietly(in);
+                                throw new RuntimeException("Could not load class from [" + fileContext.getFile() + "]!", e);
                             }
                         }
-                    }));
+                    };
                 }
             };
 
@@ -98,14 +93,25 @@ public abstract class ByteCodeAnalyzer extends AnalyzerAdapter {
         return annotations;
     }
 
-    private static LoadingCache<File, Optional<CtClass>> getClassLoader(AnalysisContext analysisContext) {
+    private static NonNullFunction<FileContext, AnalyzedClass> getClassLoader(AnalysisContext analysisContext) {
         return analysisContext.getOrCreateCacheEntry(ByteCodeAnalyzer.class, SUPPLIER);
     }
 
+    @Nonnull
+    @Override
+    public Iterable<String> getFileNameSuffixes() {
+        return Collections.singleton(".class");
+    }
+
     @Override
     public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
-        if (file.getName().endsWith(".class")) {
-            CtClass ctClass = getClassLoader(analysisContext).getUnchecked(file).get();
+        doAnalysis(analysisContext, fileContextFor(analysisContext, file));
+    }
+
+    @Override
+    public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        if (fileContext.getFile().getName().endsWith(".class")) {
+            CtClass ctClass = fileContext.getOrCreateArtifact(ByteCodeAnalyzer.class, getClassLoader(analysisContext)).clazz;
             logger.debug("Analyzing class [{}]...", ctClass.getName());
             analyzeClass(analysisContext, ctClass);
         }
@@ -119,4 +125,24 @@ public abstract class ByteCodeAnalyzer extends AnalyzerAdapter {
      */
     protected abstract void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz);
 
+    /**
+     * Wraps the <code>CtClass</code> shared by all byte code analyzers looking at a file; the class is detached from
+     * its pool when the {@link FileContext#release() file context is released}, as it was loaded from the file rather
+     * than from the class path.
+     */
+    private static final class AnalyzedClass implements Closeable {
+        @Nonnull
+        private final CtClass clazz;
+
+        private AnalyzedClass(@Nonnull CtClass clazz) {
+            this.clazz = clazz;
+        }
+
+        @Override
+        public void close() {
+            this.clazz.detach();
+        }
+
+    }
+
 }
@@ -1,6 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.CacheableAnalyzer;
 import javassist.CtClass;
 
 import javax.annotation.Nonnull;
@@ -11,7 +12,7 @@ import java.util.Collection;
  *
  * @since 1.0.0
  */
-public class ClassDependencyAnalyzer extends ByteCodeAnalyzer {
+public class ClassDependencyAnalyzer extends ByteCodeAnalyzer implements CacheableAnalyzer {
 
     @Override
     protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
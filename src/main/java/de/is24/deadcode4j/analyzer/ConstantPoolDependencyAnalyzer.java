@@ -0,0 +1,73 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.CacheableAnalyzer;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.FileContextAnalyzer;
+import de.is24.deadcode4j.SelectiveAnalyzer;
+import de.is24.deadcode4j.analyzer.classfile.ConstantPoolScanner;
+import de.is24.guava.NonNullFunction;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import static de.is24.deadcode4j.FileContext.fileContextFor;
+
+/**
+ * Analyzes class files: lists the classes a class is depending on.<br/>
+ * In contrast to the {@link ClassDependencyAnalyzer}, the class file is not loaded with Javassist; instead, its
+ * constant pool, descriptors and annotations are read by a {@link ConstantPoolScanner}. The reported dependencies are
+ * the same.
+ *
+ * @since 2.2.0
+ */
+public class ConstantPoolDependencyAnalyzer extends AnalyzerAdapter
+        implements FileContextAnalyzer, SelectiveAnalyzer, CacheableAnalyzer {
+
+    private static final NonNullFunction<FileContext, ConstantPoolScanner> SCANNER =
+            new NonNullFunction<FileContext, ConstantPoolScanner>() {
+                @Nonnull
+                @Override
+                public ConstantPoolScanner apply(@Nonnull FileContext fileContext) {
+                    try {
+                        return ConstantPoolScanner.scan(ByteBuffer.wrap(fileContext.getContent()));
+                    } catch (IllegalArgumentException e) {
+                        throw new RuntimeException("Could not scan class file [" + fileContext.getFile() + "]!", e);
+                    }
+                }
+            };
+
+    /**
+     * Returns the <code>ConstantPoolScanner</code> of the given class file; it is shared by all analyzers looking at
+     * the file.
+     */
+    @Nonnull
+    static ConstantPoolScanner getConstantPoolScanner(@Nonnull FileContext fileContext) {
+        return fileContext.getOrCreateArtifact(ConstantPoolScanner.class, SCANNER);
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<String> getFileNameSuffixes() {
+        return Collections.singleton(".class");
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        doAnalysis(analysisContext, fileContextFor(analysisContext, file));
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        if (fileContext.getFile().getName().endsWith(".class")) {
+            ConstantPoolScanner classFile = getConstantPoolScanner(fileContext);
+            String className = classFile.getClassName();
+            logger.debug("Analyzing class [{}]...", className);
+            analysisContext.addAnalyzedClass(className);
+            analysisContext.addDependencies(className, classFile.getReferencedClasses());
+        }
+    }
+
+}
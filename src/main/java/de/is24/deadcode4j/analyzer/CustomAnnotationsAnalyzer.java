@@ -7,7 +7,7 @@ import de.is24.deadcode4j.AnalyzedCode;
 import javax.annotation.Nonnull;
 import java.util.Set;
 
-import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 
 /**
  * Analyzes class files: marks a class as being in use if it is annotated with one of the specified annotations.
@@ -27,7 +27,7 @@ public final class CustomAnnotationsAnalyzer extends AnnotationsAnalyzer {
      */
     public CustomAnnotationsAnalyzer(@Nonnull Iterable<String> customAnnotations) {
         super("_custom-annotations_", customAnnotations);
-        annotationsNotFoundInClassPath = newHashSet(customAnnotations);
+        annotationsNotFoundInClassPath = newConcurrentHashSet(customAnnotations);
     }
 
     @Override
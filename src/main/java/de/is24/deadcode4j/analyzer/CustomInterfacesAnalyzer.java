@@ -7,7 +7,7 @@ import de.is24.deadcode4j.AnalyzedCode;
 import javax.annotation.Nonnull;
 import java.util.Set;
 
-import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 
 /**
  * Analyzes class files: marks a class as being in use if it explicitly implements one of the specified interfaces.
@@ -27,7 +27,7 @@ public final class CustomInterfacesAnalyzer extends InterfacesAnalyzer {
      */
     public CustomInterfacesAnalyzer(@Nonnull Iterable<String> customInterfaces) {
         super("_custom-interfaces_", customInterfaces);
-        interfacesNotFoundInClassPath = newHashSet(customInterfaces);
+        interfacesNotFoundInClassPath = newConcurrentHashSet(customInterfaces);
     }
 
     @Override
@@ -23,7 +23,7 @@ public final class CustomXmlAnalyzer extends SimpleXmlAnalyzer {
     //                                                              element       [@attribute='value']    /   @attribute|text()
     private static final Pattern XPATH_PATTERN = Pattern.compile("^([^/\\[]+)(?:\\[@([^=]+)='([^']+)'\\])?/(?:@(.*)|text\\(\\))$");
     private static volatile int instanceNumber = 0; // we assign this to make sure the self check works
-    private boolean dependencyWasFound = false;
+    private volatile boolean dependencyWasFound = false;
 
     /**
      * Creates a new <code>CustomXmlAnalyzer</code>.
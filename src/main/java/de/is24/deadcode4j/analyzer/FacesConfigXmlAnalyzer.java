@@ -1,11 +1,13 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.CacheableAnalyzer;
+
 /**
  * Analyzes <code>faces-config.xml</code> files: lists an incredible bunch of classes being referenced.
  *
  * @since 1.5
  */
-public final class FacesConfigXmlAnalyzer extends SimpleXmlAnalyzer {
+public final class FacesConfigXmlAnalyzer extends SimpleXmlAnalyzer implements CacheableAnalyzer {
 
     public FacesConfigXmlAnalyzer() {
         super("_faces-config.xml_", "faces-config.xml", "faces-config");
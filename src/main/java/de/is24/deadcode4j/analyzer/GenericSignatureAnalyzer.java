@@ -0,0 +1,77 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.CacheableAnalyzer;
+import javassist.CtClass;
+import javassist.bytecode.AttributeInfo;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.LocalVariableAttribute;
+import javassist.bytecode.LocalVariableTypeAttribute;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.SignatureAttribute;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Set;
+
+import static com.google.common.collect.Iterables.filter;
+import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.deadcode4j.analyzer.classfile.GenericSignatures.getTypeArguments;
+
+/**
+ * Analyzes class files: reports dependencies to classes that are used as type arguments and thus are erased from the
+ * descriptors. The generic signatures of the class, its fields and methods as well as the
+ * <code>LocalVariableTypeTable</code> (which is present if the class was compiled with debug information, as is the
+ * default for Maven) are examined.<br/>
+ * Type arguments of expressions - like <code>new ArrayList&lt;Foo&gt;()</code> or casts - are not part of the class
+ * file; the {@link TypeErasureAnalyzer#TypeErasureAnalyzer(boolean) TypeErasureAnalyzer} complements this analyzer
+ * by parsing only those Java files containing such expressions.
+ *
+ * @since 2.2.0
+ */
+public class GenericSignatureAnalyzer extends ByteCodeAnalyzer implements CacheableAnalyzer {
+
+    private static void addTypeArguments(@Nullable AttributeInfo signatureAttribute, @Nonnull Set<String> typeArguments) {
+        if (SignatureAttribute.class.isInstance(signatureAttribute)) {
+            typeArguments.addAll(getTypeArguments(SignatureAttribute.class.cast(signatureAttribute).getSignature()));
+        }
+    }
+
+    private static void addTypeArgumentsOfLocalVariables(@Nullable CodeAttribute code,
+                                                         @Nonnull Set<String> typeArguments) {
+        if (code == null) {
+            return;
+        }
+        AttributeInfo localVariableTypes = code.getAttribute(LocalVariableTypeAttribute.tag);
+        if (!LocalVariableAttribute.class.isInstance(localVariableTypes)) {
+            return;
+        }
+        LocalVariableAttribute localVariableTable = LocalVariableAttribute.class.cast(localVariableTypes);
+        for (int i = 0; i < localVariableTable.tableLength(); i++) {
+            // for the LocalVariableTypeTable, the "descriptor" is the signature
+            typeArguments.addAll(getTypeArguments(localVariableTable.descriptor(i)));
+        }
+    }
+
+    @Override
+    protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+        ClassFile classFile = clazz.getClassFile2();
+        Set<String> typeArguments = newHashSet();
+        try {
+            addTypeArguments(classFile.getAttribute(SignatureAttribute.tag), typeArguments);
+            for (FieldInfo field : filter(classFile.getFields(), FieldInfo.class)) {
+                addTypeArguments(field.getAttribute(SignatureAttribute.tag), typeArguments);
+            }
+            for (MethodInfo method : filter(classFile.getMethods(), MethodInfo.class)) {
+                addTypeArguments(method.getAttribute(SignatureAttribute.tag), typeArguments);
+                addTypeArgumentsOfLocalVariables(method.getCodeAttribute(), typeArguments);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Could not read generic signatures of [" + clazz.getName() + "]!", e);
+        }
+        analysisContext.addDependencies(clazz.getName(), typeArguments);
+    }
+
+}
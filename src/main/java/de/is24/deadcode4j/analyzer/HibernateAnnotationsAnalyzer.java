@@ -4,6 +4,8 @@ import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.PartialResult;
+import de.is24.guava.NonNullFunction;
 import javassist.CtClass;
 import javassist.bytecode.annotation.*;
 
@@ -57,10 +59,14 @@ import static java.util.Collections.emptyList;
  */
 public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
 
-    private final Map<String, String> typeDefinitions = newHashMap();
-    private final Map<String, Set<String>> typeUsages = newHashMap();
-    private final Map<String, String> generatorDefinitions = newHashMap();
-    private final Map<String, Set<String>> generatorUsages = newHashMap();
+    private final String findingsKey = getClass().getName() + "|findings";
+    private final NonNullFunction<AnalysisContext, Findings> supplyFindings = new NonNullFunction<AnalysisContext, Findings>() {
+        @Nonnull
+        @Override
+        public Findings apply(@Nonnull AnalysisContext input) {
+            return new Findings();
+        }
+    };
 
     @Nonnull
     private static Iterable<Annotation> getAnnotations(@Nonnull CtClass clazz, @Nonnull final String typeName, ElementType... elementTypes) {
@@ -114,60 +120,62 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
     @Override
     protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
         analysisContext.addAnalyzedClass(clazz.getName());
-        processTypeDefAnnotation(clazz);
-        processTypeDefsAnnotation(clazz);
-        processTypeAnnotations(clazz);
-        processGenericGenerator(analysisContext, clazz);
-        processGenericGenerators(analysisContext, clazz);
-        processGeneratedValueAnnotations(clazz);
+        Findings findings = analysisContext.getOrCreateCacheEntry(this.findingsKey, this.supplyFindings);
+        processTypeDefAnnotation(findings, clazz);
+        processTypeDefsAnnotation(findings, clazz);
+        processTypeAnnotations(findings, clazz);
+        processGenericGenerator(analysisContext, findings, clazz);
+        processGenericGenerators(analysisContext, findings, clazz);
+        processGeneratedValueAnnotations(findings, clazz);
     }
 
     @Override
     public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
-        reportDependencies(analysisContext);
-        storeIntermediateResults(analysisContext);
+        Object findings = analysisContext.getCache().remove(this.findingsKey);
+        if (findings == null) {
+            return;
+        }
+        reportDependencies(analysisContext, Findings.class.cast(findings));
+        storeIntermediateResults(analysisContext, Findings.class.cast(findings));
     }
 
-    private void processTypeDefAnnotation(@Nonnull CtClass clazz) {
+    private void processTypeDefAnnotation(@Nonnull Findings findings, @Nonnull CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.TypeDef", PACKAGE, TYPE)) {
-            processTypeDefinition(clazz, annotation);
+            processTypeDefinition(findings, clazz, annotation);
         }
     }
 
-    private void processTypeDefinition(@Nonnull CtClass clazz, @Nonnull Annotation annotation) {
+    private void processTypeDefinition(@Nonnull Findings findings, @Nonnull CtClass clazz, @Nonnull Annotation annotation) {
         String typeName = getStringFrom(annotation, "name");
         if (typeName == null) {
             return;
         }
         String className = clazz.getName();
-        String previousEntry = this.typeDefinitions.put(typeName, className);
-        if (previousEntry != null) {
-            logger.warn("The @TypeDef named [{}] is defined both by {} and {}.", typeName, previousEntry, className);
-        }
+        findings.addTypeDefinition(typeName, className);
     }
 
-    private void processTypeDefsAnnotation(@Nonnull CtClass clazz) {
+    private void processTypeDefsAnnotation(@Nonnull Findings findings, @Nonnull CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.TypeDefs", PACKAGE, TYPE)) {
             for (Annotation childAnnotation : getAnnotationsFrom(annotation, "value")) {
-                processTypeDefinition(clazz, childAnnotation);
+                processTypeDefinition(findings, clazz, childAnnotation);
             }
         }
     }
 
-    private void processTypeAnnotations(@Nonnull CtClass clazz) {
+    private void processTypeAnnotations(@Nonnull Findings findings, @Nonnull CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.Type", METHOD, FIELD)) {
             String typeName = getMandatoryStringFrom(annotation, "type");
-            getOrAddMappedSet(this.typeUsages, typeName).add(clazz.getName());
+            getOrAddMappedSet(findings.typeUsages, typeName).add(clazz.getName());
         }
     }
 
-    private void processGenericGenerator(AnalysisContext analysisContext, CtClass clazz) {
+    private void processGenericGenerator(AnalysisContext analysisContext, Findings findings, CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.GenericGenerator", PACKAGE, TYPE, METHOD, FIELD)) {
-            processGenericGenerator(analysisContext, clazz, annotation);
+            processGenericGenerator(analysisContext, findings, clazz, annotation);
         }
     }
 
-    private void processGenericGenerator(AnalysisContext analysisContext, CtClass clazz, Annotation annotation) {
+    private void processGenericGenerator(AnalysisContext analysisContext, Findings findings, CtClass clazz, Annotation annotation) {
         String className = clazz.getName();
         Optional<String> resolvedStrategyClass = classPoolAccessorFor(analysisContext).resolveClass(
                 getMandatoryStringFrom(annotation, "strategy"));
@@ -175,43 +183,39 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
             analysisContext.addDependencies(className, resolvedStrategyClass.get());
         }
         String generatorName = getMandatoryStringFrom(annotation, "name");
-        String previousEntry = this.generatorDefinitions.put(generatorName, className);
-        if (previousEntry != null) {
-            logger.warn("The @GenericGenerator named [{}] is defined both by {} and {}.",
-                    generatorName, previousEntry, className);
-        }
+        findings.addGeneratorDefinition(generatorName, className);
     }
 
-    private void processGenericGenerators(AnalysisContext analysisContext, CtClass clazz) {
+    private void processGenericGenerators(AnalysisContext analysisContext, Findings findings, CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.GenericGenerators", PACKAGE, TYPE)) {
             for (Annotation childAnnotation : getAnnotationsFrom(annotation, "value")) {
-                processGenericGenerator(analysisContext, clazz, childAnnotation);
+                processGenericGenerator(analysisContext, findings, clazz, childAnnotation);
             }
         }
     }
 
-    private void processGeneratedValueAnnotations(CtClass clazz) {
+    private void processGeneratedValueAnnotations(Findings findings, CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "javax.persistence.GeneratedValue", METHOD, FIELD)) {
             String generatorName = getStringFrom(annotation, "generator");
             if (generatorName != null) {
-                getOrAddMappedSet(this.generatorUsages, generatorName).add(clazz.getName());
+                getOrAddMappedSet(findings.generatorUsages, generatorName).add(clazz.getName());
             }
         }
     }
 
-    private void reportDependencies(@Nonnull AnalysisContext analysisContext) {
-        reportNewGeneratorUsages(analysisContext);
-        reportExistingGeneratorUsagesForNewDefinitions(analysisContext);
-        reportNewTypeUsages(analysisContext);
-        reportExistingTypeUsagesForNewDefinitions(analysisContext);
+    private void reportDependencies(@Nonnull AnalysisContext analysisContext, @Nonnull Findings findings) {
+        reportNewGeneratorUsages(analysisContext, findings);
+        reportExistingGeneratorUsagesForNewDefinitions(analysisContext, findings);
+        reportNewTypeUsages(analysisContext, findings);
+        reportExistingTypeUsagesForNewDefinitions(analysisContext, findings);
     }
 
-    private void reportNewGeneratorUsages(AnalysisContext analysisContext) {
-        if (this.generatorUsages.isEmpty()) {
+    private void reportNewGeneratorUsages(AnalysisContext analysisContext, Findings findings) {
+        if (findings.generatorUsages.isEmpty()) {
             return;
         }
-        Map<String, String> allGeneratorDefinitions = getAllGeneratorDefinitions(analysisContext);
-        for (Map.Entry<String, Set<String>> generatorUsage : this.generatorUsages.entrySet()) {
+        Map<String, String> allGeneratorDefinitions = getAllGeneratorDefinitions(analysisContext, findings);
+        for (Map.Entry<String, Set<String>> generatorUsage : findings.generatorUsages.entrySet()) {
             String generatorName = generatorUsage.getKey();
             String classDefiningGenerator = allGeneratorDefinitions.get(generatorName);
             if (classDefiningGenerator != null) {
@@ -222,13 +226,13 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         }
     }
 
-    private void reportExistingGeneratorUsagesForNewDefinitions(AnalysisContext analysisContext) {
-        if (this.generatorDefinitions.isEmpty()) {
+    private void reportExistingGeneratorUsagesForNewDefinitions(AnalysisContext analysisContext, Findings findings) {
+        if (findings.generatorDefinitions.isEmpty()) {
             return;
         }
         for (Map.Entry<String, Set<String>> usage : getExistingGeneratorUsages(analysisContext).entrySet()) {
             String usageName = usage.getKey();
-            String classDefiningType = this.generatorDefinitions.get(usageName);
+            String classDefiningType = findings.generatorDefinitions.get(usageName);
             if (classDefiningType == null) {
                 continue;
             }
@@ -239,12 +243,12 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         }
     }
 
-    private void reportNewTypeUsages(AnalysisContext analysisContext) {
-        if (this.typeUsages.isEmpty()) {
+    private void reportNewTypeUsages(AnalysisContext analysisContext, Findings findings) {
+        if (findings.typeUsages.isEmpty()) {
             return;
         }
-        Map<String, String> allTypeDefinitions = getAllTypeDefinitions(analysisContext);
-        for (Map.Entry<String, Set<String>> typeUsage : this.typeUsages.entrySet()) {
+        Map<String, String> allTypeDefinitions = getAllTypeDefinitions(analysisContext, findings);
+        for (Map.Entry<String, Set<String>> typeUsage : findings.typeUsages.entrySet()) {
             String typeName = typeUsage.getKey();
             String classDefiningType = allTypeDefinitions.get(typeName);
 
@@ -266,13 +270,13 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         }
     }
 
-    private void reportExistingTypeUsagesForNewDefinitions(AnalysisContext analysisContext) {
-        if (this.typeDefinitions.isEmpty()) {
+    private void reportExistingTypeUsagesForNewDefinitions(AnalysisContext analysisContext, Findings findings) {
+        if (findings.typeDefinitions.isEmpty()) {
             return;
         }
         for (Map.Entry<String, Set<String>> typeUsage : getExistingTypeUsages(analysisContext).entrySet()) {
             String typeName = typeUsage.getKey();
-            String classDefiningType = this.typeDefinitions.get(typeName);
+            String classDefiningType = findings.typeDefinitions.get(typeName);
             if (classDefiningType == null) {
                 continue;
             }
@@ -284,15 +288,15 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
     }
 
     @Nonnull
-    private Map<String, String> getAllGeneratorDefinitions(@Nonnull AnalysisContext analysisContext) {
+    private Map<String, String> getAllGeneratorDefinitions(@Nonnull AnalysisContext analysisContext, @Nonnull Findings findings) {
         IntermediateResultMap<String, String> resultMap =
                 resultMapFrom(analysisContext, getClass().getName() + "|generatorDefinitions");
         if (resultMap == null) {
-            return this.generatorDefinitions;
+            return findings.generatorDefinitions;
         }
         Map<String, String> inheritedDefinitions = resultMap.getResults();
 
-        Map<String, String> allDefinitions = newHashMap(this.generatorDefinitions);
+        Map<String, String> allDefinitions = newHashMap(findings.generatorDefinitions);
         for (Map.Entry<String, String> inheritedDefinition : inheritedDefinitions.entrySet()) {
             String definitionName = inheritedDefinition.getKey();
             if (allDefinitions.containsKey(definitionName)) {
@@ -306,15 +310,15 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
     }
 
     @Nonnull
-    private Map<String, String> getAllTypeDefinitions(@Nonnull AnalysisContext analysisContext) {
+    private Map<String, String> getAllTypeDefinitions(@Nonnull AnalysisContext analysisContext, @Nonnull Findings findings) {
         IntermediateResultMap<String, String> resultMap =
                 resultMapFrom(analysisContext, getClass().getName() + "|typeDefinitions");
         if (resultMap == null) {
-            return this.typeDefinitions;
+            return findings.typeDefinitions;
         }
         Map<String, String> inheritedTypeDefinitions = resultMap.getResults();
 
-        Map<String, String> allTypeDefinitions = newHashMap(this.typeDefinitions);
+        Map<String, String> allTypeDefinitions = newHashMap(findings.typeDefinitions);
         for (Map.Entry<String, String> inheritedDefinition : inheritedTypeDefinitions.entrySet()) {
             String typeName = inheritedDefinition.getKey();
             if (allTypeDefinitions.containsKey(typeName)) {
@@ -341,23 +345,63 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         return resultMap != null ? resultMap.getResults() : Collections.<String, Set<String>>emptyMap();
     }
 
-    private void storeIntermediateResults(@Nonnull AnalysisContext analysisContext) {
-        if (!this.generatorDefinitions.isEmpty()) {
-            analysisContext.getCache().put(getClass().getName() + "|generatorDefinitions", resultMapFor(this.generatorDefinitions));
-            this.generatorDefinitions.clear();
+    private void storeIntermediateResults(@Nonnull AnalysisContext analysisContext, @Nonnull Findings findings) {
+        if (!findings.generatorDefinitions.isEmpty()) {
+            analysisContext.getCache().put(getClass().getName() + "|generatorDefinitions", resultMapFor(findings.generatorDefinitions));
+        }
+        if (!findings.generatorUsages.isEmpty()) {
+            analysisContext.getCache().put(getClass().getName() + "|generatorUsages", resultMapFor(findings.generatorUsages));
         }
-        if (!this.generatorUsages.isEmpty()) {
-            analysisContext.getCache().put(getClass().getName() + "|generatorUsages", resultMapFor(this.generatorUsages));
-            this.generatorUsages.clear();
+        if (!findings.typeDefinitions.isEmpty()) {
+            analysisContext.getCache().put(getClass().getName() + "|typeDefinitions", resultMapFor(findings.typeDefinitions));
         }
-        if (!this.typeDefinitions.isEmpty()) {
-            analysisContext.getCache().put(getClass().getName() + "|typeDefinitions", resultMapFor(this.typeDefinitions));
-            this.typeDefinitions.clear();
+        if (!findings.typeUsages.isEmpty()) {
+            analysisContext.getCache().put(getClass().getName() + "|typeUsages", resultMapFor(findings.typeUsages));
         }
-        if (!this.typeUsages.isEmpty()) {
-            analysisContext.getCache().put(getClass().getName() + "|typeUsages", resultMapFor(this.typeUsages));
-            this.typeUsages.clear();
+    }
+
+    /**
+     * Collects the definitions &amp; usages found while analyzing the files of a module.
+     */
+    private class Findings implements PartialResult {
+
+        private final Map<String, String> typeDefinitions = newHashMap();
+        private final Map<String, Set<String>> typeUsages = newHashMap();
+        private final Map<String, String> generatorDefinitions = newHashMap();
+        private final Map<String, Set<String>> generatorUsages = newHashMap();
+
+        public void addTypeDefinition(@Nonnull String typeName, @Nonnull String className) {
+            String previousEntry = this.typeDefinitions.put(typeName, className);
+            if (previousEntry != null) {
+                logger.warn("The @TypeDef named [{}] is defined both by {} and {}.", typeName, previousEntry, className);
+            }
         }
+
+        public void addGeneratorDefinition(@Nonnull String generatorName, @Nonnull String className) {
+            String previousEntry = this.generatorDefinitions.put(generatorName, className);
+            if (previousEntry != null) {
+                logger.warn("The @GenericGenerator named [{}] is defined both by {} and {}.",
+                        generatorName, previousEntry, className);
+            }
+        }
+
+        @Override
+        public void mergeSubsequent(@Nonnull PartialResult subsequentResult) {
+            Findings subsequentFindings = Findings.class.cast(subsequentResult);
+            for (Map.Entry<String, String> typeDefinition : subsequentFindings.typeDefinitions.entrySet()) {
+                addTypeDefinition(typeDefinition.getKey(), typeDefinition.getValue());
+            }
+            for (Map.Entry<String, String> generatorDefinition : subsequentFindings.generatorDefinitions.entrySet()) {
+                addGeneratorDefinition(generatorDefinition.getKey(), generatorDefinition.getValue());
+            }
+            for (Map.Entry<String, Set<String>> typeUsage : subsequentFindings.typeUsages.entrySet()) {
+                getOrAddMappedSet(this.typeUsages, typeUsage.getKey()).addAll(typeUsage.getValue());
+            }
+            for (Map.Entry<String, Set<String>> generatorUsage : subsequentFindings.generatorUsages.entrySet()) {
+                getOrAddMappedSet(this.generatorUsages, generatorUsage.getKey()).addAll(generatorUsage.getValue());
+            }
+        }
+
     }
 
 }
@@ -11,8 +11,8 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Set;
 
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static com.google.common.collect.Sets.newHashSet;
-import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
 
 /**
  * Analyzes class files: marks a class as being in use if it should be ignored.
@@ -31,7 +31,7 @@ public class IgnoreClassesAnalyzer extends ByteCodeAnalyzer {
     public IgnoreClassesAnalyzer(@Nonnull DeadCodeComputer deadCodeComputer, @Nonnull Set<String> classesToIgnore) {
         this.deadCodeComputer = deadCodeComputer;
         this.classesToIgnore = newHashSet(classesToIgnore);
-        this.ignoredClasses = newHashSetWithExpectedSize(classesToIgnore.size());
+        this.ignoredClasses = newConcurrentHashSet();
     }
 
     @Override
@@ -0,0 +1,480 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.AnalysisStage;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.FileContextAnalyzer;
+import de.is24.deadcode4j.PartialResult;
+import de.is24.deadcode4j.SelectiveAnalyzer;
+import de.is24.deadcode4j.analyzer.classfile.ConstantPoolScanner;
+import de.is24.guava.NonNullFunction;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.deadcode4j.FileContext.fileContextFor;
+import static de.is24.deadcode4j.IntermediateResults.*;
+import static de.is24.deadcode4j.Utils.getOrAddMappedSet;
+import static de.is24.deadcode4j.analyzer.ConstantPoolDependencyAnalyzer.getConstantPoolScanner;
+import static de.is24.deadcode4j.analyzer.JavaFileAnalyzer.getSourceTokens;
+import static java.util.Arrays.asList;
+
+/**
+ * Analyzes class files: reports dependencies to classes that are not part of the byte code due to constant inlining.
+ * In contrast to the {@link ReferenceToConstantsAnalyzer}, Java files are parsed only if the byte code does not reveal
+ * which constant is used:
+ * <ul>
+ * <li>The constants declared by the classes of the module and of the modules it depends on are collected.</li>
+ * <li>Each Java file is tokenized. Each mention of a constant declared by another file must be confirmed: either it
+ * is qualified by a name that - considering the package and the imports of the file - denotes the declaring class,
+ * or it is unqualified and the constant is statically imported from the declaring class. If all mentions are
+ * confirmed and the constants' values are found in the constant pools of the classes compiled from the file, the
+ * dependencies are reported.</li>
+ * <li>Otherwise - e.g. if the value is small enough to be part of the instructions, the constant is inherited or a
+ * local variable or a field of another class is named like the constant - the file is parsed by a
+ * <code>ReferenceToConstantsAnalyzer</code>.</li>
+ * </ul>
+ * The tokens are not resolved as thoroughly as by parsing: an unqualified mention of a statically imported constant is
+ * considered to refer to the constant even if it is shadowed by a local variable or parameter of the same name.<br/>
+ * If the Java file a class was compiled from is not available, a dependency is reported for each value found in the
+ * class' constant pool that is the value of exactly one constant; values shared by several constants are ignored.
+ *
+ * @since 2.2.0
+ */
+public class InlinedConstantsAnalyzer extends AnalyzerAdapter implements FileContextAnalyzer, SelectiveAnalyzer {
+
+    private final String findingsKey = getClass().getName() + "|findings";
+    private final NonNullFunction<AnalysisContext, Findings> supplyFindings =
+            new NonNullFunction<AnalysisContext, Findings>() {
+                @Nonnull
+                @Override
+                public Findings apply(@Nonnull AnalysisContext input) {
+                    return new Findings();
+                }
+            };
+    @Nonnull
+    private final ReferenceToConstantsAnalyzer sourceAnalyzer;
+
+    public InlinedConstantsAnalyzer() {
+        this(new ReferenceToConstantsAnalyzer());
+    }
+
+    /**
+     * Creates a new <code>InlinedConstantsAnalyzer</code> using the given analyzer to parse ambiguous Java files.
+     */
+    InlinedConstantsAnalyzer(@Nonnull ReferenceToConstantsAnalyzer sourceAnalyzer) {
+        this.sourceAnalyzer = sourceAnalyzer;
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<String> getFileNameSuffixes() {
+        return asList(".class", ".java");
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        doAnalysis(analysisContext, fileContextFor(analysisContext, file));
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        String fileName = fileContext.getFile().getName();
+        if (fileName.endsWith(".class")) {
+            ConstantPoolScanner classFile = getConstantPoolScanner(fileContext);
+            logger.debug("Analyzing class [{}]...", classFile.getClassName());
+            getFindings(analysisContext).addClass(classFile);
+        } else if (fileName.endsWith(".java")) {
+            getFindings(analysisContext).addJavaFile(fileContext.getFile());
+        }
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+        Object cachedFindings = analysisContext.getCache().remove(this.findingsKey);
+        Findings findings = cachedFindings == null ? new Findings() : Findings.class.cast(cachedFindings);
+        analysisContext.getCache().put(getClass(), resultMapFor(findings.constantsByName));
+
+        Map<String, Set<Constant>> constantsByName = getConstantsOfRequiredModules(analysisContext);
+        for (Map.Entry<String, Set<Constant>> constants : findings.constantsByName.entrySet()) {
+            getOrAddMappedSet(constantsByName, constants.getKey()).addAll(constants.getValue());
+        }
+        if (constantsByName.isEmpty()) {
+            return;
+        }
+
+        Map<File, List<AnalyzedClass>> classesByJavaFile = newLinkedHashMap();
+        List<AnalyzedClass> classesWithoutJavaFile = newArrayList();
+        for (AnalyzedClass analyzedClass : findings.classes) {
+            File javaFile = findings.getJavaFile(analyzedClass);
+            if (javaFile == null) {
+                classesWithoutJavaFile.add(analyzedClass);
+            } else {
+                List<AnalyzedClass> classes = classesByJavaFile.get(javaFile);
+                if (classes == null) {
+                    classes = newArrayList();
+                    classesByJavaFile.put(javaFile, classes);
+                }
+                classes.add(analyzedClass);
+            }
+        }
+        for (Map.Entry<File, List<AnalyzedClass>> javaFile : classesByJavaFile.entrySet()) {
+            FileContext fileContext = fileContextFor(analysisContext, javaFile.getKey());
+            try {
+                analyzeJavaFile(analysisContext, fileContext, javaFile.getValue(), constantsByName);
+            } catch (RuntimeException rE) {
+                logger.warn("Analyzer [{}] failed to analyze file [{}]!", this, fileContext.getFile(), rE);
+                analysisContext.addException(AnalysisStage.FILE_ANALYSIS);
+            } finally {
+                fileContext.release();
+            }
+        }
+        if (!classesWithoutJavaFile.isEmpty()) {
+            reportConstantsFoundInConstantPools(analysisContext, classesWithoutJavaFile, constantsByName);
+        }
+    }
+
+    @Nonnull
+    private Findings getFindings(@Nonnull AnalysisContext analysisContext) {
+        return analysisContext.getOrCreateCacheEntry(this.findingsKey, this.supplyFindings);
+    }
+
+    @Nonnull
+    private Map<String, Set<Constant>> getConstantsOfRequiredModules(@Nonnull AnalysisContext analysisContext) {
+        Map<String, Set<Constant>> constantsByName = newHashMap();
+        IntermediateResultMap<String, Set<Constant>> intermediateResults = resultMapFrom(analysisContext, getClass());
+        if (intermediateResults != null) {
+            for (Map.Entry<String, Set<Constant>> constants : intermediateResults.getResults().entrySet()) {
+                constantsByName.put(constants.getKey(), newHashSet(constants.getValue()));
+            }
+        }
+        return constantsByName;
+    }
+
+    private void analyzeJavaFile(@Nonnull AnalysisContext analysisContext,
+                                 @Nonnull FileContext fileContext,
+                                 @Nonnull List<AnalyzedClass> classes,
+                                 @Nonnull Map<String, Set<Constant>> constantsByName) {
+        Set<String> classNames = newHashSet();
+        Set<String> declaredConstants = newHashSet();
+        for (AnalyzedClass analyzedClass : classes) {
+            classNames.add(analyzedClass.className);
+            declaredConstants.addAll(analyzedClass.constantNames);
+        }
+        Map<String, Set<String>> dependencies = newHashMap();
+        JavaSourceTokens tokens = getSourceTokens(analysisContext, fileContext);
+        Imports imports = new Imports(tokens);
+        for (int i = imports.end; i < tokens.size(); i++) {
+            String name = tokens.get(i);
+            Set<Constant> constants = constantsByName.get(name);
+            if (constants == null || !tokens.isWord(i)) {
+                continue;
+            }
+            Set<Constant> constantsOfOtherFiles = newHashSet();
+            for (Constant constant : constants) {
+                if (!classNames.contains(constant.className)) {
+                    constantsOfOtherFiles.add(constant);
+                }
+            }
+            if (constantsOfOtherFiles.isEmpty()) {
+                continue;
+            }
+            Constant constant = resolveConstant(tokens, i, constantsOfOtherFiles, imports, declaredConstants);
+            if (constant == null || !addDependenciesOfClassesUsing(constant, classes, dependencies)) {
+                logger.debug("Reference to constant [{}] cannot be confirmed; parsing [{}].", name, fileContext.getFile());
+                this.sourceAnalyzer.doAnalysis(analysisContext, fileContext);
+                return;
+            }
+        }
+        for (Map.Entry<String, Set<String>> dependency : dependencies.entrySet()) {
+            analysisContext.addDependencies(dependency.getKey(), dependency.getValue());
+        }
+    }
+
+    /**
+     * Returns the constant the name at the given index refers to, or <code>null</code> if the reference cannot be
+     * confirmed by examining the qualifier or the static imports.
+     */
+    @Nullable
+    private static Constant resolveConstant(@Nonnull JavaSourceTokens tokens,
+                                            int index,
+                                            @Nonnull Set<Constant> candidates,
+                                            @Nonnull Imports imports,
+                                            @Nonnull Set<String> declaredConstants) {
+        String name = tokens.get(index);
+        if (!".".equals(tokens.get(index - 1))) {
+            return declaredConstants.contains(name)
+                    ? null
+                    : findConstantDeclaredByOneOf(candidates, imports.getClassesImportingStatically(name));
+        }
+        int start = index - 2;
+        if (!tokens.isWord(start)) {
+            return null;
+        }
+        while (".".equals(tokens.get(start - 1)) && tokens.isWord(start - 2)) {
+            start -= 2;
+        }
+        return findConstantDeclaredByOneOf(candidates, imports.resolve(join(tokens, start, index - 1)));
+    }
+
+    @Nullable
+    private static Constant findConstantDeclaredByOneOf(@Nonnull Set<Constant> candidates,
+                                                        @Nonnull Set<String> classNames) {
+        Constant foundConstant = null;
+        for (Constant candidate : candidates) {
+            if (classNames.contains(candidate.className.replace('$', '.'))) {
+                if (foundConstant != null) {
+                    return null;
+                }
+                foundConstant = candidate;
+            }
+        }
+        return foundConstant;
+    }
+
+    @Nonnull
+    private static String join(@Nonnull JavaSourceTokens tokens, int start, int end) {
+        StringBuilder buffy = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            buffy.append(tokens.get(i));
+        }
+        return buffy.toString();
+    }
+
+    private boolean addDependenciesOfClassesUsing(@Nonnull Constant constant,
+                                                  @Nonnull List<AnalyzedClass> classes,
+                                                  @Nonnull Map<String, Set<String>> dependencies) {
+        boolean valueIsFound = false;
+        for (AnalyzedClass analyzedClass : classes) {
+            if (analyzedClass.literals.contains(constant.value)) {
+                getOrAddMappedSet(dependencies, analyzedClass.className).add(constant.className);
+                valueIsFound = true;
+            }
+        }
+        return valueIsFound;
+    }
+
+    private void reportConstantsFoundInConstantPools(@Nonnull AnalysisContext analysisContext,
+                                                     @Nonnull List<AnalyzedClass> classes,
+                                                     @Nonnull Map<String, Set<Constant>> constantsByName) {
+        Map<Object, Set<Constant>> constantsByValue = newHashMap();
+        for (Set<Constant> constants : constantsByName.values()) {
+            for (Constant constant : constants) {
+                getOrAddMappedSet(constantsByValue, constant.value).add(constant);
+            }
+        }
+        for (AnalyzedClass analyzedClass : classes) {
+            for (Object literal : analyzedClass.literals) {
+                Set<Constant> constants = constantsByValue.get(literal);
+                if (constants != null && constants.size() == 1) {
+                    String declaringClass = constants.iterator().next().className;
+                    if (!declaringClass.equals(analyzedClass.className)) {
+                        analysisContext.addDependencies(analyzedClass.className, declaringClass);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Represents a constant, i.e. a <code>static final</code> field whose value is known at compile time.
+     */
+    private static final class Constant {
+        @Nonnull
+        private final String className;
+        @Nonnull
+        private final String name;
+        @Nonnull
+        private final Object value;
+
+        private Constant(@Nonnull String className, @Nonnull String name, @Nonnull Object value) {
+            this.className = className;
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!Constant.class.isInstance(obj)) {
+                return false;
+            }
+            Constant other = Constant.class.cast(obj);
+            return this.className.equals(other.className) && this.name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.className.hashCode() + this.name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.className + "." + this.name + "=" + this.value;
+        }
+
+    }
+
+    private static final class AnalyzedClass {
+        @Nonnull
+        private final String className;
+        @Nonnull
+        private final Set<String> constantNames;
+        @Nonnull
+        private final Set<Object> literals;
+        @Nullable
+        private final String sourcePath;
+
+        private AnalyzedClass(@Nonnull ConstantPoolScanner classFile) {
+            this.className = classFile.getClassName();
+            this.constantNames = classFile.getConstants().keySet();
+            this.literals = classFile.getLiterals();
+            String sourceFileName = classFile.getSourceFileName();
+            int lastDot = this.className.lastIndexOf('.');
+            this.sourcePath = sourceFileName == null || lastDot < 0
+                    ? sourceFileName
+                    : this.className.substring(0, lastDot + 1).replace('.', '/') + sourceFileName;
+        }
+
+    }
+
+    /**
+     * Represents the package and import declarations of a Java file.
+     */
+    private static final class Imports {
+
+        private final List<String> typeImports = newArrayList();
+        private final List<String> onDemandImports = newArrayList();
+        private final Map<String, Set<String>> staticImports = newHashMap();
+        private final Set<String> staticOnDemandImports = newHashSet();
+        private String packageName = "";
+        private int end = 0;
+
+        public Imports(@Nonnull JavaSourceTokens tokens) {
+            int i = 0;
+            if ("package".equals(tokens.get(i))) {
+                int endOfName = tokens.skipName(i + 1);
+                this.packageName = join(tokens, i + 1, endOfName);
+                i = endOfName + 1;
+            }
+            while ("import".equals(tokens.get(i))) {
+                boolean isStatic = "static".equals(tokens.get(i + 1));
+                int startOfName = isStatic ? i + 2 : i + 1;
+                int endOfName = tokens.skipName(startOfName);
+                String name = join(tokens, startOfName, endOfName);
+                boolean onDemand = ".".equals(tokens.get(endOfName)) && "*".equals(tokens.get(endOfName + 1));
+                if (onDemand) {
+                    (isStatic ? this.staticOnDemandImports : this.onDemandImports).add(name);
+                    i = endOfName + 3;
+                    continue;
+                }
+                if (isStatic) {
+                    int lastDot = name.lastIndexOf('.');
+                    getOrAddMappedSet(this.staticImports, name.substring(lastDot + 1)).add(name.substring(0, lastDot));
+                }
+                this.typeImports.add(name);
+                i = endOfName + 1;
+            }
+            this.end = i;
+        }
+
+        /**
+         * Returns the names of the classes the given member may be statically imported from.
+         */
+        @Nonnull
+        public Set<String> getClassesImportingStatically(@Nonnull String memberName) {
+            Set<String> classes = newHashSet(this.staticOnDemandImports);
+            Set<String> importingClasses = this.staticImports.get(memberName);
+            if (importingClasses != null) {
+                classes.addAll(importingClasses);
+            }
+            return classes;
+        }
+
+        /**
+         * Returns the names of the classes the given qualifier may denote.
+         */
+        @Nonnull
+        public Set<String> resolve(@Nonnull String qualifier) {
+            Set<String> classes = newHashSet(qualifier);
+            if (!this.packageName.isEmpty()) {
+                classes.add(this.packageName + "." + qualifier);
+            }
+            int firstDot = qualifier.indexOf('.');
+            String firstName = firstDot < 0 ? qualifier : qualifier.substring(0, firstDot);
+            String remainder = firstDot < 0 ? "" : qualifier.substring(firstDot);
+            for (String typeImport : this.typeImports) {
+                if (typeImport.equals(firstName) || typeImport.endsWith("." + firstName)) {
+                    classes.add(typeImport + remainder);
+                }
+            }
+            for (String onDemandImport : this.onDemandImports) {
+                classes.add(onDemandImport + "." + qualifier);
+            }
+            return classes;
+        }
+
+    }
+
+    private static final class Findings implements PartialResult {
+
+        private final Map<String, Set<Constant>> constantsByName = newHashMap();
+        private final List<AnalyzedClass> classes = newArrayList();
+        private final Map<String, Set<File>> javaFilesByName = newHashMap();
+
+        public void addClass(@Nonnull ConstantPoolScanner classFile) {
+            for (Map.Entry<String, Object> constant : classFile.getConstants().entrySet()) {
+                getOrAddMappedSet(this.constantsByName, constant.getKey())
+                        .add(new Constant(classFile.getClassName(), constant.getKey(), constant.getValue()));
+            }
+            this.classes.add(new AnalyzedClass(classFile));
+        }
+
+        public void addJavaFile(@Nonnull File javaFile) {
+            getOrAddMappedSet(this.javaFilesByName, javaFile.getName()).add(javaFile);
+        }
+
+        @Nullable
+        public File getJavaFile(@Nonnull AnalyzedClass analyzedClass) {
+            String sourcePath = analyzedClass.sourcePath;
+            if (sourcePath == null) {
+                return null;
+            }
+            Set<File> javaFiles = this.javaFilesByName.get(sourcePath.substring(sourcePath.lastIndexOf('/') + 1));
+            if (javaFiles == null) {
+                return null;
+            }
+            for (File javaFile : javaFiles) {
+                String path = javaFile.getPath().replace(File.separatorChar, '/');
+                if (path.equals(sourcePath) || path.endsWith("/" + sourcePath)) {
+                    return javaFile;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void mergeSubsequent(@Nonnull PartialResult subsequentResult) {
+            Findings subsequentFindings = Findings.class.cast(subsequentResult);
+            for (Map.Entry<String, Set<Constant>> constants : subsequentFindings.constantsByName.entrySet()) {
+                getOrAddMappedSet(this.constantsByName, constants.getKey()).addAll(constants.getValue());
+            }
+            this.classes.addAll(subsequentFindings.classes);
+            for (Map.Entry<String, Set<File>> javaFiles : subsequentFindings.javaFilesByName.entrySet()) {
+                getOrAddMappedSet(this.javaFilesByName, javaFiles.getKey()).addAll(javaFiles.getValue());
+            }
+        }
+
+    }
+
+}
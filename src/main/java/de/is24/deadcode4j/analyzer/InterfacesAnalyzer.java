@@ -10,7 +10,7 @@ import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Sets.newHashSet;
-import static de.is24.javassist.CtClasses.getAllImplementedInterfaces;
+import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
 import static java.util.Collections.disjoint;
 
 /**
@@ -66,7 +66,7 @@ public abstract class InterfacesAnalyzer extends ByteCodeAnalyzer {
 
         String clazzName = clazz.getName();
         analysisContext.addAnalyzedClass(clazzName);
-        if (!disjoint(knownInterfaces, getAllImplementedInterfaces(clazz))) {
+        if (!disjoint(knownInterfaces, classPoolAccessorFor(analysisContext).getAllImplementedInterfaces(clazz))) {
             analysisContext.addDependencies(this.dependerId, clazzName);
         }
     }
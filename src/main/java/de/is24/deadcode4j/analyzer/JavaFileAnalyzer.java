@@ -10,11 +10,15 @@ import com.github.javaparser.ast.PackageDeclaration;
 import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
 import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.PreparingAnalyzer;
+import de.is24.deadcode4j.SelectiveAnalyzer;
 import de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor;
 import de.is24.guava.NonNullFunction;
-import de.is24.guava.SequentialLoadingCache;
 import de.is24.javaparser.Nodes;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import javassist.CtClass;
@@ -24,21 +28,18 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Optional.of;
-import static com.google.common.base.Predicates.and;
-import static com.google.common.base.Predicates.not;
-import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static de.is24.deadcode4j.FileContext.fileContextFor;
 import static de.is24.deadcode4j.Utils.emptyIfNull;
-import static de.is24.guava.NonNullFunctions.or;
-import static de.is24.guava.NonNullFunctions.toFunction;
-import static de.is24.javaparser.ImportDeclarations.isAsterisk;
-import static de.is24.javaparser.ImportDeclarations.refersTo;
 import static de.is24.javaparser.Nodes.getTypeName;
 import static de.is24.javaparser.Nodes.prepend;
 import static de.is24.javassist.CtClasses.*;
@@ -51,10 +52,10 @@ import static org.apache.commons.io.IOUtils.closeQuietly;
  *
  * @since 2.0.0
  */
-public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
+public abstract class JavaFileAnalyzer extends AnalyzerAdapter implements PreparingAnalyzer, SelectiveAnalyzer {
 
     private static final String JAVA_PARSER_KEY = JavaFileAnalyzer.class.getName() + ":JavaParser";
-    private static final NonNullFunction<AnalysisContext, LoadingCache<File, Optional<CompilationUnit>>>
+    private static final NonNullFunction<AnalysisContext, NonNullFunction<FileContext, Optional<CompilationUnit>>>
             JAVA_PARSER_SUPPLIER = new JavaParserSupplier(true);
 
     private static final String TYPE_RESOLVER_KEY = JavaFileAnalyzer.class.getName() + ":TypeResolver";
@@ -64,27 +65,52 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
                 @Nonnull
                 @Override
                 public NonNullFunction<Qualifier<?>, Optional<String>> apply(@Nonnull AnalysisContext analysisContext) {
-                    final ClassPoolAccessor classPoolAccessor = ClassPoolAccessor.classPoolAccessorFor(analysisContext);
-                    return new NonNullFunction<Qualifier<?>, Optional<String>>() {
+                    return new TypeResolver(ClassPoolAccessor.classPoolAccessorFor(analysisContext),
+                            analysisContext.getOrCreateSharedEntry(RESOLVED_TYPES_KEY, RESOLVED_TYPES_SUPPLIER));
+                }
+            };
+
+    private static final String RESOLVED_TYPES_KEY = JavaFileAnalyzer.class.getName() + ":ResolvedTypes";
+    private static final NonNullFunction<AnalysisContext, LoadingCache<ImportScope, Map<String, Optional<String>>>>
+            RESOLVED_TYPES_SUPPLIER =
+            new NonNullFunction<AnalysisContext, LoadingCache<ImportScope, Map<String, Optional<String>>>>() {
+                @Nonnull
+                @Override
+                public LoadingCache<ImportScope, Map<String, Optional<String>>> apply(@Nonnull AnalysisContext input) {
+                    return CacheBuilder.newBuilder().maximumSize(TypeResolver.MAXIMUM_NUMBER_OF_IMPORT_SCOPES).build(
+                            new CacheLoader<ImportScope, Map<String, Optional<String>>>() {
+                                @Override
+                                public Map<String, Optional<String>> load(@Nonnull ImportScope key) {
+                                    return new ConcurrentHashMap<String, Optional<String>>();
+                                }
+                            });
+                }
+            };
+
+    private static final NonNullFunction<AnalysisContext, NonNullFunction<FileContext, JavaSourceTokens>>
+            TOKENIZER_SUPPLIER = new NonNullFunction<AnalysisContext, NonNullFunction<FileContext, JavaSourceTokens>>() {
+                @Nonnull
+                @Override
+                public NonNullFunction<FileContext, JavaSourceTokens> apply(@Nonnull final AnalysisContext analysisContext) {
+                    return new NonNullFunction<FileContext, JavaSourceTokens>() {
                         @Nonnull
                         @Override
-                        @SuppressWarnings("unchecked")
-                        public Optional<String> apply(@Nonnull Qualifier<?> input) {
-                            return or(
-                                    new FullyQualifiedTypeResolver(classPoolAccessor),
-                                    new InnerTypeResolver(),
-                                    new InheritedTypeResolver(classPoolAccessor),
-                                    new ImportedTypeResolver(classPoolAccessor),
-                                    new PackageTypeResolver(classPoolAccessor),
-                                    new AsteriskImportedTypeResolver(classPoolAccessor),
-                                    new JavaLangTypeResolver(classPoolAccessor)
-                            ).apply(input);
+                        @SuppressFBWarnings(value = "DM_DEFAULT_ENCODING", justification = "The MavenProject does not provide the proper encoding")
+                        public JavaSourceTokens apply(@Nonnull FileContext fileContext) {
+                            String encoding = analysisContext.getModule().getEncoding();
+                            try {
+                                return JavaSourceTokens.tokenize(encoding != null
+                                        ? new String(fileContext.getContent(), encoding)
+                                        : new String(fileContext.getContent()));
+                            } catch (UnsupportedEncodingException e) {
+                                throw new RuntimeException("Failed to decode [" + fileContext.getFile() + "]!", e);
+                            }
                         }
                     };
                 }
             };
 
-    private static LoadingCache<File, Optional<CompilationUnit>> getJavaFileParser(AnalysisContext analysisContext) {
+    private static NonNullFunction<FileContext, Optional<CompilationUnit>> getJavaFileParser(AnalysisContext analysisContext) {
         return analysisContext.getOrCreateCacheEntry(JAVA_PARSER_KEY, JAVA_PARSER_SUPPLIER);
     }
 
@@ -92,6 +118,16 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
         return analysisContext.getOrCreateCacheEntry(TYPE_RESOLVER_KEY, TYPE_RESOLVER_SUPPLIER);
     }
 
+    /**
+     * Returns the tokens of the given Java file; the file is tokenized only once for all analyzers.<br/>
+     * As this is called while {@link #prepareAnalysis(AnalysisContext, FileContext) preparing the analysis}, the
+     * tokenizer is not cached by the <code>AnalysisContext</code>.
+     */
+    @Nonnull
+    static JavaSourceTokens getSourceTokens(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        return fileContext.getOrCreateArtifact(JavaSourceTokens.class, TOKENIZER_SUPPLIER.apply(analysisContext));
+    }
+
     /**
      * Resolves a type reference by means of the given {@code Qualifier}.
      *
@@ -113,17 +149,60 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
         return resolvedClass.replace('$', '.').endsWith(qualifier.getFullQualifier().replace('$', '.'));
     }
 
+    @Nonnull
+    @Override
+    public Iterable<String> getFileNameSuffixes() {
+        return singleton(".java");
+    }
+
     @Override
     public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
-        if (file.getName().endsWith(".java")) {
-            Optional<CompilationUnit> compilationUnit = getJavaFileParser(analysisContext).getUnchecked(file);
+        doAnalysis(analysisContext, fileContextFor(analysisContext, file));
+    }
+
+    @Override
+    public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        if (fileContext.getFile().getName().endsWith(".java")) {
+            if (!isWorthParsing(analysisContext, fileContext)) {
+                logger.debug("Skipping Java file [{}].", fileContext.getFile());
+                return;
+            }
+            Optional<CompilationUnit> compilationUnit =
+                    fileContext.getOrCreateArtifact(JAVA_PARSER_KEY, getJavaFileParser(analysisContext));
             if (compilationUnit.isPresent()) {
-                logger.debug("Analyzing Java file [{}]...", file);
+                logger.debug("Analyzing Java file [{}]...", fileContext.getFile());
                 analyzeCompilationUnit(analysisContext, compilationUnit.get());
             }
         }
     }
 
+    /**
+     * Parses the given Java file in advance, if it is {@link #isWorthParsing(AnalysisContext, FileContext) worth
+     * parsing}. The parsed compilation unit is stored in the <code>FileContext</code>; a file failing to be parsed is
+     * parsed again by {@link #doAnalysis(AnalysisContext, FileContext)}, thus reporting the failure as usual.
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public final void prepareAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        if (fileContext.getFile().getName().endsWith(".java") && isWorthParsing(analysisContext, fileContext)) {
+            // the parser cached by the AnalysisContext must not be retrieved by another thread
+            fileContext.getOrCreateArtifact(JAVA_PARSER_KEY, JAVA_PARSER_SUPPLIER.apply(analysisContext));
+        }
+    }
+
+    /**
+     * Indicates if the given Java file needs to be parsed at all; subclasses may examine the file's content to skip
+     * files that cannot contain anything of interest. The file is parsed if any analyzer requires it.<br/>
+     * As this method is called while {@link #prepareAnalysis(AnalysisContext, FileContext) preparing the analysis},
+     * it must not modify the <code>AnalysisContext</code>.
+     *
+     * @since 2.2.0
+     */
+    protected boolean isWorthParsing(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        return true;
+    }
+
     /**
      * Perform an analysis for the specified java file.
      * Results must be reported via the capabilities of the {@link AnalysisContext}.
@@ -272,21 +351,25 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
         }
     }
 
-    private static abstract class CandidatesResolver extends RequiresClassPoolAccessor
-            implements NonNullFunction<Qualifier<?>, Optional<String>> {
+    /**
+     * Resolves type references in the scope of the imports of a compilation unit. The result must depend only on the
+     * {@link ImportScope} and the qualifiers' names - not on the position of the reference.
+     */
+    private static abstract class CandidatesResolver extends RequiresClassPoolAccessor {
 
         protected CandidatesResolver(@Nonnull ClassPoolAccessor classPoolAccessor) {
             super(classPoolAccessor);
         }
 
         @Nonnull
-        protected Iterable<String> calculatePrefixes(@Nonnull Qualifier<?> topQualifier) {
-            String prefix = calculatePrefix(topQualifier);
+        protected Iterable<String> calculatePrefixes(@Nonnull ImportScope importScope,
+                                                     @Nonnull Qualifier<?> topQualifier) {
+            String prefix = calculatePrefix(importScope, topQualifier);
             return prefix != null ? singletonList(prefix) : Collections.<String>emptyList();
         }
 
         @Nullable
-        protected String calculatePrefix(@Nonnull Qualifier<?> topQualifier) {
+        protected String calculatePrefix(@Nonnull ImportScope importScope, @Nonnull Qualifier<?> topQualifier) {
             return null;
         }
 
@@ -295,14 +378,18 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
         }
 
         @Nonnull
-        @Override
-        public final Optional<String> apply(@Nonnull Qualifier<?> input) {
-            for (CharSequence prefix : calculatePrefixes(input)) {
-                for (Qualifier candidate : input.getTypeCandidates()) {
+        protected Optional<String> resolve(@Nonnull String prefix, @Nonnull Qualifier<?> candidate) {
+            return classPoolAccessor.resolveClass(prefix + candidate.getFullQualifier());
+        }
+
+        @Nonnull
+        public final Optional<String> apply(@Nonnull ImportScope importScope, @Nonnull Qualifier<?> input) {
+            for (String prefix : calculatePrefixes(importScope, input)) {
+                for (Qualifier<?> candidate : input.getTypeCandidates()) {
                     if (skipResolvingFor(candidate)) {
                         continue;
                     }
-                    Optional<String> resolvedClass = classPoolAccessor.resolveClass(prefix + candidate.getFullQualifier());
+                    Optional<String> resolvedClass = resolve(prefix, candidate);
                     if (resolvedClass.isPresent()) {
                         return resolvedClass;
                     }
@@ -321,7 +408,7 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
 
         @Nonnull
         @Override
-        protected String calculatePrefix(@Nonnull Qualifier<?> topQualifier) {
+        protected String calculatePrefix(@Nonnull ImportScope importScope, @Nonnull Qualifier<?> topQualifier) {
             return "";
         }
 
@@ -332,11 +419,10 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
 
     }
 
-    private static class InnerTypeResolver implements NonNullFunction<Qualifier<?>, Optional<String>> {
+    private static class InnerTypeResolver {
 
         @Nonnull
-        @Override
-        public Optional<String> apply(@Nonnull Qualifier<?> typeReference) {
+        public Optional<String> apply(@Nonnull SymbolTable symbolTable, @Nonnull Qualifier<?> typeReference) {
             Qualifier firstQualifier = typeReference.getFirstQualifier();
             for (Node loopNode = typeReference.getNode(); ; ) {
                 Optional<String> reference;
@@ -351,10 +437,10 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
                         return reference;
                     }
                 } else if (CompilationUnit.class.isInstance(loopNode)) {
-                    reference = resolveInnerReference(firstQualifier, CompilationUnit.class.cast(loopNode).getTypes());
-                    if (reference.isPresent()) {
-                        return reference;
-                    }
+                    TypeDeclaration declaredType = symbolTable.getDeclaredType(firstQualifier.getName());
+                    return declaredType == null
+                            ? Optional.<String>absent()
+                            : of(resolveReferencedType(firstQualifier, declaredType));
                 }
                 loopNode = loopNode.getParentNode();
                 if (loopNode == null) {
@@ -391,15 +477,13 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
 
     }
 
-    private static class InheritedTypeResolver extends RequiresClassPoolAccessor
-            implements NonNullFunction<Qualifier<?>, Optional<String>> {
+    private static class InheritedTypeResolver extends RequiresClassPoolAccessor {
 
         public InheritedTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor) {
             super(classPoolAccessor);
         }
 
         @Nonnull
-        @Override
         public Optional<String> apply(@Nonnull Qualifier<?> typeReference) {
             String typeName = getTypeName(typeReference.getNode());
             CtClass clazz = getCtClass(classPoolAccessor.getClassPool(), typeName);
@@ -476,23 +560,31 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
 
         @Nullable
         @Override
-        protected String calculatePrefix(@Nonnull Qualifier<?> topQualifier) {
-            String firstQualifier = topQualifier.getFirstQualifier().getName();
-            CompilationUnit compilationUnit = Nodes.getCompilationUnit(topQualifier.getNode());
-            ImportDeclaration importDeclaration = getOnlyElement(emptyIfNull(compilationUnit.getImports()).filter(
-                    and(not(isAsterisk()), refersTo(firstQualifier))), null);
-            if (importDeclaration == null) {
-                return null;
-            }
-            StringBuilder buffy = prepend(importDeclaration.getName(), new StringBuilder());
-            int beginIndex = buffy.length() - firstQualifier.length();
-            return beginIndex == 0 ? "" :
-                    buffy.replace(beginIndex - 1, buffy.length(), importDeclaration.isStatic() ? "$" : ".").toString();
+        protected String calculatePrefix(@Nonnull ImportScope importScope, @Nonnull Qualifier<?> topQualifier) {
+            return importScope.getImportPrefix(topQualifier.getFirstQualifier().getName());
+        }
+
+    }
+
+    /**
+     * Resolves the candidates within packages; the prefixes calculated are package names. This way, the
+     * {@link ClassPoolAccessor#resolveClassInPackage(String, String) index of the class path's packages} is used.
+     */
+    private static abstract class PackageResolver extends CandidatesResolver {
+
+        protected PackageResolver(@Nonnull ClassPoolAccessor classPoolAccessor) {
+            super(classPoolAccessor);
+        }
+
+        @Nonnull
+        @Override
+        protected final Optional<String> resolve(@Nonnull String packageName, @Nonnull Qualifier<?> candidate) {
+            return classPoolAccessor.resolveClassInPackage(packageName, candidate.getFullQualifier());
         }
 
     }
 
-    private static class PackageTypeResolver extends CandidatesResolver {
+    private static class PackageTypeResolver extends PackageResolver {
 
         public PackageTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor) {
             super(classPoolAccessor);
@@ -500,17 +592,13 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
 
         @Nonnull
         @Override
-        protected String calculatePrefix(@Nonnull Qualifier<?> topQualifier) {
-            PackageDeclaration aPackage = Nodes.getCompilationUnit(topQualifier.getNode()).getPackage();
-            if (aPackage == null) {
-                return "";
-            }
-            return prepend(aPackage.getName(), new StringBuilder("")).append(".").toString();
+        protected String calculatePrefix(@Nonnull ImportScope importScope, @Nonnull Qualifier<?> topQualifier) {
+            return importScope.getPackageName();
         }
 
     }
 
-    private static class AsteriskImportedTypeResolver extends CandidatesResolver {
+    private static class AsteriskImportedTypeResolver extends PackageResolver {
 
         public AsteriskImportedTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor) {
             super(classPoolAccessor);
@@ -518,21 +606,15 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
 
         @Nonnull
         @Override
-        protected Iterable<String> calculatePrefixes(@Nonnull Qualifier<?> topQualifier) {
-            ArrayList<String> asteriskImports = newArrayList();
-            CompilationUnit compilationUnit = Nodes.getCompilationUnit(topQualifier.getNode());
-            for (ImportDeclaration importDeclaration :
-                    emptyIfNull(compilationUnit.getImports()).filter(isAsterisk())) {
-                StringBuilder buffy = prepend(importDeclaration.getName(), new StringBuilder());
-                buffy.append(importDeclaration.isStatic() ? '$' : '.');
-                asteriskImports.add(buffy.toString());
-            }
-            return asteriskImports;
+        protected Iterable<String> calculatePrefixes(@Nonnull ImportScope importScope,
+                                                     @Nonnull Qualifier<?> topQualifier) {
+            // imports of nested types name no package; those are resolved the conventional way
+            return importScope.getAsteriskImports();
         }
 
     }
 
-    private static class JavaLangTypeResolver extends CandidatesResolver {
+    private static class JavaLangTypeResolver extends PackageResolver {
 
         public JavaLangTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor) {
             super(classPoolAccessor);
@@ -540,13 +622,211 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
 
         @Nonnull
         @Override
-        protected String calculatePrefix(@Nonnull Qualifier<?> topQualifier) {
-            return "java.lang.";
+        protected String calculatePrefix(@Nonnull ImportScope importScope, @Nonnull Qualifier<?> topQualifier) {
+            return "java.lang";
         }
 
     }
 
-    private static class JavaParserSupplier implements NonNullFunction<AnalysisContext, LoadingCache<File, Optional<CompilationUnit>>> {
+    /**
+     * Resolves type references by means of the resolver chain. The {@link SymbolTable} of a compilation unit is
+     * calculated only once. As resolving a reference via the imports & the package depends on nothing else, those
+     * results are memoized and shared by all compilation units having the same {@link ImportScope} - and by all
+     * resolvers analyzing the same module concurrently.
+     */
+    private static class TypeResolver implements NonNullFunction<Qualifier<?>, Optional<String>> {
+
+        private static final int MAXIMUM_NUMBER_OF_IMPORT_SCOPES = 1000;
+        @Nonnull
+        private final FullyQualifiedTypeResolver fullyQualifiedTypeResolver;
+        @Nonnull
+        private final InnerTypeResolver innerTypeResolver = new InnerTypeResolver();
+        @Nonnull
+        private final InheritedTypeResolver inheritedTypeResolver;
+        @Nonnull
+        private final List<CandidatesResolver> importScopeResolvers;
+        @Nonnull
+        private final LoadingCache<ImportScope, Map<String, Optional<String>>> resolvedTypes;
+        @Nullable
+        private CompilationUnit currentCompilationUnit;
+        @Nullable
+        private SymbolTable currentSymbolTable;
+
+        public TypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor,
+                            @Nonnull LoadingCache<ImportScope, Map<String, Optional<String>>> resolvedTypes) {
+            this.resolvedTypes = resolvedTypes;
+            this.fullyQualifiedTypeResolver = new FullyQualifiedTypeResolver(classPoolAccessor);
+            this.inheritedTypeResolver = new InheritedTypeResolver(classPoolAccessor);
+            this.importScopeResolvers = Arrays.<CandidatesResolver>asList(
+                    new ImportedTypeResolver(classPoolAccessor),
+                    new PackageTypeResolver(classPoolAccessor),
+                    new AsteriskImportedTypeResolver(classPoolAccessor),
+                    new JavaLangTypeResolver(classPoolAccessor));
+        }
+
+        @Nonnull
+        private static String calculateMemoKey(@Nonnull Qualifier<?> qualifier) {
+            StringBuilder buffy = new StringBuilder(qualifier.getFirstQualifier().getName());
+            for (Qualifier<?> candidate : qualifier.getTypeCandidates()) {
+                buffy.append(':').append(candidate.getFullQualifier());
+            }
+            return buffy.toString();
+        }
+
+        @Nonnull
+        @Override
+        public Optional<String> apply(@Nonnull Qualifier<?> input) {
+            SymbolTable symbolTable = getSymbolTable(Nodes.getCompilationUnit(input.getNode()));
+            Optional<String> resolvedType = fullyQualifiedTypeResolver.apply(symbolTable.getImportScope(), input);
+            if (resolvedType.isPresent()) {
+                return resolvedType;
+            }
+            resolvedType = innerTypeResolver.apply(symbolTable, input);
+            if (resolvedType.isPresent()) {
+                return resolvedType;
+            }
+            resolvedType = inheritedTypeResolver.apply(input);
+            if (resolvedType.isPresent()) {
+                return resolvedType;
+            }
+            return resolveInImportScope(symbolTable.getImportScope(), input);
+        }
+
+        @Nonnull
+        private SymbolTable getSymbolTable(@Nonnull CompilationUnit compilationUnit) {
+            // CompilationUnit calculates its hash code using toString(), so the identity is checked
+            if (this.currentCompilationUnit != compilationUnit || this.currentSymbolTable == null) {
+                this.currentSymbolTable = new SymbolTable(compilationUnit);
+                this.currentCompilationUnit = compilationUnit;
+            }
+            return this.currentSymbolTable;
+        }
+
+        @Nonnull
+        private Optional<String> resolveInImportScope(@Nonnull ImportScope importScope,
+                                                      @Nonnull Qualifier<?> qualifier) {
+            Map<String, Optional<String>> memo = this.resolvedTypes.getUnchecked(importScope);
+            String memoKey = calculateMemoKey(qualifier);
+            Optional<String> resolvedType = memo.get(memoKey);
+            if (resolvedType == null) {
+                resolvedType = absent();
+                for (CandidatesResolver resolver : this.importScopeResolvers) {
+                    resolvedType = resolver.apply(importScope, qualifier);
+                    if (resolvedType.isPresent()) {
+                        break;
+                    }
+                }
+                memo.put(memoKey, resolvedType);
+            }
+            return resolvedType;
+        }
+
+    }
+
+    /**
+     * The <code>SymbolTable</code> lists the names a compilation unit declares or imports.
+     */
+    private static class SymbolTable {
+
+        @Nonnull
+        private final ImportScope importScope;
+        @Nonnull
+        private final Map<String, TypeDeclaration> declaredTypes = newHashMap();
+
+        public SymbolTable(@Nonnull CompilationUnit compilationUnit) {
+            this.importScope = new ImportScope(compilationUnit);
+            for (TypeDeclaration typeDeclaration : emptyIfNull(compilationUnit.getTypes())) {
+                if (!this.declaredTypes.containsKey(typeDeclaration.getName())) {
+                    this.declaredTypes.put(typeDeclaration.getName(), typeDeclaration);
+                }
+            }
+        }
+
+        @Nonnull
+        public ImportScope getImportScope() {
+            return this.importScope;
+        }
+
+        @Nullable
+        public TypeDeclaration getDeclaredType(@Nonnull String name) {
+            return this.declaredTypes.get(name);
+        }
+
+    }
+
+    /**
+     * The <code>ImportScope</code> consists of the package and the imports of a compilation unit. It defines
+     * <code>equals</code> & <code>hashCode</code>, so it can be used to share results among compilation units.
+     */
+    private static class ImportScope {
+
+        @Nonnull
+        private final String packageName;
+        @Nonnull
+        private final Map<String, String> importPrefixes = newHashMap();
+        @Nonnull
+        private final List<String> asteriskImports = newArrayList();
+
+        public ImportScope(@Nonnull CompilationUnit compilationUnit) {
+            PackageDeclaration aPackage = compilationUnit.getPackage();
+            this.packageName = aPackage == null ? "" : prepend(aPackage.getName(), new StringBuilder()).toString();
+            for (ImportDeclaration importDeclaration : emptyIfNull(compilationUnit.getImports())) {
+                StringBuilder buffy = prepend(importDeclaration.getName(), new StringBuilder());
+                if (importDeclaration.isAsterisk()) {
+                    this.asteriskImports.add(buffy.toString());
+                    continue;
+                }
+                String importedName = importDeclaration.getName().getName();
+                int beginIndex = buffy.length() - importedName.length();
+                this.importPrefixes.put(importedName, beginIndex == 0 ? "" : buffy.replace(
+                        beginIndex - 1, buffy.length(), importDeclaration.isStatic() ? "$" : ".").toString());
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!ImportScope.class.isInstance(obj)) {
+                return false;
+            }
+            ImportScope other = ImportScope.class.cast(obj);
+            return this.packageName.equals(other.packageName)
+                    && this.importPrefixes.equals(other.importPrefixes)
+                    && this.asteriskImports.equals(other.asteriskImports);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.packageName.hashCode();
+            result = 31 * result + this.importPrefixes.hashCode();
+            result = 31 * result + this.asteriskImports.hashCode();
+            return result;
+        }
+
+        @Nonnull
+        public String getPackageName() {
+            return this.packageName;
+        }
+
+        /**
+         * Returns the prefix with which to resolve a qualifier starting with the given name or <code>null</code> if
+         * the name is not imported explicitly.
+         */
+        @Nullable
+        public String getImportPrefix(@Nonnull String name) {
+            return this.importPrefixes.get(name);
+        }
+
+        @Nonnull
+        public List<String> getAsteriskImports() {
+            return this.asteriskImports;
+        }
+
+    }
+
+    private static class JavaParserSupplier implements NonNullFunction<AnalysisContext, NonNullFunction<FileContext, Optional<CompilationUnit>>> {
 
         private final Logger logger = LoggerFactory.getLogger(getClass());
         private final boolean ignoreParsingErrors;
@@ -558,26 +838,26 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
         @Nonnull
         @Override
         @SuppressWarnings("PMD.AvoidCatchingThrowable") // unfortunately, JavaParser throws an Error when parsing fails
-        public LoadingCache<File, Optional<CompilationUnit>> apply(@Nonnull final AnalysisContext analysisContext) {
-            return SequentialLoadingCache.createSingleValueCache(toFunction(new NonNullFunction<File, Optional<CompilationUnit>>() {
+        public NonNullFunction<FileContext, Optional<CompilationUnit>> apply(@Nonnull final AnalysisContext analysisContext) {
+            return new NonNullFunction<FileContext, Optional<CompilationUnit>>() {
                 @Nonnull
                 @Override
                 @SuppressFBWarnings(value = "DM_DEFAULT_ENCODING", justification = "The MavenProject does not provide the proper encoding")
-                public Optional<CompilationUnit> apply(@Nonnull File file) {
+                public Optional<CompilationUnit> apply(@Nonnull FileContext fileContext) {
                     Reader reader = null;
                     try {
                         reader = analysisContext.getModule().getEncoding() != null
-                                ? new InputStreamReader(new FileInputStream(file),
+                                ? new InputStreamReader(fileContext.openStream(),
                                 analysisContext.getModule().getEncoding())
-                                : new FileReader(file);
+                                : new InputStreamReader(fileContext.openStream());
                         return of(JavaParser.parse(reader, false));
                     } catch (Throwable t) {
-                        return handleThrowable(file, t);
+                        return handleThrowable(fileContext.getFile(), t);
                     } finally {
                         closeQuietly(reader);
                     }
                 }
-            }));
+            };
         }
         private Optional<CompilationUnit> handleThrowable(File file, Throwable t) {
             String message = "Failed to parse [" + file + "]!";
@@ -0,0 +1,155 @@
+package de.is24.deadcode4j.analyzer;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+/**
+ * Splits Java source code into tokens without building an AST; this allows to cheaply check if a Java file contains
+ * certain constructs before handing it to the parser.<br/>
+ * Comments and whitespace are skipped. Identifiers, keywords and numbers make up a token each, as does every other
+ * character - e.g. <code>&gt;&gt;</code> results in two tokens. String and character literals are represented by the
+ * {@link #LITERAL} token. Non-ASCII characters are treated as parts of identifiers.
+ *
+ * @since 2.2.0
+ */
+final class JavaSourceTokens {
+
+    /**
+     * The token representing a string or character literal.
+     */
+    public static final String LITERAL = "\"\"";
+    @Nonnull
+    private final List<String> tokens;
+
+    private JavaSourceTokens(@Nonnull List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Splits the given source code into tokens.
+     */
+    @Nonnull
+    public static JavaSourceTokens tokenize(@Nonnull CharSequence source) {
+        List<String> tokens = newArrayList();
+        int length = source.length();
+        for (int i = 0; i < length; ) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                i = skipLine(source, i + 2);
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                i = skipComment(source, i + 2);
+            } else if (c == '"' || c == '\'') {
+                i = skipLiteral(source, i + 1, c);
+                tokens.add(LITERAL);
+            } else if (isIdentifierPart(c)) {
+                int end = i + 1;
+                while (end < length && isIdentifierPart(source.charAt(end))) {
+                    end++;
+                }
+                tokens.add(source.subSequence(i, end).toString());
+                i = end;
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return new JavaSourceTokens(tokens);
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return c > 127 || Character.isJavaIdentifierPart(c) && !Character.isIdentifierIgnorable(c);
+    }
+
+    private static int skipLine(@Nonnull CharSequence source, int i) {
+        while (i < source.length() && source.charAt(i) != '\n' && source.charAt(i) != '\r') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipComment(@Nonnull CharSequence source, int i) {
+        while (i + 1 < source.length() && !(source.charAt(i) == '*' && source.charAt(i + 1) == '/')) {
+            i++;
+        }
+        return i + 2;
+    }
+
+    private static int skipLiteral(@Nonnull CharSequence source, int i, char delimiter) {
+        while (i < source.length()) {
+            char c = source.charAt(i++);
+            if (c == '\\') {
+                i++;
+            } else if (c == delimiter || c == '\n') {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Returns the number of tokens.
+     */
+    public int size() {
+        return this.tokens.size();
+    }
+
+    /**
+     * Returns the token at the given index or an empty string if the index is out of range.
+     */
+    @Nonnull
+    public String get(int index) {
+        return index >= 0 && index < this.tokens.size() ? this.tokens.get(index) : "";
+    }
+
+    /**
+     * Indicates if the token at the given index is an identifier, a keyword or a number.
+     */
+    public boolean isWord(int index) {
+        String token = get(index);
+        return !token.isEmpty() && !LITERAL.equals(token) && isIdentifierPart(token.charAt(0));
+    }
+
+    /**
+     * Returns the index of the token following the (possibly qualified) name starting at the given index; if there is
+     * no name at the given index, the index itself is returned.
+     */
+    public int skipName(int index) {
+        if (!isWord(index)) {
+            return index;
+        }
+        while (".".equals(get(index + 1)) && isWord(index + 2)) {
+            index += 2;
+        }
+        return index + 1;
+    }
+
+    /**
+     * Returns the index of the token following the type arguments starting at the given index (which must point to a
+     * <code>&lt;</code>) or <code>-1</code> if the tokens cannot be type arguments.
+     */
+    public int skipTypeArguments(int index) {
+        int depth = 0;
+        for (; index < this.tokens.size(); index++) {
+            String token = get(index);
+            if ("<".equals(token)) {
+                depth++;
+            } else if (">".equals(token)) {
+                if (--depth == 0) {
+                    return index + 1;
+                }
+            } else if (!isWord(index) && !isTypeArgumentSymbol(token)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isTypeArgumentSymbol(@Nonnull String token) {
+        return token.length() == 1 && ".,?&[]@".indexOf(token.charAt(0)) >= 0;
+    }
+
+}
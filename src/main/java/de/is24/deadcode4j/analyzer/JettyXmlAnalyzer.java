@@ -1,12 +1,14 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.CacheableAnalyzer;
+
 /**
  * Analyzes <a href="http://www.eclipse.org/jetty/configure_9_0.dtd">Jetty XML configuration</a> files.
  * Reports the {@code class} and {@code type} attributes as classes being referenced.
  *
  * @since 2.0.0
  */
-public class JettyXmlAnalyzer extends SimpleXmlAnalyzer {
+public class JettyXmlAnalyzer extends SimpleXmlAnalyzer implements CacheableAnalyzer {
 
     public JettyXmlAnalyzer() {
         super("_Jetty-XML_", ".xml", "Configure");
@@ -1,5 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.CacheableAnalyzer;
+
 /**
  * <p>Analyzes Logback XML configuration files (only files named <code>logback.xml</code>) by reporting every
  * <code>class</code> and <code>actionClass</code> attribute as being <i>live code</i>.</p>
@@ -9,7 +11,7 @@ package de.is24.deadcode4j.analyzer;
  *
  * @since 2.2.0
  */
-public class LogbackXmlAnalyzer extends ExtendedXmlAnalyzer {
+public class LogbackXmlAnalyzer extends ExtendedXmlAnalyzer implements CacheableAnalyzer {
 
     public LogbackXmlAnalyzer() {
         super("_Logback-XML_", "logback.xml", "configuration");
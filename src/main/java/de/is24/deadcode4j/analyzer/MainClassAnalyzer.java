@@ -1,6 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.CacheableAnalyzer;
 import javassist.CtClass;
 import javassist.Modifier;
 import javassist.bytecode.AccessFlag;
@@ -15,7 +16,7 @@ import static com.google.common.collect.Iterables.filter;
  *
  * @since 2.0.0
  */
-public class MainClassAnalyzer extends ByteCodeAnalyzer {
+public class MainClassAnalyzer extends ByteCodeAnalyzer implements CacheableAnalyzer {
 
     private static boolean isPublicStatic(MethodInfo methodInfo) {
         int modifier = AccessFlag.toModifier(methodInfo.getAccessFlags());
@@ -0,0 +1,316 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.AnalysisSink;
+import de.is24.deadcode4j.AnalysisStage;
+import de.is24.deadcode4j.AnalyzedCode;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.FileContextAnalyzer;
+import de.is24.deadcode4j.SelectiveAnalyzer;
+import de.is24.guava.NonNullFunction;
+import org.apache.commons.io.IOUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.annotation.Nonnull;
+import javax.xml.parsers.SAXParser;
+import java.io.File;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Iterables.addAll;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static de.is24.deadcode4j.FileContext.fileContextFor;
+
+/**
+ * Combines several {@link XmlAnalyzer}s so that each XML file is parsed only once: the SAX events are forwarded to the
+ * handlers of all analyzers being responsible for the file. If a handler throws
+ * {@link de.is24.deadcode4j.analyzer.XmlAnalyzer.StopParsing}, it is detached while parsing continues for the others.
+ *
+ * @since 2.2.0
+ */
+public class MultiplexingXmlAnalyzer extends AnalyzerAdapter implements FileContextAnalyzer, SelectiveAnalyzer {
+
+    private final List<XmlAnalyzer> xmlAnalyzers;
+    private final NonNullFunction<AnalysisContext, SAXParser> supplyParser;
+
+    public MultiplexingXmlAnalyzer(@Nonnull Iterable<? extends XmlAnalyzer> xmlAnalyzers) {
+        this.xmlAnalyzers = newArrayList(xmlAnalyzers);
+        this.supplyParser = XmlAnalyzer.createParserSupplier();
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " for " + this.xmlAnalyzers;
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<String> getFileNameSuffixes() {
+        Set<String> suffixes = newLinkedHashSet();
+        for (XmlAnalyzer xmlAnalyzer : this.xmlAnalyzers) {
+            addAll(suffixes, xmlAnalyzer.getFileNameSuffixes());
+        }
+        return suffixes;
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        doAnalysis(analysisContext, fileContextFor(analysisContext, file));
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        File file = fileContext.getFile();
+        List<AttachedHandler> handlers = newArrayList();
+        for (XmlAnalyzer xmlAnalyzer : this.xmlAnalyzers) {
+            if (xmlAnalyzer.isResponsibleFor(file)) {
+                handlers.add(new AttachedHandler(xmlAnalyzer, xmlAnalyzer.createHandlerFor(analysisContext)));
+            }
+        }
+        if (handlers.isEmpty()) {
+            return;
+        }
+        logger.debug("Analyzing XML file [{}] for {} analyzers...", file, handlers.size());
+        analyzeXmlFile(analysisContext, fileContext, handlers);
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+        for (XmlAnalyzer xmlAnalyzer : this.xmlAnalyzers) {
+            xmlAnalyzer.finishAnalysis(analysisContext);
+        }
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisSink analysisSink, @Nonnull AnalyzedCode analyzedCode) {
+        for (XmlAnalyzer xmlAnalyzer : this.xmlAnalyzers) {
+            xmlAnalyzer.finishAnalysis(analysisSink, analyzedCode);
+        }
+    }
+
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    private void analyzeXmlFile(@Nonnull AnalysisContext analysisContext,
+                                @Nonnull FileContext fileContext,
+                                @Nonnull List<AttachedHandler> handlers) {
+        File file = fileContext.getFile();
+        SAXParser parser = analysisContext.getOrCreateCacheEntry(getClass().getName() + "|parser", this.supplyParser);
+        InputStream in = null;
+        try {
+            in = fileContext.openStream();
+            parser.parse(in, new MultiplexingHandler(analysisContext, file, handlers));
+        } catch (XmlAnalyzer.StopParsing command) {
+            // just do nothing
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse [" + file + "]!", e);
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+    }
+
+    private static class AttachedHandler {
+        private final XmlAnalyzer analyzer;
+        private final DefaultHandler handler;
+
+        public AttachedHandler(@Nonnull XmlAnalyzer analyzer, @Nonnull DefaultHandler handler) {
+            this.analyzer = analyzer;
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * Each SAX event is passed to all attached handlers by {@link #dispatch(HandlerCall)}; a handler is detached if it
+     * stops parsing or fails. To avoid creating an object per event, there is one <code>HandlerCall</code> per kind of
+     * event, reading the arguments of the event being dispatched from this handler's fields.
+     */
+    private class MultiplexingHandler extends DefaultHandler {
+        private final AnalysisContext analysisContext;
+        private final File file;
+        private final List<AttachedHandler> handlers;
+        private String uri;
+        private String localName;
+        private String qName;
+        private Attributes attributes;
+        private String prefix;
+        private char[] ch;
+        private int start;
+        private int length;
+        private String target;
+        private String data;
+        private String name;
+        private final HandlerCall startDocument = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.startDocument();
+            }
+        };
+        private final HandlerCall endDocument = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.endDocument();
+            }
+        };
+        private final HandlerCall startPrefixMapping = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.startPrefixMapping(prefix, uri);
+            }
+        };
+        private final HandlerCall endPrefixMapping = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.endPrefixMapping(prefix);
+            }
+        };
+        private final HandlerCall startElement = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.startElement(uri, localName, qName, attributes);
+            }
+        };
+        private final HandlerCall endElement = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.endElement(uri, localName, qName);
+            }
+        };
+        private final HandlerCall characters = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.characters(ch, start, length);
+            }
+        };
+        private final HandlerCall ignorableWhitespace = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.ignorableWhitespace(ch, start, length);
+            }
+        };
+        private final HandlerCall processingInstruction = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.processingInstruction(target, data);
+            }
+        };
+        private final HandlerCall skippedEntity = new HandlerCall() {
+            @Override
+            public void call(@Nonnull DefaultHandler handler) throws SAXException {
+                handler.skippedEntity(name);
+            }
+        };
+
+        public MultiplexingHandler(@Nonnull AnalysisContext analysisContext,
+                                   @Nonnull File file,
+                                   @Nonnull List<AttachedHandler> handlers) {
+            this.analysisContext = analysisContext;
+            this.file = file;
+            this.handlers = handlers;
+        }
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            for (AttachedHandler attachedHandler : this.handlers) {
+                attachedHandler.handler.setDocumentLocator(locator);
+            }
+        }
+
+        @Override
+        public void startDocument() throws SAXException {
+            dispatch(this.startDocument);
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            dispatch(this.endDocument);
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) throws SAXException {
+            this.prefix = prefix;
+            this.uri = uri;
+            dispatch(this.startPrefixMapping);
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) throws SAXException {
+            this.prefix = prefix;
+            dispatch(this.endPrefixMapping);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            this.uri = uri;
+            this.localName = localName;
+            this.qName = qName;
+            this.attributes = attributes;
+            dispatch(this.startElement);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            this.uri = uri;
+            this.localName = localName;
+            this.qName = qName;
+            dispatch(this.endElement);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            this.ch = ch;
+            this.start = start;
+            this.length = length;
+            dispatch(this.characters);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            this.ch = ch;
+            this.start = start;
+            this.length = length;
+            dispatch(this.ignorableWhitespace);
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) throws SAXException {
+            this.target = target;
+            this.data = data;
+            dispatch(this.processingInstruction);
+        }
+
+        @Override
+        public void skippedEntity(String name) throws SAXException {
+            this.name = name;
+            dispatch(this.skippedEntity);
+        }
+
+        private void dispatch(@Nonnull HandlerCall handlerCall) throws XmlAnalyzer.StopParsing {
+            for (Iterator<AttachedHandler> iterator = this.handlers.iterator(); iterator.hasNext(); ) {
+                AttachedHandler attachedHandler = iterator.next();
+                try {
+                    handlerCall.call(attachedHandler.handler);
+                } catch (XmlAnalyzer.StopParsing command) {
+                    iterator.remove();
+                } catch (Exception e) {
+                    logger.warn("Analyzer [{}] failed to analyze file [{}]!", attachedHandler.analyzer, this.file, e);
+                    this.analysisContext.addException(AnalysisStage.FILE_ANALYSIS);
+                    iterator.remove();
+                }
+            }
+            if (this.handlers.isEmpty()) {
+                throw new XmlAnalyzer.StopParsing();
+            }
+        }
+
+    }
+
+    private interface HandlerCall {
+        void call(@Nonnull DefaultHandler handler) throws SAXException;
+    }
+
+}
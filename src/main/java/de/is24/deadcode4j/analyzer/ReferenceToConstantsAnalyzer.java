@@ -12,6 +12,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Sets;
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.FileContext;
 import de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor;
 import javassist.CtClass;
 import javassist.CtField;
@@ -46,6 +47,100 @@ import static de.is24.javassist.CtClasses.*;
  */
 public class ReferenceToConstantsAnalyzer extends JavaFileAnalyzer {
 
+    private static final Set<String> NO_FIELD_NAMES = newHashSet("class", "new", "super", "this");
+    private final boolean skipsFilesWithoutPotentialReferences;
+
+    /**
+     * Creates a new <code>ReferenceToConstantsAnalyzer</code>.
+     *
+     * @param skipsFilesWithoutPotentialReferences if <code>true</code>, Java files are parsed only if their tokens
+     *                                             indicate that a constant of another class might be referenced
+     * @since 2.2.0
+     */
+    public ReferenceToConstantsAnalyzer(boolean skipsFilesWithoutPotentialReferences) {
+        this.skipsFilesWithoutPotentialReferences = skipsFilesWithoutPotentialReferences;
+    }
+
+    /**
+     * Creates a new <code>ReferenceToConstantsAnalyzer</code> that examines all Java files.
+     *
+     * @since 2.0.0
+     */
+    public ReferenceToConstantsAnalyzer() {
+        this(false);
+    }
+
+    /**
+     * Indicates if the given tokens may refer to a constant of another class. This is the case if there is
+     * <ul>
+     * <li>a static import</li>
+     * <li>a qualified name like <code>Foo.BAR</code> that is no method call, class literal or <code>this</code>
+     * reference</li>
+     * <li>a type that may inherit fields, i.e. a type extending or implementing another one, an enum or a nested,
+     * local or anonymous class</li>
+     * </ul>
+     * Otherwise, an unqualified name can only refer to a field of the class itself.
+     */
+    static boolean mayReferToConstants(@Nonnull JavaSourceTokens tokens) {
+        int numberOfTypeDeclarations = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if ("package".equals(token) || "import".equals(token)) {
+                if ("static".equals(tokens.get(i + 1))) {
+                    return true;
+                }
+                while (i < tokens.size() && !";".equals(tokens.get(i))) {
+                    i++;
+                }
+            } else if ("extends".equals(token) || "implements".equals(token) || "enum".equals(token)) {
+                return true;
+            } else if ("class".equals(token) || "interface".equals(token)) {
+                if (!".".equals(tokens.get(i - 1)) && ++numberOfTypeDeclarations > 1) {
+                    return true;
+                }
+            } else if ("new".equals(token)) {
+                if (isAnonymousClass(tokens, i + 1)) {
+                    return true;
+                }
+            } else if (isQualifiedFieldAccess(tokens, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAnonymousClass(@Nonnull JavaSourceTokens tokens, int index) {
+        index = tokens.skipName(index);
+        if ("<".equals(tokens.get(index))) {
+            index = tokens.skipTypeArguments(index);
+        }
+        if (index < 0 || !"(".equals(tokens.get(index))) {
+            return false;
+        }
+        for (int depth = 0; index < tokens.size(); index++) {
+            String token = tokens.get(index);
+            if ("(".equals(token)) {
+                depth++;
+            } else if (")".equals(token) && --depth == 0) {
+                return "{".equals(tokens.get(index + 1));
+            }
+        }
+        return false;
+    }
+
+    private static boolean isQualifiedFieldAccess(@Nonnull JavaSourceTokens tokens, int index) {
+        String token = tokens.get(index);
+        return tokens.isWord(index)
+                && !Character.isDigit(token.charAt(0))
+                && !"this".equals(token)
+                && !"super".equals(token)
+                && !".".equals(tokens.get(index - 1))
+                && ".".equals(tokens.get(index + 1))
+                && tokens.isWord(index + 2)
+                && !NO_FIELD_NAMES.contains(tokens.get(index + 2))
+                && !"(".equals(tokens.get(index + 3));
+    }
+
     @Nonnull
     private static String getFirstElement(@Nonnull FieldAccessExpr fieldAccessExpr) {
         return getFirstNode(fieldAccessExpr).getName();
@@ -125,6 +220,12 @@ public class ReferenceToConstantsAnalyzer extends JavaFileAnalyzer {
         return Modifier.isStatic(ctField.getModifiers()) && Modifier.isFinal(ctField.getModifiers());
     }
 
+    @Override
+    protected boolean isWorthParsing(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        return !this.skipsFilesWithoutPotentialReferences
+                || mayReferToConstants(getSourceTokens(analysisContext, fileContext));
+    }
+
     @Override
     protected void analyzeCompilationUnit(@Nonnull final AnalysisContext analysisContext,
                                           @Nonnull final CompilationUnit compilationUnit) {
@@ -1,10 +1,11 @@
 package de.is24.deadcode4j.analyzer;
 
-import com.google.common.collect.Maps;
 import de.is24.deadcode4j.AnalysisContext;
-import de.is24.deadcode4j.Analyzer;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.FileContextAnalyzer;
 import de.is24.deadcode4j.IntermediateResult;
-import de.is24.deadcode4j.Module;
+import de.is24.deadcode4j.PartialResult;
+import de.is24.deadcode4j.SelectiveAnalyzer;
 import org.xml.sax.Attributes;
 import org.xml.sax.helpers.DefaultHandler;
 
@@ -12,9 +13,11 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Iterables.isEmpty;
+import static de.is24.deadcode4j.FileContext.fileContextFor;
 
 /**
  * Analyzes both <code>web.xml</code> and class files: looks for implementations of
@@ -23,10 +26,10 @@ import static com.google.common.collect.Iterables.isEmpty;
  *
  * @since 1.5
  */
-public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
+public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter implements FileContextAnalyzer, SelectiveAnalyzer {
     private final String depender;
-    private final Analyzer classFinder;
-    private final Analyzer webXmlAnalyzer = new XmlAnalyzer("web.xml") {
+    private final ByteCodeAnalyzer classFinder;
+    private final XmlAnalyzer webXmlAnalyzer = new XmlAnalyzer("web.xml") {
         @Nonnull
         @Override
         protected DefaultHandler createHandlerFor(@Nonnull final AnalysisContext analysisContext) {
@@ -42,7 +45,7 @@ public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
             };
         }
     };
-    private ServletContainerInitializerAnalysisContext context;
+    private final String contextKey = getClass().getName() + "|context";
 
     /**
      * Creates a new instance of <code>ServletContainerInitializerAnalyzer</code>.
@@ -62,23 +65,39 @@ public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
         this("JEE-ServletContainerInitializer", "javax.servlet.ServletContainerInitializer");
     }
 
+    @Nonnull
+    @Override
+    public Iterable<String> getFileNameSuffixes() {
+        return concat(this.webXmlAnalyzer.getFileNameSuffixes(), this.classFinder.getFileNameSuffixes());
+    }
+
     @Override
     public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
-        if (this.context == null) {
-            this.context = new ServletContainerInitializerAnalysisContext(analysisContext.getModule());
-            this.context.setOriginalContext(analysisContext);
+        doAnalysis(analysisContext, fileContextFor(analysisContext, fileName));
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        Object cachedContext = analysisContext.getCache().get(this.contextKey);
+        ServletContainerInitializerAnalysisContext localContext;
+        if (cachedContext == null) {
+            localContext = new ServletContainerInitializerAnalysisContext(analysisContext);
+            analysisContext.getCache().put(this.contextKey, localContext);
+        } else {
+            localContext = ServletContainerInitializerAnalysisContext.class.cast(cachedContext);
         }
-        this.webXmlAnalyzer.doAnalysis(this.context, fileName);
-        this.classFinder.doAnalysis(this.context, fileName);
+        this.webXmlAnalyzer.doAnalysis(localContext, fileContext);
+        this.classFinder.doAnalysis(localContext, fileContext);
     }
 
     @Override
     public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
-        ServletContainerInitializerAnalysisContext localContext = this.context;
-        this.context = null;
-        if (localContext == null) {
+        Object cachedContext = analysisContext.getCache().remove(this.contextKey);
+        if (cachedContext == null) {
             return;
         }
+        ServletContainerInitializerAnalysisContext localContext =
+                ServletContainerInitializerAnalysisContext.class.cast(cachedContext);
         if (localContext.isMetadataComplete()) {
             logger.debug("Found web.xml with completed metadata; " +
                     "ServletContainerInitializer implementations are treated as dead code");
@@ -90,13 +109,18 @@ public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
         }
     }
 
-    private static class ServletContainerInitializerAnalysisContext extends AnalysisContext {
+    /**
+     * Collects the results of the wrapped analyzers; it is derived from the original context, thus sharing the module's
+     * expensive structures like the class path's index.
+     */
+    private static class ServletContainerInitializerAnalysisContext extends AnalysisContext implements PartialResult {
 
-        private AnalysisContext originalContext;
+        private final AnalysisContext originalContext;
         private boolean metadataComplete = false;
 
-        ServletContainerInitializerAnalysisContext(Module module) {
-            super(module, Maps.<Object, IntermediateResult>newHashMap());
+        ServletContainerInitializerAnalysisContext(@Nonnull AnalysisContext originalContext) {
+            super(originalContext);
+            this.originalContext = originalContext;
         }
 
         @Nonnull
@@ -124,8 +148,17 @@ public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
             return metadataComplete;
         }
 
-        public void setOriginalContext(AnalysisContext analysisContext) {
-            this.originalContext = analysisContext;
+        @Override
+        public void mergeSubsequent(@Nonnull PartialResult subsequentResult) {
+            ServletContainerInitializerAnalysisContext subsequentContext =
+                    ServletContainerInitializerAnalysisContext.class.cast(subsequentResult);
+            if (subsequentContext.isMetadataComplete()) {
+                setMetadataComplete();
+            }
+            for (Map.Entry<String, Set<String>> dependencies :
+                    subsequentContext.getAnalyzedCode().getCodeDependencies().entrySet()) {
+                addDependencies(dependencies.getKey(), dependencies.getValue());
+            }
         }
 
     }
@@ -1,16 +1,19 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.PartialResult;
+import de.is24.guava.NonNullFunction;
 import javassist.CtClass;
 import javassist.Modifier;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static de.is24.deadcode4j.IntermediateResults.*;
-import static de.is24.javassist.CtClasses.getAllImplementedInterfaces;
+import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
 
 /**
  * Analyzes class files: marks custom implementations of Spring Data repositories as being in use.<br/>
@@ -21,7 +24,15 @@ import static de.is24.javassist.CtClasses.getAllImplementedInterfaces;
  */
 public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
 
-    private final List<String> customRepositoryNames = newArrayList();
+    private final String customRepositoryNamesKey = getClass().getName() + "|customRepositoryNames";
+    private final NonNullFunction<AnalysisContext, CustomRepositoryNames> supplyCustomRepositoryNames =
+            new NonNullFunction<AnalysisContext, CustomRepositoryNames>() {
+                @Nonnull
+                @Override
+                public CustomRepositoryNames apply(@Nonnull AnalysisContext input) {
+                    return new CustomRepositoryNames();
+                }
+            };
 
     @Override
     protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
@@ -35,12 +46,15 @@ public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
 
     @Override
     public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
-        analysisContext.getCache().put(getClass(), resultSetFor(this.customRepositoryNames));
-        this.customRepositoryNames.clear();
+        Object customRepositoryNames = analysisContext.getCache().remove(this.customRepositoryNamesKey);
+        List<String> names = customRepositoryNames == null
+                ? Collections.<String>emptyList()
+                : CustomRepositoryNames.class.cast(customRepositoryNames).names;
+        analysisContext.getCache().put(getClass(), resultSetFor(names));
     }
 
     private void analyzeInterface(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
-        Set<String> implementedInterfaces = getAllImplementedInterfaces(clazz);
+        Set<String> implementedInterfaces = classPoolAccessorFor(analysisContext).getAllImplementedInterfaces(clazz);
         if (!implementedInterfaces.contains("org.springframework.data.repository.Repository")) {
             return;
         }
@@ -50,7 +64,8 @@ public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
             return;
         }
 
-        this.customRepositoryNames.add(nameOfCustomRepositoryInterface);
+        analysisContext.getOrCreateCacheEntry(this.customRepositoryNamesKey, this.supplyCustomRepositoryNames)
+                .names.add(nameOfCustomRepositoryInterface);
         reportImplementationOfNewCustomRepository(analysisContext, clazz);
     }
 
@@ -63,7 +78,7 @@ public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
             return;
         }
 
-        Set<String> implementedInterfaces = getAllImplementedInterfaces(customImpl);
+        Set<String> implementedInterfaces = classPoolAccessorFor(analysisContext).getAllImplementedInterfaces(customImpl);
         if (implementedInterfaces.contains(clazzName + "Custom")) {
             analysisContext.addDependencies(clazzName, nameOfCustomRepositoryImplementation);
         }
@@ -86,7 +101,7 @@ public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
         }
 
         Set<String> existingCustomRepositories = intermediateResults.getResults();
-        Set<String> implementedInterfaces = getAllImplementedInterfaces(clazz);
+        Set<String> implementedInterfaces = classPoolAccessorFor(analysisContext).getAllImplementedInterfaces(clazz);
         implementedInterfaces.retainAll(existingCustomRepositories);
         for (String customRepositoryName : implementedInterfaces) {
             analysisContext.addDependencies(
@@ -95,4 +110,15 @@ public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
         }
     }
 
+    private static class CustomRepositoryNames implements PartialResult {
+
+        private final List<String> names = newArrayList();
+
+        @Override
+        public void mergeSubsequent(@Nonnull PartialResult subsequentResult) {
+            this.names.addAll(CustomRepositoryNames.class.cast(subsequentResult).names);
+        }
+
+    }
+
 }
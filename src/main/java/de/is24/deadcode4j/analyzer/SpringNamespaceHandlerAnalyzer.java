@@ -1,44 +1,63 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.CacheableAnalyzer;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.FileContextAnalyzer;
+import de.is24.deadcode4j.SelectiveAnalyzer;
 import org.apache.commons.io.IOUtils;
 
 import javax.annotation.Nonnull;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.Properties;
 
 import static com.google.common.collect.Iterables.filter;
+import static de.is24.deadcode4j.FileContext.fileContextFor;
 
 /**
  * Analyzes <a href="http://docs.spring.io/spring/docs/3.2.x/spring-framework-reference/html/extensible-xml.html">
  * <code>spring.handlers</code> property files</a> and lists the defined <i>namespace handlers</i> as classes being
  * referenced.
  */
-public class SpringNamespaceHandlerAnalyzer extends AnalyzerAdapter {
+public class SpringNamespaceHandlerAnalyzer extends AnalyzerAdapter implements CacheableAnalyzer, FileContextAnalyzer, SelectiveAnalyzer {
+
+    @Nonnull
+    @Override
+    public Iterable<String> getFileNameSuffixes() {
+        return Collections.singleton("spring.handlers");
+    }
 
     @Override
     public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
-        if (file.getAbsolutePath().endsWith("META-INF/spring.handlers")) {
+        doAnalysis(analysisContext, fileContextFor(analysisContext, file));
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        File file = fileContext.getFile();
+        File parentFile = file.getParentFile();
+        if ("spring.handlers".equals(file.getName()) && parentFile != null && "META-INF".equals(parentFile.getName())) {
             logger.debug("Analyzing property file [{}]...", file);
-            registerSpringHandlersDefinedIn(analysisContext, file);
+            registerSpringHandlersDefinedIn(analysisContext, fileContext);
         }
     }
 
-    private void registerSpringHandlersDefinedIn(AnalysisContext analysisContext, File file) {
-        Properties springNamespaceHandlers = readPropertyFile(file);
+    private void registerSpringHandlersDefinedIn(AnalysisContext analysisContext, FileContext fileContext) {
+        Properties springNamespaceHandlers = readPropertyFile(fileContext);
         analysisContext.addDependencies("_Spring-NamespaceHandler_", filter(springNamespaceHandlers.values(), String.class));
     }
 
-    private Properties readPropertyFile(File file) {
+    private Properties readPropertyFile(FileContext fileContext) {
         Properties properties = new Properties();
-        FileInputStream in = null;
+        InputStream in = null;
         try {
-            in = new FileInputStream(file);
+            in = fileContext.openStream();
             properties.load(in);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to read [" + file + "]!", e);
+            throw new RuntimeException("Failed to read [" + fileContext.getFile() + "]!", e);
         } finally {
             IOUtils.closeQuietly(in);
         }
@@ -1,5 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.CacheableAnalyzer;
+
 /**
  * Analyzes <a href="http://www.springframework.org/schema/webflow/spring-webflow-2.0.xsd">Spring Web Flow</a> XML
  * files: lists
@@ -12,7 +14,7 @@ package de.is24.deadcode4j.analyzer;
  *
  * @since 1.5
  */
-public final class SpringWebFlowAnalyzer extends SimpleXmlAnalyzer {
+public final class SpringWebFlowAnalyzer extends SimpleXmlAnalyzer implements CacheableAnalyzer {
 
     public SpringWebFlowAnalyzer() {
         super("_SpringWebFlow-XML_", ".xml", "flow");
@@ -2,6 +2,7 @@ package de.is24.deadcode4j.analyzer;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.Iterables;
+import de.is24.deadcode4j.CacheableAnalyzer;
 
 import javax.annotation.Nonnull;
 
@@ -27,7 +28,7 @@ import static com.google.common.base.Optional.of;
  *
  * @since 1.1.0
  */
-public class SpringXmlAnalyzer extends ExtendedXmlAnalyzer {
+public class SpringXmlAnalyzer extends ExtendedXmlAnalyzer implements CacheableAnalyzer {
 
     private static void registerPropertyValueAsClass(@Nonnull Path beanPath, @Nonnull String propertyName) {
         Path propertyPath = beanPath.anyElementNamed("property").withAttributeValue("name", propertyName);
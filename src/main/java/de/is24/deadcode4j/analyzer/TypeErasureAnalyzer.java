@@ -10,6 +10,7 @@ import com.github.javaparser.ast.type.*;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.google.common.base.Optional;
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.FileContext;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -33,6 +34,99 @@ import static java.util.Collections.emptySet;
  */
 public class TypeErasureAnalyzer extends JavaFileAnalyzer {
 
+    private final boolean complementsGenericSignatureAnalyzer;
+    private final boolean skipsFilesWithoutTypeArguments;
+
+    /**
+     * Creates a new <code>TypeErasureAnalyzer</code>.
+     *
+     * @param complementsGenericSignatureAnalyzer if <code>true</code>, the type arguments of declarations are expected
+     *                                            to be reported by the {@link GenericSignatureAnalyzer}; thus only
+     *                                            those Java files are parsed that contain type arguments the class file
+     *                                            does not provide - like <code>new ArrayList&lt;Foo&gt;()</code>,
+     *                                            casts or explicit type arguments of method calls
+     * @param skipsFilesWithoutTypeArguments      if <code>true</code>, Java files are parsed only if their tokens
+     *                                            contain type arguments at all
+     * @since 2.2.0
+     */
+    public TypeErasureAnalyzer(boolean complementsGenericSignatureAnalyzer, boolean skipsFilesWithoutTypeArguments) {
+        this.complementsGenericSignatureAnalyzer = complementsGenericSignatureAnalyzer;
+        this.skipsFilesWithoutTypeArguments = skipsFilesWithoutTypeArguments;
+    }
+
+    /**
+     * Creates a new <code>TypeErasureAnalyzer</code>.
+     *
+     * @see #TypeErasureAnalyzer(boolean, boolean)
+     * @since 2.2.0
+     */
+    public TypeErasureAnalyzer(boolean complementsGenericSignatureAnalyzer) {
+        this(complementsGenericSignatureAnalyzer, false);
+    }
+
+    /**
+     * Creates a new <code>TypeErasureAnalyzer</code> that examines all Java files.
+     *
+     * @since 2.0.0
+     */
+    public TypeErasureAnalyzer() {
+        this(false);
+    }
+
+    /**
+     * Indicates if the given tokens contain (non-empty) type arguments; a file without any cannot contribute.<br/>
+     * Comparisons like <code>a &lt; b &amp;&amp; c &gt; d</code> may be mistaken for type arguments.
+     */
+    static boolean containsTypeArguments(@Nonnull JavaSourceTokens tokens) {
+        for (int i = 0; i < tokens.size(); i++) {
+            if ("<".equals(tokens.get(i)) && !">".equals(tokens.get(i + 1)) && tokens.skipTypeArguments(i) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indicates if the given tokens contain type arguments that are not part of any generic signature of the class
+     * file, i.e. type arguments of instance creations, casts, method calls or method references.
+     */
+    static boolean containsTypeArgumentsMissingInByteCode(@Nonnull JavaSourceTokens tokens) {
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if ("new".equals(token)) {
+                int next = tokens.skipName(i + 1);
+                if ("@".equals(tokens.get(next))
+                        || "<".equals(tokens.get(next)) && !">".equals(tokens.get(next + 1))) {
+                    return true;
+                }
+            } else if ("<".equals(token)) {
+                String previous = tokens.get(i - 1);
+                if (".".equals(previous) || ":".equals(previous)) {
+                    return true;
+                }
+            } else if ("(".equals(token)) {
+                int next = tokens.skipName(i + 1);
+                if (next > i + 1 && "<".equals(tokens.get(next)) && isCast(tokens, tokens.skipTypeArguments(next))) {
+                    return true;
+                }
+            } else if (">".equals(token) && ":".equals(tokens.get(i + 1)) && ":".equals(tokens.get(i + 2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCast(@Nonnull JavaSourceTokens tokens, int index) {
+        if (index < 0) {
+            return false;
+        }
+        while ("[".equals(tokens.get(index)) && "]".equals(tokens.get(index + 1))) {
+            index += 2;
+        }
+        String token = tokens.get(index);
+        return ")".equals(token) || "&".equals(token);
+    }
+
     @Nonnull
     private static String getFullQualifier(@Nonnull ClassOrInterfaceType classOrInterfaceType) {
         StringBuilder buffy = new StringBuilder(classOrInterfaceType.getName());
@@ -43,6 +137,15 @@ public class TypeErasureAnalyzer extends JavaFileAnalyzer {
         return buffy.toString();
     }
 
+    @Override
+    protected boolean isWorthParsing(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        if (this.complementsGenericSignatureAnalyzer) {
+            return containsTypeArgumentsMissingInByteCode(getSourceTokens(analysisContext, fileContext));
+        }
+        return !this.skipsFilesWithoutTypeArguments
+                || containsTypeArguments(getSourceTokens(analysisContext, fileContext));
+    }
+
     @Override
     protected void analyzeCompilationUnit(@Nonnull final AnalysisContext analysisContext, @Nonnull final CompilationUnit compilationUnit) {
         compilationUnit.accept(new TypeParameterRecordingVisitor<Void>() {
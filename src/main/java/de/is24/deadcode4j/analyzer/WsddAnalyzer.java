@@ -1,12 +1,14 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.CacheableAnalyzer;
+
 /**
  * Analyzes <a href="http://axis.apache.org/axis/java/reference.html#Deployment_WSDD_Reference"><code>.wsdd</code></a>
  * files: lists the defined Axis Service classes being referenced.
  *
  * @since 1.5
  */
-public final class WsddAnalyzer extends SimpleXmlAnalyzer {
+public final class WsddAnalyzer extends SimpleXmlAnalyzer implements CacheableAnalyzer {
 
     public WsddAnalyzer() {
         super("_Axis-WSSD_", ".wsdd", "deployment");
@@ -1,6 +1,10 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.FileContextAnalyzer;
+import de.is24.deadcode4j.SelectiveAnalyzer;
+import de.is24.guava.NonNullFunction;
 import org.apache.commons.io.IOUtils;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
@@ -9,10 +13,11 @@ import javax.annotation.Nonnull;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.InputStream;
+import java.util.Collections;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static de.is24.deadcode4j.FileContext.fileContextFor;
 import static de.is24.deadcode4j.Utils.isNotBlank;
 
 /**
@@ -20,8 +25,8 @@ import static de.is24.deadcode4j.Utils.isNotBlank;
  *
  * @since 1.2.0
  */
-public abstract class XmlAnalyzer extends AnalyzerAdapter {
-    private final SAXParser parser;
+public abstract class XmlAnalyzer extends AnalyzerAdapter implements FileContextAnalyzer, SelectiveAnalyzer {
+    private final NonNullFunction<AnalysisContext, SAXParser> supplyParser;
     private final String endOfFileName;
 
     /**
@@ -32,28 +37,63 @@ public abstract class XmlAnalyzer extends AnalyzerAdapter {
      * @since 1.4
      */
     protected XmlAnalyzer(@Nonnull String endOfFileName) {
+        this.supplyParser = createParserSupplier();
+        checkArgument(isNotBlank(endOfFileName), "[endOfFileName] must be set!");
+        this.endOfFileName = endOfFileName;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " analyzing [" + endOfFileName + "] files";
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<String> getFileNameSuffixes() {
+        return Collections.singleton(endOfFileName.substring(endOfFileName.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Creates a function supplying a new <code>SAXParser</code> for each <code>AnalysisContext</code>, as a parser must
+     * not be used concurrently. The parser configuration is verified eagerly.
+     */
+    @Nonnull
+    static NonNullFunction<AnalysisContext, SAXParser> createParserSupplier() {
+        final SAXParserFactory factory;
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory = SAXParserFactory.newInstance();
             factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
             factory.setFeature("http://xml.org/sax/features/namespaces", true);
-            this.parser = factory.newSAXParser();
+            factory.newSAXParser();
         } catch (Exception e) {
             throw new RuntimeException("Failed to set up XML parser!", e);
         }
-        checkArgument(isNotBlank(endOfFileName), "[endOfFileName] must be set!");
-        this.endOfFileName = endOfFileName;
+        return new NonNullFunction<AnalysisContext, SAXParser>() {
+            @Nonnull
+            @Override
+            public SAXParser apply(@Nonnull AnalysisContext input) {
+                // the factory is not guaranteed to be thread-safe
+                synchronized (factory) {
+                    try {
+                        return factory.newSAXParser();
+                    } catch (Exception e) {
+                        throw new RuntimeException("Failed to set up XML parser!", e);
+                    }
+                }
+            }
+        };
     }
 
     @Override
-    public String toString() {
-        return super.toString() + " analyzing [" + endOfFileName + "] files";
+    public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        doAnalysis(analysisContext, fileContextFor(analysisContext, file));
     }
 
     @Override
-    public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
-        if (file.getName().endsWith(endOfFileName)) {
-            logger.debug("Analyzing XML file [{}]...", file);
-            analyzeXmlFile(analysisContext, file);
+    public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        if (isResponsibleFor(fileContext.getFile())) {
+            logger.debug("Analyzing XML file [{}]...", fileContext.getFile());
+            analyzeXmlFile(analysisContext, fileContext);
         }
     }
 
@@ -65,16 +105,29 @@ public abstract class XmlAnalyzer extends AnalyzerAdapter {
     @Nonnull
     protected abstract DefaultHandler createHandlerFor(@Nonnull AnalysisContext analysisContext);
 
+    /**
+     * Indicates if the given file should be analyzed by this analyzer.
+     */
+    boolean isResponsibleFor(@Nonnull File file) {
+        return file.getName().endsWith(endOfFileName);
+    }
+
+    @Nonnull
+    private SAXParser getParserFor(@Nonnull AnalysisContext analysisContext) {
+        return analysisContext.getOrCreateCacheEntry(getClass().getName() + "|parser", this.supplyParser);
+    }
+
     @SuppressWarnings("PMD.EmptyCatchBlock")
-    private void analyzeXmlFile(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+    private void analyzeXmlFile(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        SAXParser parser = getParserFor(analysisContext);
         InputStream in = null;
         try {
-            in = new FileInputStream(file);
+            in = fileContext.openStream();
             parser.parse(in, createHandlerFor(analysisContext));
         } catch (StopParsing command) {
             // just do nothing
         } catch (Exception e) {
-            throw new RuntimeException("Failed to parse [" + file + "]!", e);
+            throw new RuntimeException("Failed to parse [" + fileContext.getFile() + "]!", e);
         } finally {
             IOUtils.closeQuietly(in);
         }
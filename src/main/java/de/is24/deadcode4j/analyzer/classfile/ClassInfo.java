@@ -0,0 +1,110 @@
+package de.is24.deadcode4j.analyzer.classfile;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+
+/**
+ * A <code>ClassInfo</code> holds the metadata of a class required to examine type hierarchies and annotations without
+ * loading the class: its super class, its interfaces and its class-level annotations. Instances are immutable.
+ *
+ * @since 2.2.0
+ */
+public final class ClassInfo {
+
+    @Nonnull
+    private final String className;
+    @Nullable
+    private final String superClassName;
+    @Nonnull
+    private final List<String> interfaceNames;
+    @Nonnull
+    private final Set<String> annotations;
+
+    /**
+     * Creates a new <code>ClassInfo</code>.
+     *
+     * @since 2.2.0
+     */
+    public ClassInfo(@Nonnull String className,
+                     @Nullable String superClassName,
+                     @Nonnull Iterable<String> interfaceNames,
+                     @Nonnull Iterable<String> annotations) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = Collections.unmodifiableList(newArrayList(interfaceNames));
+        this.annotations = Collections.unmodifiableSet(newLinkedHashSet(annotations));
+    }
+
+    /**
+     * Creates a new <code>ClassInfo</code> for the class examined by the given scanner.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static ClassInfo of(@Nonnull ConstantPoolScanner classFile) {
+        return new ClassInfo(classFile.getClassName(), classFile.getSuperClassName(),
+                classFile.getInterfaceNames(), classFile.getAnnotations());
+    }
+
+    @Override
+    public String toString() {
+        return "ClassInfo for [" + this.className + "]";
+    }
+
+    /**
+     * Returns the fully qualified name of the class.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public String getClassName() {
+        return this.className;
+    }
+
+    /**
+     * Returns the fully qualified name of the super class or <code>null</code> if there is none.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    public String getSuperClassName() {
+        return this.superClassName;
+    }
+
+    /**
+     * Returns the fully qualified names of the interfaces the class directly implements (or extends).
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<String> getInterfaceNames() {
+        return this.interfaceNames;
+    }
+
+    /**
+     * Returns the fully qualified names of the class-level annotations.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<String> getAnnotations() {
+        return this.annotations;
+    }
+
+    /**
+     * Indicates if the class is annotated with {@link java.lang.annotation.Inherited}, i.e. if it is an annotation
+     * that is inherited by subclasses.
+     *
+     * @since 2.2.0
+     */
+    public boolean isMarkedAsInherited() {
+        return this.annotations.contains("java.lang.annotation.Inherited");
+    }
+
+}
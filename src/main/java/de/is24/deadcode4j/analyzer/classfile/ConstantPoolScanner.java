@@ -0,0 +1,523 @@
+package de.is24.deadcode4j.analyzer.classfile;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+
+/**
+ * The <code>ConstantPoolScanner</code> determines the classes a class file refers to by reading the class file's
+ * constant pool, descriptors and annotation attributes directly from a <code>ByteBuffer</code>, i.e. without creating
+ * a Javassist object model.<br/>
+ * The referenced classes are the same as the ones reported by Javassist's <code>CtClass.getRefClasses()</code>: the
+ * classes of the constant pool, all types mentioned by the descriptors of the constant pool, fields and methods and
+ * all types mentioned by (parameter and type) annotations. Generic signatures, local variable tables and annotation
+ * defaults are not considered.<br/>
+ * Additionally, the scanner provides the class' super class, interfaces and class-level annotations as well as the
+ * values of its constants and the literals of its constant pool.
+ *
+ * @since 2.2.0
+ */
+public final class ConstantPoolScanner {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+
+    @Nonnull
+    private final ByteBuffer buffer;
+    @Nonnull
+    private final byte[] tags;
+    @Nonnull
+    private final int[] offsets;
+    @Nonnull
+    private final String[] utf8Cache;
+    @Nonnull
+    private final Set<String> referencedClasses = newHashSet();
+    @Nonnull
+    private final Set<String> annotations = newLinkedHashSet();
+    @Nonnull
+    private final String className;
+    @Nullable
+    private final String superClassName;
+    @Nonnull
+    private final List<String> interfaceNames;
+    @Nonnull
+    private final Map<String, Object> constants = newHashMap();
+    @Nullable
+    private String sourceFileName;
+    @Nullable
+    private Set<Object> literals;
+
+    private ConstantPoolScanner(@Nonnull ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a class file!");
+        }
+        skip(4); // minor & major version
+        int numberOfConstants = readU2();
+        this.tags = new byte[numberOfConstants];
+        this.offsets = new int[numberOfConstants];
+        this.utf8Cache = new String[numberOfConstants];
+        readConstantPool();
+        skip(2); // access flags
+        this.className = toJavaName(getUtf8(readU2AtConstant(readU2())));
+        int superClass = readU2();
+        this.superClassName = superClass == 0 ? null : toJavaName(getUtf8(readU2AtConstant(superClass)));
+        int numberOfInterfaces = readU2();
+        this.interfaceNames = newArrayListWithCapacity(numberOfInterfaces);
+        for (int i = 0; i < numberOfInterfaces; i++) {
+            this.interfaceNames.add(toJavaName(getUtf8(readU2AtConstant(readU2()))));
+        }
+        readMembers(true);
+        readMembers(false);
+        readAttributes(true, null);
+        scanConstantPool();
+    }
+
+    /**
+     * Scans the given class file, which must be positioned at its start.
+     *
+     * @throws IllegalArgumentException if the buffer does not contain a valid class file
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static ConstantPoolScanner scan(@Nonnull ByteBuffer classFile) {
+        try {
+            return new ConstantPoolScanner(classFile.duplicate());
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Class file is truncated!", e);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Class file is corrupt!", e);
+        }
+    }
+
+    /**
+     * Returns the fully qualified name of the scanned class.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public String getClassName() {
+        return this.className;
+    }
+
+    /**
+     * Returns the fully qualified names of the classes the scanned class refers to, including itself.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<String> getReferencedClasses() {
+        return Collections.unmodifiableSet(this.referencedClasses);
+    }
+
+    /**
+     * Returns the fully qualified name of the scanned class' super class or <code>null</code> if there is none (i.e.
+     * for <code>java.lang.Object</code>).
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    public String getSuperClassName() {
+        return this.superClassName;
+    }
+
+    /**
+     * Returns the fully qualified names of the interfaces the scanned class directly implements (or extends).
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<String> getInterfaceNames() {
+        return Collections.unmodifiableList(this.interfaceNames);
+    }
+
+    /**
+     * Returns the fully qualified names of the (visible and invisible) annotations of the scanned class.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<String> getAnnotations() {
+        return Collections.unmodifiableSet(this.annotations);
+    }
+
+    /**
+     * Returns the values of the scanned class' constants - i.e. of its <code>static final</code> fields having a
+     * <code>ConstantValue</code> attribute - mapped by the fields' names. As <code>private</code> constants cannot be
+     * referenced by other classes, they are not considered.<br/>
+     * The values are represented by <code>Integer</code>s (which includes <code>boolean</code>, <code>byte</code>,
+     * <code>char</code> &amp; <code>short</code> constants), <code>Long</code>s, <code>Float</code>s,
+     * <code>Double</code>s and <code>String</code>s.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Map<String, Object> getConstants() {
+        return Collections.unmodifiableMap(this.constants);
+    }
+
+    /**
+     * Returns the <code>Integer</code>, <code>Long</code>, <code>Float</code>, <code>Double</code> and
+     * <code>String</code> literals of the scanned class' constant pool. This includes the values of constants of other
+     * classes that were inlined by the compiler - unless they are small enough to be part of the instructions
+     * themselves, like <code>int</code> values between <code>-32768</code> and <code>32767</code>.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<Object> getLiterals() {
+        if (this.literals == null) {
+            Set<Object> values = newHashSet();
+            for (int i = 1; i < this.tags.length; i++) {
+                if (isLiteral(this.tags[i])) {
+                    values.add(getLiteral(i));
+                }
+            }
+            this.literals = Collections.unmodifiableSet(values);
+        }
+        return this.literals;
+    }
+
+    /**
+     * Returns the name of the source file the scanned class was compiled from (e.g. <code>Foo.java</code> for the
+     * class <code>Foo$Bar</code>) or <code>null</code> if the class file does not provide it.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    public String getSourceFileName() {
+        return this.sourceFileName;
+    }
+
+    private static boolean isLiteral(int tag) {
+        return tag == CONSTANT_INTEGER
+                || tag == CONSTANT_FLOAT
+                || tag == CONSTANT_LONG
+                || tag == CONSTANT_DOUBLE
+                || tag == CONSTANT_STRING;
+    }
+
+    private static boolean isConstant(int accessFlags) {
+        return (accessFlags & (ACC_STATIC | ACC_FINAL)) == (ACC_STATIC | ACC_FINAL) && (accessFlags & ACC_PRIVATE) == 0;
+    }
+
+    @Nonnull
+    private static String toJavaName(@Nonnull String jvmName) {
+        return jvmName.replace('/', '.');
+    }
+
+    private void readConstantPool() {
+        for (int i = 1; i < this.tags.length; i++) {
+            int tag = this.buffer.get();
+            this.tags[i] = (byte) tag;
+            this.offsets[i] = this.buffer.position();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    skip(readU2());
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    skip(2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    skip(3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    skip(4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    skip(8);
+                    i++;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag [" + tag + "] at index " + i + "!");
+            }
+        }
+    }
+
+    private void scanConstantPool() {
+        for (int i = 1; i < this.tags.length; i++) {
+            switch (this.tags[i]) {
+                case CONSTANT_CLASS:
+                    String name = getUtf8(readU2AtConstant(i));
+                    if (name.charAt(0) == '[') {
+                        scanDescriptor(name);
+                    } else {
+                        this.referencedClasses.add(toJavaName(name));
+                    }
+                    break;
+                case CONSTANT_NAME_AND_TYPE:
+                    scanDescriptor(getUtf8(this.buffer.getShort(this.offsets[i] + 2) & 0xFFFF));
+                    break;
+                case CONSTANT_METHOD_TYPE:
+                    scanDescriptor(getUtf8(readU2AtConstant(i)));
+                    break;
+                default:
+            }
+        }
+    }
+
+    private void readMembers(boolean fields) {
+        for (int i = readU2(); i > 0; i--) {
+            int accessFlags = readU2();
+            int name = readU2();
+            scanDescriptor(getUtf8(readU2()));
+            readAttributes(false, fields && isConstant(accessFlags) ? getUtf8(name) : null);
+        }
+    }
+
+    /**
+     * @param constantName the name of the field whose attributes are read, if it is a constant
+     */
+    private void readAttributes(boolean classAttributes, @Nullable String constantName) {
+        for (int i = readU2(); i > 0; i--) {
+            String name = getUtf8(readU2());
+            int length = this.buffer.getInt();
+            int end = this.buffer.position() + length;
+            if ("Code".equals(name)) {
+                skip(4); // max stack & max locals
+                skip(this.buffer.getInt()); // code
+                skip(8 * readU2()); // exception table
+                readAttributes(false, null);
+            } else if ("ConstantValue".equals(name)) {
+                if (constantName != null) {
+                    this.constants.put(constantName, getLiteral(readU2()));
+                }
+            } else if ("SourceFile".equals(name)) {
+                if (classAttributes) {
+                    this.sourceFileName = getUtf8(readU2());
+                }
+            } else if ("RuntimeVisibleAnnotations".equals(name) || "RuntimeInvisibleAnnotations".equals(name)) {
+                if (classAttributes) {
+                    readClassAnnotations();
+                } else {
+                    readAnnotations();
+                }
+            } else if ("RuntimeVisibleParameterAnnotations".equals(name)
+                    || "RuntimeInvisibleParameterAnnotations".equals(name)) {
+                for (int parameters = this.buffer.get() & 0xFF; parameters > 0; parameters--) {
+                    readAnnotations();
+                }
+            } else if ("RuntimeVisibleTypeAnnotations".equals(name) || "RuntimeInvisibleTypeAnnotations".equals(name)) {
+                for (int annotations = readU2(); annotations > 0; annotations--) {
+                    readTypeAnnotationTarget();
+                    readAnnotation();
+                }
+            }
+            this.buffer.position(end);
+        }
+    }
+
+    private void readAnnotations() {
+        for (int annotations = readU2(); annotations > 0; annotations--) {
+            readAnnotation();
+        }
+    }
+
+    private void readClassAnnotations() {
+        for (int annotations = readU2(); annotations > 0; annotations--) {
+            String type = getUtf8(readU2());
+            scanDescriptor(type);
+            this.annotations.add(toJavaName(type.substring(1, type.length() - 1)));
+            readElementValuePairs();
+        }
+    }
+
+    private void readAnnotation() {
+        scanDescriptor(getUtf8(readU2()));
+        readElementValuePairs();
+    }
+
+    private void readElementValuePairs() {
+        for (int pairs = readU2(); pairs > 0; pairs--) {
+            skip(2); // element name
+            readElementValue();
+        }
+    }
+
+    private void readElementValue() {
+        int tag = this.buffer.get();
+        switch (tag) {
+            case 'e':
+                scanDescriptor(getUtf8(readU2()));
+                skip(2); // constant name
+                break;
+            case 'c':
+                scanDescriptor(getUtf8(readU2()));
+                break;
+            case '@':
+                readAnnotation();
+                break;
+            case '[':
+                for (int values = readU2(); values > 0; values--) {
+                    readElementValue();
+                }
+                break;
+            default:
+                skip(2); // constant value
+        }
+    }
+
+    private void readTypeAnnotationTarget() {
+        int targetType = this.buffer.get() & 0xFF;
+        switch (targetType) {
+            case 0x00: // type parameter of class or interface
+            case 0x01: // type parameter of method or constructor
+            case 0x16: // formal parameter
+                skip(1);
+                break;
+            case 0x10: // super type
+            case 0x17: // throws
+            case 0x42: // exception parameter
+            case 0x43: // instanceof
+            case 0x44: // new
+            case 0x45: // constructor reference
+            case 0x46: // method reference
+            case 0x11: // bound of type parameter of class or interface
+            case 0x12: // bound of type parameter of method or constructor
+                skip(2);
+                break;
+            case 0x13: // field
+            case 0x14: // return type
+            case 0x15: // receiver type
+                break;
+            case 0x40: // local variable
+            case 0x41: // resource variable
+                skip(6 * readU2());
+                break;
+            case 0x47: // cast
+            case 0x48: // argument of constructor invocation
+            case 0x49: // argument of method invocation
+            case 0x4A: // argument of generic constructor reference
+            case 0x4B: // argument of generic method reference
+                skip(3);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown type annotation target [" + targetType + "]!");
+        }
+        skip(2 * (this.buffer.get() & 0xFF)); // type path
+    }
+
+    /**
+     * Adds each <code>L...;</code> sequence of the descriptor; this is the same (lenient) approach Javassist takes.
+     */
+    private void scanDescriptor(@Nonnull String descriptor) {
+        int i = 0;
+        for (; ; ) {
+            int start = descriptor.indexOf('L', i);
+            if (start < 0) {
+                return;
+            }
+            int end = descriptor.indexOf(';', start);
+            if (end < 0) {
+                return;
+            }
+            this.referencedClasses.add(toJavaName(descriptor.substring(start + 1, end)));
+            i = end + 1;
+        }
+    }
+
+    @Nonnull
+    private Object getLiteral(int index) {
+        int position = this.offsets[index];
+        switch (this.tags[index]) {
+            case CONSTANT_INTEGER:
+                return this.buffer.getInt(position);
+            case CONSTANT_FLOAT:
+                return Float.intBitsToFloat(this.buffer.getInt(position));
+            case CONSTANT_LONG:
+                return this.buffer.getLong(position);
+            case CONSTANT_DOUBLE:
+                return Double.longBitsToDouble(this.buffer.getLong(position));
+            case CONSTANT_STRING:
+                return getUtf8(readU2AtConstant(index));
+            default:
+                throw new IllegalArgumentException("Constant at index " + index + " is no literal!");
+        }
+    }
+
+    private int readU2() {
+        return this.buffer.getShort() & 0xFFFF;
+    }
+
+    private int readU2AtConstant(int index) {
+        return this.buffer.getShort(this.offsets[index]) & 0xFFFF;
+    }
+
+    private void skip(int numberOfBytes) {
+        this.buffer.position(this.buffer.position() + numberOfBytes);
+    }
+
+    /**
+     * Decodes the <i>modified UTF-8</i> constant with the given index.
+     */
+    @Nonnull
+    private String getUtf8(int index) {
+        String value = this.utf8Cache[index];
+        if (value != null) {
+            return value;
+        }
+        if (this.tags[index] != CONSTANT_UTF8) {
+            throw new IllegalArgumentException("Constant at index " + index + " is no UTF8 constant!");
+        }
+        int position = this.offsets[index];
+        int length = this.buffer.getShort(position) & 0xFFFF;
+        char[] chars = new char[length];
+        int numberOfChars = 0;
+        for (int i = position + 2, end = position + 2 + length; i < end; ) {
+            int b = this.buffer.get(i++) & 0xFF;
+            if (b < 0x80) {
+                chars[numberOfChars++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[numberOfChars++] = (char) (((b & 0x1F) << 6) | (this.buffer.get(i++) & 0x3F));
+            } else {
+                chars[numberOfChars++] = (char) (((b & 0x0F) << 12)
+                        | ((this.buffer.get(i++) & 0x3F) << 6) | (this.buffer.get(i++) & 0x3F));
+            }
+        }
+        value = new String(chars, 0, numberOfChars);
+        this.utf8Cache[index] = value;
+        return value;
+    }
+
+}
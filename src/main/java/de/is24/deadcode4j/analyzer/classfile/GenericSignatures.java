@@ -0,0 +1,142 @@
+package de.is24.deadcode4j.analyzer.classfile;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * Provides convenience methods for dealing with the generic signatures stored in the <code>Signature</code> and
+ * <code>LocalVariableTypeTable</code> attributes of a class file.
+ *
+ * @since 2.2.0
+ */
+public final class GenericSignatures {
+
+    private GenericSignatures() {}
+
+    /**
+     * Returns the classes used as type arguments by the given class, field, method or local variable signature, e.g.
+     * <code>java.lang.String</code> &amp; <code>java.util.Map$Entry</code> for
+     * <code>Ljava/util/List&lt;Ljava/util/Map$Entry&lt;Ljava/lang/String;TT;&gt;;&gt;;</code>. Type variables and
+     * primitive types are ignored, for arrays the component type is reported.
+     *
+     * @throws IllegalArgumentException if the signature is malformed
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static Set<String> getTypeArguments(@Nonnull String signature) {
+        Set<String> typeArguments = newHashSet();
+        try {
+            int index = 0;
+            if (signature.charAt(0) == '<') {
+                index = parseTypeParameters(signature, index, typeArguments);
+            }
+            while (index < signature.length()) {
+                char c = signature.charAt(index);
+                if (c == '(' || c == ')' || c == '^') {
+                    index++;
+                } else {
+                    index = parseType(signature, index, false, typeArguments);
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed signature [" + signature + "]!", e);
+        }
+        return typeArguments;
+    }
+
+    private static int parseTypeParameters(@Nonnull String signature, int index, @Nonnull Set<String> typeArguments) {
+        index++;
+        while (signature.charAt(index) != '>') {
+            index = signature.indexOf(':', index);
+            if (index < 0) {
+                throw new IllegalArgumentException("Malformed type parameter in [" + signature + "]!");
+            }
+            while (signature.charAt(index) == ':') {
+                index++;
+                if (signature.charAt(index) != ':') {
+                    index = parseType(signature, index, false, typeArguments);
+                }
+            }
+        }
+        return index + 1;
+    }
+
+    private static int parseType(@Nonnull String signature,
+                                 int index,
+                                 boolean isTypeArgument,
+                                 @Nonnull Set<String> typeArguments) {
+        switch (signature.charAt(index)) {
+            case 'L':
+                return parseClassType(signature, index + 1, isTypeArgument, typeArguments);
+            case 'T':
+                int endOfTypeVariable = signature.indexOf(';', index);
+                if (endOfTypeVariable < 0) {
+                    throw new IllegalArgumentException("Malformed type variable in [" + signature + "]!");
+                }
+                return endOfTypeVariable + 1;
+            case '[':
+                return parseType(signature, index + 1, isTypeArgument, typeArguments);
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'F':
+            case 'I':
+            case 'J':
+            case 'S':
+            case 'V':
+            case 'Z':
+                return index + 1;
+            default:
+                throw new IllegalArgumentException(
+                        "Unexpected character [" + signature.charAt(index) + "] in [" + signature + "]!");
+        }
+    }
+
+    private static int parseClassType(@Nonnull String signature,
+                                      int index,
+                                      boolean isTypeArgument,
+                                      @Nonnull Set<String> typeArguments) {
+        StringBuilder buffy = new StringBuilder();
+        for (; ; ) {
+            char c = signature.charAt(index++);
+            switch (c) {
+                case '/':
+                    buffy.append('.');
+                    break;
+                case '.':
+                    buffy.append('$');
+                    break;
+                case '<':
+                    index = parseTypeArguments(signature, index, typeArguments);
+                    break;
+                case ';':
+                    if (isTypeArgument) {
+                        typeArguments.add(buffy.toString());
+                    }
+                    return index;
+                default:
+                    buffy.append(c);
+            }
+        }
+    }
+
+    private static int parseTypeArguments(@Nonnull String signature, int index, @Nonnull Set<String> typeArguments) {
+        for (; ; ) {
+            char c = signature.charAt(index);
+            if (c == '>') {
+                return index + 1;
+            }
+            if (c == '*') {
+                index++;
+                continue;
+            }
+            if (c == '+' || c == '-') {
+                index++;
+            }
+            index = parseType(signature, index, true, typeArguments);
+        }
+    }
+
+}
@@ -0,0 +1,347 @@
+package de.is24.deadcode4j.analyzer.classfile;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * A <code>JarIndex</code> lists the classes a JAR file contains along with their {@link ClassInfo metadata}.
+ * Instances are thread-safe and thus can be shared: {@link #indexOf(java.io.File)} provides a process-wide index for
+ * each JAR file, which is created only once as long as the file's size and modification date do not change.
+ * This way, dependencies shared by several modules are read only once.<br/>
+ * Creating an index only lists the entries of the JAR file; the metadata of a class is read upon the
+ * {@link #getClassInfo(String) first request} and kept afterwards, so that classes never looked at are not read at
+ * all.<br/>
+ * If a {@link #indexOf(java.io.File, java.io.File) storage directory} is given, the indexes are stored there, named
+ * after the checksum of the JAR file's content; thus dependencies are read only once across several runs. As a
+ * stored index includes the metadata of all classes, the JAR file is read completely before storing its index.
+ *
+ * @since 2.2.0
+ */
+public final class JarIndex {
+
+    private static final Cache<Key, JarIndex> SHARED_INDEXES = CacheBuilder.newBuilder().softValues().build();
+    @Nonnull
+    private final File file;
+    @Nonnull
+    private final Set<String> classNames;
+    @Nonnull
+    private final ConcurrentMap<String, Optional<ClassInfo>> classInfos =
+            new ConcurrentHashMap<String, Optional<ClassInfo>>();
+
+    private JarIndex(@Nonnull File file, @Nonnull Set<String> classNames) {
+        this.file = file;
+        this.classNames = Collections.unmodifiableSet(classNames);
+    }
+
+    /**
+     * Creates a complete index, i.e. the JAR file is not read anymore; classes without <code>ClassInfo</code> are
+     * considered to be unreadable.
+     */
+    JarIndex(@Nonnull File file, @Nonnull Set<String> classNames, @Nonnull Map<String, ClassInfo> classInfos) {
+        this(file, classNames);
+        for (String className : classNames) {
+            this.classInfos.put(className, Optional.fromNullable(classInfos.get(className)));
+        }
+    }
+
+    /**
+     * Returns the shared index for the given JAR file; creates it if the file was not indexed yet or changed since.
+     *
+     * @throws IOException if the JAR file cannot be read
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static JarIndex indexOf(@Nonnull File jarFile) throws IOException {
+        return indexOf(jarFile, null);
+    }
+
+    /**
+     * Returns the shared index for the given JAR file; if the file was not indexed yet or changed since, the index is
+     * read from or stored in the given directory.<br/>
+     * The stored indexes are named after the checksum of the JAR file's content. To avoid calculating the checksum
+     * each time, a small reference file - named after the JAR file's path, size and modification date - records the
+     * checksum; it is calculated only if there is no such reference.
+     *
+     * @param storageDirectory the directory in which to store the indexes; <code>null</code> disables storing them
+     * @throws IOException if the JAR file cannot be read
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static JarIndex indexOf(@Nonnull final File jarFile, @Nullable final File storageDirectory)
+            throws IOException {
+        try {
+            return SHARED_INDEXES.get(new Key(jarFile), new Callable<JarIndex>() {
+                @Override
+                public JarIndex call() throws IOException {
+                    return storageDirectory == null
+                            ? listClassesOf(jarFile)
+                            : loadOrCreateIndexFor(jarFile, storageDirectory);
+                }
+            });
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (IOException.class.isInstance(cause)) {
+                throw IOException.class.cast(cause);
+            }
+            throw new RuntimeException("Failed to index [" + jarFile + "]!", cause);
+        }
+    }
+
+    /**
+     * Returns the reference file recording the checksum of the given JAR file.
+     */
+    @Nonnull
+    static File referenceFileFor(@Nonnull File jarFile, @Nonnull File directory) {
+        File file = jarFile.getAbsoluteFile();
+        String key = file.getPath() + "|" + file.length() + "|" + file.lastModified();
+        return new File(directory, Hashing.sha1().hashString(key, Charsets.UTF_8) + ".ref");
+    }
+
+    @Nonnull
+    private static JarIndex loadOrCreateIndexFor(@Nonnull File jarFile, @Nonnull File directory) throws IOException {
+        Logger logger = LoggerFactory.getLogger(JarIndex.class);
+        File referenceFile = referenceFileFor(jarFile, directory);
+        if (referenceFile.isFile()) {
+            try {
+                File indexFile = new File(directory, JarIndexFile.readReference(referenceFile) + ".index");
+                JarIndex jarIndex = JarIndexFile.read(indexFile, jarFile);
+                logger.debug("Read index of [{}] from [{}].", jarFile, indexFile);
+                return jarIndex;
+            } catch (IOException e) {
+                logger.debug("Failed to read index referenced by [{}]; calculating checksum of [{}].",
+                        referenceFile, jarFile, e);
+            }
+        }
+        String checksum = Files.hash(jarFile, Hashing.sha1()).toString();
+        File indexFile = new File(directory, checksum + ".index");
+        JarIndex jarIndex = null;
+        if (indexFile.isFile()) {
+            try {
+                jarIndex = JarIndexFile.read(indexFile, jarFile);
+                logger.debug("Read index of [{}] from [{}].", jarFile, indexFile);
+            } catch (IOException e) {
+                logger.warn("Failed to read index [{}]; indexing [{}] again.", indexFile, jarFile, e);
+            }
+        }
+        try {
+            if (jarIndex == null) {
+                jarIndex = readClassesOf(jarFile);
+                JarIndexFile.write(jarIndex, indexFile);
+                logger.debug("Stored index of [{}] in [{}].", jarFile, indexFile);
+            }
+            JarIndexFile.writeReference(checksum, referenceFile);
+        } catch (IOException e) {
+            logger.warn("Failed to store index of [{}] in [{}].", jarFile, indexFile, e);
+        }
+        return jarIndex;
+    }
+
+    /**
+     * Creates a new index for the given JAR file, listing the names of all class files - just like Javassist does when
+     * looking for a class. The class files are read on demand.
+     */
+    @Nonnull
+    private static JarIndex listClassesOf(@Nonnull File jarFile) throws IOException {
+        Set<String> classNames = newHashSet();
+        ZipFile zipFile = new ZipFile(jarFile);
+        try {
+            for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements(); ) {
+                ZipEntry entry = entries.nextElement();
+                String className = toClassName(entry);
+                if (className != null) {
+                    classNames.add(className);
+                }
+            }
+        } finally {
+            zipFile.close();
+        }
+        return new JarIndex(jarFile, classNames);
+    }
+
+    /**
+     * Creates a new complete index for the given JAR file, reading all of its class files; a class file that cannot
+     * be scanned has no <code>ClassInfo</code>.
+     */
+    @Nonnull
+    private static JarIndex readClassesOf(@Nonnull File jarFile) throws IOException {
+        Set<String> classNames = newHashSet();
+        Map<String, ClassInfo> classInfos = newHashMap();
+        ZipFile zipFile = new ZipFile(jarFile);
+        try {
+            for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements(); ) {
+                ZipEntry entry = entries.nextElement();
+                String className = toClassName(entry);
+                if (className != null) {
+                    classNames.add(className);
+                    ClassInfo classInfo = scan(zipFile, entry).orNull();
+                    if (classInfo != null) {
+                        classInfos.put(className, classInfo);
+                    }
+                }
+            }
+        } finally {
+            zipFile.close();
+        }
+        return new JarIndex(jarFile, classNames, classInfos);
+    }
+
+    @Nullable
+    private static String toClassName(@Nonnull ZipEntry entry) {
+        String entryName = entry.getName();
+        if (entry.isDirectory() || !entryName.endsWith(".class")) {
+            return null;
+        }
+        return entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.');
+    }
+
+    @Nonnull
+    private static Optional<ClassInfo> scan(@Nonnull ZipFile zipFile, @Nonnull ZipEntry entry) throws IOException {
+        InputStream inputStream = zipFile.getInputStream(entry);
+        try {
+            return Optional.of(ClassInfo.of(
+                    ConstantPoolScanner.scan(ByteBuffer.wrap(IOUtils.toByteArray(inputStream)))));
+        } catch (IllegalArgumentException ignored) {
+            // not a valid class file
+            return Optional.absent();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JarIndex for [" + this.file + "]";
+    }
+
+    /**
+     * Returns the indexed JAR file.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Returns the fully qualified names of the classes contained by the JAR file.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<String> getClassNames() {
+        return this.classNames;
+    }
+
+    /**
+     * Indicates if the JAR file contains the specified class.
+     *
+     * @since 2.2.0
+     */
+    public boolean contains(@Nonnull String className) {
+        return this.classNames.contains(className);
+    }
+
+    /**
+     * Returns the metadata of the specified class or <code>null</code> if the JAR file does not contain the class or
+     * its class file could not be scanned. The class file is read upon the first request for it.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    public ClassInfo getClassInfo(@Nonnull String className) {
+        if (!contains(className)) {
+            return null;
+        }
+        Optional<ClassInfo> classInfo = this.classInfos.get(className);
+        if (classInfo == null) {
+            classInfo = readClassInfo(className);
+            if (classInfo == null) {
+                return null;
+            }
+            this.classInfos.putIfAbsent(className, classInfo);
+        }
+        return classInfo.orNull();
+    }
+
+    /**
+     * Reads the metadata of the specified class; returns <code>null</code> if the JAR file cannot be read, so that
+     * the attempt is repeated upon the next request.
+     */
+    @Nullable
+    private Optional<ClassInfo> readClassInfo(@Nonnull String className) {
+        try {
+            ZipFile zipFile = new ZipFile(this.file);
+            try {
+                ZipEntry entry = zipFile.getEntry(className.replace('.', '/') + ".class");
+                return entry == null ? Optional.<ClassInfo>absent() : scan(zipFile, entry);
+            } finally {
+                zipFile.close();
+            }
+        } catch (IOException e) {
+            LoggerFactory.getLogger(JarIndex.class).debug("Failed to read [{}] from [{}]!", className, this.file, e);
+            return null;
+        }
+    }
+
+    private static final class Key {
+        @Nonnull
+        private final File file;
+        private final long size;
+        private final long lastModified;
+
+        public Key(@Nonnull File file) {
+            this.file = file.getAbsoluteFile();
+            this.size = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!Key.class.isInstance(obj)) {
+                return false;
+            }
+            Key other = Key.class.cast(obj);
+            return this.size == other.size && this.lastModified == other.lastModified && this.file.equals(other.file);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.file.hashCode();
+            result = 31 * result + (int) (this.size ^ (this.size >>> 32));
+            result = 31 * result + (int) (this.lastModified ^ (this.lastModified >>> 32));
+            return result;
+        }
+    }
+
+}
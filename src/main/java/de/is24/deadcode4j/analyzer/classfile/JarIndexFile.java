@@ -0,0 +1,233 @@
+package de.is24.deadcode4j.analyzer.classfile;
+
+import com.google.common.base.Charsets;
+import org.apache.commons.io.FileUtils;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * Reads and writes {@link JarIndex} instances using a compact binary format: all names are stored once in a string
+ * table and referenced by their index. Additionally, it reads and writes the reference files recording the checksum
+ * of a JAR file.
+ *
+ * @since 2.2.0
+ */
+final class JarIndexFile {
+
+    private static final int MAGIC = 0x44433449;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NO_NAME = -1;
+
+    private JarIndexFile() {
+    }
+
+    /**
+     * Reads the index stored in the given file.
+     *
+     * @param indexFile the file to read
+     * @param jarFile   the JAR file the index belongs to
+     * @throws IOException if the file cannot be read or is not a valid index file
+     */
+    @Nonnull
+    public static JarIndex read(@Nonnull File indexFile, @Nonnull File jarFile) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+        try {
+            return read(in, jarFile);
+        } catch (EOFException e) {
+            throw new IOException("Index file [" + indexFile + "] is truncated!", e);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Index file [" + indexFile + "] is corrupt!", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Index file [" + indexFile + "] is corrupt!", e);
+        } catch (NegativeArraySizeException e) {
+            throw new IOException("Index file [" + indexFile + "] is corrupt!", e);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Nonnull
+    private static JarIndex read(@Nonnull DataInputStream in, @Nonnull File jarFile) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unknown index file format!");
+        }
+        String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, Charsets.UTF_8);
+        }
+        int numberOfClasses = in.readInt();
+        Set<String> classNames = newHashSet();
+        Map<String, ClassInfo> classInfos = newHashMap();
+        for (int i = 0; i < numberOfClasses; i++) {
+            String className = strings[in.readInt()];
+            classNames.add(className);
+            if (in.readByte() == 0) {
+                continue;
+            }
+            int superClass = in.readInt();
+            List<String> interfaceNames = readNames(in, strings);
+            List<String> annotations = readNames(in, strings);
+            classInfos.put(className, new ClassInfo(
+                    className, superClass == NO_NAME ? null : strings[superClass], interfaceNames, annotations));
+        }
+        return new JarIndex(jarFile, classNames, classInfos);
+    }
+
+    @Nonnull
+    private static List<String> readNames(@Nonnull DataInputStream in, @Nonnull String[] strings) throws IOException {
+        int numberOfNames = in.readInt();
+        List<String> names = newArrayListWithCapacity(numberOfNames);
+        for (int i = 0; i < numberOfNames; i++) {
+            names.add(strings[in.readInt()]);
+        }
+        return names;
+    }
+
+    /**
+     * Writes the given index to the given file. The index is written to a temporary file in the same directory first,
+     * which is renamed afterwards; thus the file never contains a partially written index. If the file exists
+     * already, it is replaced.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(@Nonnull JarIndex jarIndex, @Nonnull File indexFile) throws IOException {
+        Map<String, Integer> strings = newLinkedHashMap();
+        for (String className : jarIndex.getClassNames()) {
+            register(strings, className);
+            ClassInfo classInfo = jarIndex.getClassInfo(className);
+            if (classInfo != null) {
+                if (classInfo.getSuperClassName() != null) {
+                    register(strings, classInfo.getSuperClassName());
+                }
+                for (String name : classInfo.getInterfaceNames()) {
+                    register(strings, name);
+                }
+                for (String name : classInfo.getAnnotations()) {
+                    register(strings, name);
+                }
+            }
+        }
+
+        File tempFile = createTempFileFor(indexFile);
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(strings.size());
+                for (String string : strings.keySet()) {
+                    byte[] bytes = string.getBytes(Charsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+                out.writeInt(jarIndex.getClassNames().size());
+                for (String className : jarIndex.getClassNames()) {
+                    out.writeInt(strings.get(className));
+                    ClassInfo classInfo = jarIndex.getClassInfo(className);
+                    if (classInfo == null) {
+                        out.writeByte(0);
+                        continue;
+                    }
+                    out.writeByte(1);
+                    String superClassName = classInfo.getSuperClassName();
+                    out.writeInt(superClassName == null ? NO_NAME : strings.get(superClassName));
+                    writeNames(out, strings, classInfo.getInterfaceNames());
+                    writeNames(out, strings, classInfo.getAnnotations());
+                }
+            } finally {
+                out.close();
+            }
+            replace(indexFile, tempFile);
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Reads the checksum recorded by the given reference file.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    @Nonnull
+    public static String readReference(@Nonnull File referenceFile) throws IOException {
+        String checksum = FileUtils.readFileToString(referenceFile, Charsets.UTF_8).trim();
+        if (checksum.isEmpty()) {
+            throw new IOException("Reference file [" + referenceFile + "] is empty!");
+        }
+        return checksum;
+    }
+
+    /**
+     * Writes the given checksum to the given reference file, just like {@link #write(JarIndex, File)} writes an
+     * index.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeReference(@Nonnull String checksum, @Nonnull File referenceFile) throws IOException {
+        File tempFile = createTempFileFor(referenceFile);
+        try {
+            FileUtils.writeStringToFile(tempFile, checksum, Charsets.UTF_8);
+            replace(referenceFile, tempFile);
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    @Nonnull
+    private static File createTempFileFor(@Nonnull File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        FileUtils.forceMkdir(directory);
+        return File.createTempFile(file.getName(), ".tmp", directory);
+    }
+
+    /**
+     * Renames the temporary file to the given file. Some file systems refuse to rename a file if the target exists; in
+     * this case, the target is deleted first. If the target exists afterwards nonetheless, another process has written
+     * the same file concurrently, which is fine.
+     */
+    private static void replace(@Nonnull File file, @Nonnull File tempFile) throws IOException {
+        if (tempFile.renameTo(file)) {
+            return;
+        }
+        FileUtils.deleteQuietly(file);
+        if (!tempFile.renameTo(file) && !file.isFile()) {
+            throw new IOException("Failed to rename [" + tempFile + "] to [" + file + "]!");
+        }
+    }
+
+    private static void register(@Nonnull Map<String, Integer> strings, @Nonnull String string) {
+        if (!strings.containsKey(string)) {
+            strings.put(string, strings.size());
+        }
+    }
+
+    private static void writeNames(@Nonnull DataOutputStream out,
+                                   @Nonnull Map<String, Integer> strings,
+                                   @Nonnull Collection<String> names) throws IOException {
+        out.writeInt(names.size());
+        for (String name : names) {
+            out.writeInt(strings.get(name));
+        }
+    }
+
+}
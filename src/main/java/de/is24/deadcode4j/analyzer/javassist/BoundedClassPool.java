@@ -0,0 +1,105 @@
+package de.is24.deadcode4j.analyzer.javassist;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import javassist.ClassPool;
+import javassist.CtClass;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The <code>BoundedClassPool</code> is a {@link javassist.ClassPool} caching only a limited number of classes: if the
+ * limit is exceeded, the least recently used class is removed from the pool. The pool keeps only a weak reference to an
+ * evicted class; as long as the class is still in use, it is put back into the pool if requested again - thus a class
+ * is represented by the same <code>CtClass</code> instance as long as anyone refers to it. Otherwise, it will be loaded
+ * again. Classes {@link CtClass#detach() detached} from the pool are loaded again in any case.<br/>
+ * The primitive types are not subject to eviction.
+ *
+ * @since 2.2.0
+ */
+final class BoundedClassPool extends ClassPool {
+
+    private final int maximumSize;
+    @Nonnull
+    private final Map<String, Boolean> cachedClasses = new LinkedHashMap<String, Boolean>(64, 0.75f, true);
+    @Nonnull
+    private final Cache<String, CtClass> evictedClasses = CacheBuilder.newBuilder().weakValues().build();
+
+    /**
+     * Creates a new <code>BoundedClassPool</code> using the system class path.
+     *
+     * @param maximumSize the maximum number of classes to cache
+     * @since 2.2.0
+     */
+    public BoundedClassPool(int maximumSize) {
+        super(true);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the number of classes currently cached (excluding the primitive types).
+     *
+     * @since 2.2.0
+     */
+    public synchronized int getNumberOfCachedClasses() {
+        return this.cachedClasses.size();
+    }
+
+    /**
+     * Removes all classes from the pool.
+     *
+     * @since 2.2.0
+     */
+    public synchronized void evictAll() {
+        for (String className : this.cachedClasses.keySet()) {
+            super.removeCached(className);
+        }
+        this.cachedClasses.clear();
+        this.evictedClasses.invalidateAll();
+    }
+
+    @Override
+    protected synchronized CtClass getCached(String className) {
+        CtClass clazz = super.getCached(className);
+        if (clazz != null) {
+            this.cachedClasses.get(className);
+            return clazz;
+        }
+        clazz = this.evictedClasses.getIfPresent(className);
+        if (clazz != null) {
+            this.evictedClasses.invalidate(className);
+            cacheCtClass(className, clazz, false);
+        }
+        return clazz;
+    }
+
+    @Override
+    protected synchronized void cacheCtClass(String className, CtClass clazz, boolean dynamic) {
+        if (clazz == null) {
+            // CtClass.detach() "restores" the class it found in the pool - which is none if it was already evicted
+            return;
+        }
+        super.cacheCtClass(className, clazz, dynamic);
+        this.cachedClasses.put(className, Boolean.TRUE);
+        Iterator<String> leastRecentlyUsedClasses = this.cachedClasses.keySet().iterator();
+        while (this.cachedClasses.size() > this.maximumSize) {
+            String evictedClassName = leastRecentlyUsedClasses.next();
+            CtClass evictedClass = super.removeCached(evictedClassName);
+            if (evictedClass != null) {
+                this.evictedClasses.put(evictedClassName, evictedClass);
+            }
+            leastRecentlyUsedClasses.remove();
+        }
+    }
+
+    @Override
+    protected synchronized CtClass removeCached(String className) {
+        this.cachedClasses.remove(className);
+        this.evictedClasses.invalidate(className);
+        return super.removeCached(className);
+    }
+
+}
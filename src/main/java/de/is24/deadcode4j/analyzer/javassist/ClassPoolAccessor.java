@@ -5,27 +5,63 @@ import com.google.common.base.Optional;
 import com.google.common.cache.LoadingCache;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.Repository;
+import de.is24.deadcode4j.analyzer.classfile.ClassInfo;
+import de.is24.deadcode4j.analyzer.classfile.JarIndex;
 import de.is24.guava.NonNullFunction;
 import de.is24.guava.SequentialLoadingCache;
+import javassist.ClassClassPath;
+import javassist.ClassPath;
 import javassist.ClassPool;
+import javassist.CtClass;
 import javassist.NotFoundException;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.annotation.Annotation;
+import org.apache.commons.io.FileUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Optional.of;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.javassist.CtClasses.getCtClass;
+import static java.util.Arrays.asList;
 
 /**
  * The <code>ClassPoolAccessor</code> provides access to a Javassist {@link javassist.ClassPool} with fully configured
- * class path. It also provides some convenience methods to deal with loading & resolving classes.
+ * class path. It also provides some convenience methods to deal with loading & resolving classes.<br/>
+ * The module's output directory is looked up first; the dependencies' JAR files are looked up using the
+ * {@link JarIndex shared indexes}, so they are read only once even if they are used by several modules. The indexes
+ * also serve as a fast path to {@link #getClassInfo(String) the metadata of classes}. Together with the output
+ * directory's class files, they provide the set of all class names, which lets {@link #resolveClass(CharSequence)}
+ * dismiss non-existing classes without probing each class path entry. This set is calculated only once per module: it
+ * is {@link AnalysisContext#getOrCreateSharedEntry(Object, NonNullFunction) shared} by the accessors of all contexts
+ * analyzing the module concurrently, whereas each of them has its own - not thread-safe - <code>ClassPool</code>.<br/>
+ * The pool caches a {@link #MAXIMUM_NUMBER_OF_CACHED_CLASSES limited number} of classes. As the pool keeps the class
+ * path's JAR files open, the accessor must be {@link #close() closed} once the analysis of the module is finished;
+ * the {@link AnalysisContext} takes care of this.
  *
  * @since 2.0.0
  */
-public final class ClassPoolAccessor {
+public final class ClassPoolAccessor implements Closeable {
+    /**
+     * The maximum number of classes the pool caches.
+     *
+     * @since 2.2.0
+     */
+    public static final int MAXIMUM_NUMBER_OF_CACHED_CLASSES = 2000;
+    private static final Set<String> PRIMITIVE_TYPES = newHashSet(
+            "boolean", "byte", "char", "double", "float", "int", "long", "short", "void");
     @Nonnull
     private static final NonNullFunction<AnalysisContext, ClassPoolAccessor> SUPPLIER = new NonNullFunction<AnalysisContext, ClassPoolAccessor>() {
         @Nonnull
@@ -35,13 +71,34 @@ public final class ClassPoolAccessor {
         }
     };
     @Nonnull
-    private final ClassPool classPool;
+    private final BoundedClassPool classPool;
+    @Nonnull
+    private final List<ClassPath> classPath = newArrayList();
+    @Nonnull
+    private final List<File> classPathDirectories = newArrayList();
+    @Nonnull
+    private final ClassPath systemPath = new ClassClassPath(Object.class);
+    private boolean classPathIsEnumerable = true;
+    @Nullable
+    private final ClassNames classNames;
     @Nonnull
     private final LoadingCache<String, Optional<String>> classResolver;
+    @Nonnull
+    private final LoadingCache<String, Optional<String>> systemClassResolver;
 
     public ClassPoolAccessor(@Nonnull AnalysisContext analysisContext) {
-        this.classPool = createClassPool(analysisContext);
+        this.classPool = new BoundedClassPool(MAXIMUM_NUMBER_OF_CACHED_CLASSES);
+        setUpClassPath(analysisContext);
+        this.classNames = this.classPathIsEnumerable ? analysisContext.getOrCreateSharedEntry(
+                ClassNames.class, new NonNullFunction<AnalysisContext, ClassNames>() {
+                    @Nonnull
+                    @Override
+                    public ClassNames apply(@Nonnull AnalysisContext input) {
+                        return new ClassNames(classPath, classPathDirectories);
+                    }
+                }) : null;
         this.classResolver = createResolverCache();
+        this.systemClassResolver = createSystemClassResolverCache();
     }
 
     /**
@@ -55,21 +112,65 @@ public final class ClassPoolAccessor {
         return analysisContext.getOrCreateCacheEntry(ClassPoolAccessor.class, SUPPLIER);
     }
 
-    @Nonnull
-    private static ClassPool createClassPool(AnalysisContext analysisContext) {
-        ClassPool classPool = new ClassPool(true);
+    private void setUpClassPath(AnalysisContext analysisContext) {
         try {
             Repository outputRepository = analysisContext.getModule().getOutputRepository();
             if (outputRepository != null) {
-                classPool.appendClassPath(outputRepository.getDirectory().getAbsolutePath());
+                File directory = outputRepository.getDirectory();
+                this.classPath.add(classPool.appendClassPath(directory.getAbsolutePath()));
+                this.classPathDirectories.add(directory);
             }
             for (File file : analysisContext.getModule().getClassPath()) {
-                classPool.appendClassPath(file.getAbsolutePath());
+                this.classPath.add(appendToClassPath(file, analysisContext.getJarIndexDirectory()));
             }
         } catch (NotFoundException e) {
+            close();
             throw new RuntimeException("Failed to set up ClassPool!", e);
         }
-        return classPool;
+    }
+
+    /**
+     * JAR files are looked up via their shared {@link JarIndex}, which is stored in the analysis context's
+     * {@link AnalysisContext#getJarIndexDirectory() directory} if configured; everything else - including JAR files
+     * that cannot be indexed - is handed over to Javassist.
+     */
+    @Nonnull
+    private ClassPath appendToClassPath(@Nonnull File file, @Nullable File jarIndexDirectory) throws NotFoundException {
+        String path = file.getAbsolutePath();
+        String lowerCasePath = path.toLowerCase(Locale.ENGLISH);
+        if (lowerCasePath.endsWith(".jar") || lowerCasePath.endsWith(".zip")) {
+            if (file.isFile()) {
+                try {
+                    return classPool.appendClassPath(new IndexedJarClassPath(JarIndex.indexOf(file, jarIndexDirectory)));
+                } catch (IOException ignored) {
+                    // let Javassist deal with it
+                } catch (RuntimeException ignored) {
+                    // let Javassist deal with it
+                }
+            }
+            this.classPathIsEnumerable = false;
+        } else {
+            this.classPathDirectories.add(file);
+        }
+        return classPool.appendClassPath(path);
+    }
+
+    /**
+     * Returns the names of all classes of the indexed JAR files and class directories. If the class path contains
+     * entries that cannot be enumerated, <code>null</code> is returned.
+     */
+    @Nullable
+    private Set<String> getClassNames() {
+        return this.classNames == null ? null : this.classNames.get();
+    }
+
+    /**
+     * Returns the names of all classes of the indexed JAR files and class directories, grouped by package. If the
+     * class path contains entries that cannot be enumerated, <code>null</code> is returned.
+     */
+    @Nullable
+    private Map<String, Set<String>> getClassNamesByPackage() {
+        return this.classNames == null ? null : this.classNames.getByPackage();
     }
 
     private static String prepareQualifier(CharSequence qualifier) {
@@ -95,6 +196,119 @@ public final class ClassPoolAccessor {
         return this.classPool;
     }
 
+    /**
+     * Indicates if the specified class exists within the class path. The names of the classes of the module's class
+     * path are collected once, so that the <code>ClassPool</code> is asked only for the system class path.
+     *
+     * @since 2.2.0
+     */
+    public boolean isOnClassPath(@Nonnull String className) {
+        Set<String> knownClasses = getClassNames();
+        if (knownClasses == null) {
+            return this.classPool.find(className) != null;
+        }
+        return knownClasses.contains(className) || isOnSystemClassPath(className);
+    }
+
+    private boolean isOnSystemClassPath(@Nonnull String className) {
+        return this.systemClassResolver.getUnchecked(className).isPresent();
+    }
+
+    /**
+     * Returns the metadata of the specified class or <code>null</code> if the class cannot be found.
+     * If the class is provided by an indexed JAR file, its metadata is taken from the {@link JarIndex}; otherwise,
+     * the class is loaded via the <code>ClassPool</code>. Note that - in contrast to the <code>ClassPool</code> - the
+     * index takes precedence over the system class path, which usually does not matter for project classes.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    public ClassInfo getClassInfo(@Nonnull String className) {
+        for (ClassPath classPathEntry : this.classPath) {
+            if (IndexedJarClassPath.class.isInstance(classPathEntry)) {
+                JarIndex jarIndex = IndexedJarClassPath.class.cast(classPathEntry).getJarIndex();
+                if (jarIndex.contains(className)) {
+                    ClassInfo classInfo = jarIndex.getClassInfo(className);
+                    return classInfo != null ? classInfo : loadClassInfo(className);
+                }
+            } else if (classPathEntry.find(className) != null) {
+                break;
+            }
+        }
+        return loadClassInfo(className);
+    }
+
+    /**
+     * Retrieves all interfaces a class implements - either directly, via superclass or via interface inheritance.
+     * Works like {@link de.is24.javassist.CtClasses#getAllImplementedInterfaces(javassist.CtClass)}, but uses the
+     * {@link #getClassInfo(String) metadata of the classes}; thus dependencies need not be loaded.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<String> getAllImplementedInterfaces(@Nonnull CtClass clazz) {
+        Set<String> interfaces = newHashSet();
+        ClassFile classFile = clazz.getClassFile2();
+        addAllImplementedInterfaces(classFile.getSuperclass(), asList(classFile.getInterfaces()), interfaces);
+        return interfaces;
+    }
+
+    private void addAllImplementedInterfaces(@Nullable String superClassName,
+                                             @Nonnull List<String> interfaceNames,
+                                             @Nonnull Set<String> interfaces) {
+        for (; ; ) {
+            for (String interfaceName : interfaceNames) {
+                ClassInfo anInterface = getClassInfo(interfaceName);
+                if (anInterface != null && interfaces.add(interfaceName)) {
+                    addAllImplementedInterfaces(
+                            anInterface.getSuperClassName(), anInterface.getInterfaceNames(), interfaces);
+                }
+            }
+            if (superClassName == null || "java.lang.Object".equals(superClassName)) {
+                return;
+            }
+            ClassInfo superClass = getClassInfo(superClassName);
+            if (superClass == null) {
+                return;
+            }
+            superClassName = superClass.getSuperClassName();
+            interfaceNames = superClass.getInterfaceNames();
+        }
+    }
+
+    @Nullable
+    private ClassInfo loadClassInfo(@Nonnull String className) {
+        CtClass clazz = getCtClass(this.classPool, className);
+        if (clazz == null) {
+            return null;
+        }
+        ClassFile classFile = clazz.getClassFile2();
+        List<String> annotations = newArrayList();
+        for (Object attribute : classFile.getAttributes()) {
+            if (AnnotationsAttribute.class.isInstance(attribute)) {
+                for (Annotation annotation : AnnotationsAttribute.class.cast(attribute).getAnnotations()) {
+                    annotations.add(annotation.getTypeName());
+                }
+            }
+        }
+        return new ClassInfo(className, classFile.getSuperclass(), asList(classFile.getInterfaces()), annotations);
+    }
+
+    /**
+     * Removes the module's class path entries from the pool - thus closing the JAR files - and evicts all cached
+     * classes. The pool must not be used afterwards.
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public void close() {
+        for (ClassPath classPathEntry : this.classPath) {
+            this.classPool.removeClassPath(classPathEntry);
+        }
+        this.classPath.clear();
+        this.classPool.evictAll();
+    }
+
     /**
      * Returns the "resolved" class name for the given qualifier.
      * "Resolved" in this case means that if the qualifier refers to an existing class, the class'
@@ -107,6 +321,43 @@ public final class ClassPoolAccessor {
         return classResolver.getUnchecked(prepareQualifier(qualifier));
     }
 
+    /**
+     * Returns the "resolved" class name for the given qualifier relative to the given package, e.g.
+     * <code>java.util.Map$Entry</code> for the package <code>java.util</code> and the qualifier <code>Map.Entry</code>.
+     * Packages of the module's class path are looked up in an index of their classes; for other packages - like those
+     * of the JDK or types imported on demand - this works like
+     * {@link #resolveClass(CharSequence) resolving <code>packageName.qualifier</code>}.
+     *
+     * @param packageName the name of the package; an empty string denotes the default package
+     * @param qualifier   the qualifier relative to the package, using dots to separate nested types
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Optional<String> resolveClassInPackage(@Nonnull String packageName, @Nonnull String qualifier) {
+        Map<String, Set<String>> namesByPackage = getClassNamesByPackage();
+        Set<String> namesOfPackage = namesByPackage == null ? null : namesByPackage.get(packageName);
+        if (namesOfPackage == null) {
+            return resolveClass(packageName.isEmpty() ? qualifier : packageName + "." + qualifier);
+        }
+        String relativeName = qualifier.replace('.', '$');
+        String className = packageName.isEmpty() ? relativeName : packageName + "." + relativeName;
+        if (namesOfPackage.contains(relativeName) || isOnSystemClassPath(className)) {
+            return of(className);
+        }
+        return absent();
+    }
+
+    @Nonnull
+    private LoadingCache<String, Optional<String>> createSystemClassResolverCache() {
+        return new SequentialLoadingCache<String, String>(new Function<String, Optional<String>>() {
+            @Nullable
+            @Override
+            public Optional<String> apply(@Nullable String input) {
+                return input != null && systemPath.find(input) != null ? of(input) : Optional.<String>absent();
+            }
+        });
+    }
+
     @Nonnull
     private LoadingCache<String, Optional<String>> createResolverCache() {
         return new SequentialLoadingCache<String, String>(new Function<String, Optional<String>>() {
@@ -120,7 +371,7 @@ public final class ClassPoolAccessor {
                     return absent();
                 }
                 for (; ; ) {
-                    if (classPool.getOrNull(input) != null) {
+                    if (isOnClassPath(input) || PRIMITIVE_TYPES.contains(input)) {
                         addToKnownPackages(input);
                         return of(input);
                     }
@@ -154,4 +405,97 @@ public final class ClassPoolAccessor {
         });
     }
 
+    /**
+     * Provides the names of all classes of the indexed JAR files and class directories of a module's class path; they
+     * are calculated upon the first request. As the class path is the same for all contexts analyzing a module, an
+     * instance is {@link AnalysisContext#getOrCreateSharedEntry(Object, NonNullFunction) shared} by their accessors.
+     */
+    private static final class ClassNames {
+
+        @Nonnull
+        private final List<JarIndex> jarIndexes = newArrayList();
+        @Nonnull
+        private final List<File> directories;
+        @Nullable
+        private volatile Set<String> classNames;
+        @Nullable
+        private volatile Map<String, Set<String>> classNamesByPackage;
+
+        public ClassNames(@Nonnull List<ClassPath> classPath, @Nonnull List<File> directories) {
+            for (ClassPath classPathEntry : classPath) {
+                if (IndexedJarClassPath.class.isInstance(classPathEntry)) {
+                    this.jarIndexes.add(IndexedJarClassPath.class.cast(classPathEntry).getJarIndex());
+                }
+            }
+            this.directories = newArrayList(directories);
+        }
+
+        private static void addClassNames(@Nonnull Set<String> names, @Nonnull File directory) {
+            if (!directory.isDirectory()) {
+                return;
+            }
+            int prefixLength = directory.getAbsolutePath().length() + 1;
+            for (File classFile : FileUtils.listFiles(directory, new String[]{"class"}, true)) {
+                String path = classFile.getAbsolutePath();
+                names.add(path.substring(prefixLength, path.length() - ".class".length())
+                        .replace(File.separatorChar, '.'));
+            }
+        }
+
+        /**
+         * Returns the fully qualified names of all classes.
+         */
+        @Nonnull
+        public Set<String> get() {
+            Set<String> names = this.classNames;
+            if (names == null) {
+                synchronized (this) {
+                    names = this.classNames;
+                    if (names == null) {
+                        names = newHashSet();
+                        for (JarIndex jarIndex : this.jarIndexes) {
+                            names.addAll(jarIndex.getClassNames());
+                        }
+                        for (File directory : this.directories) {
+                            addClassNames(names, directory);
+                        }
+                        this.classNames = names;
+                    }
+                }
+            }
+            return names;
+        }
+
+        /**
+         * Returns the names of all classes grouped by package; the names are relative to the package, i.e.
+         * <code>Map$Entry</code> for <code>java.util.Map$Entry</code>.
+         */
+        @Nonnull
+        public Map<String, Set<String>> getByPackage() {
+            Map<String, Set<String>> namesByPackage = this.classNamesByPackage;
+            if (namesByPackage == null) {
+                Set<String> knownClasses = get();
+                synchronized (this) {
+                    namesByPackage = this.classNamesByPackage;
+                    if (namesByPackage == null) {
+                        namesByPackage = newHashMap();
+                        for (String className : knownClasses) {
+                            int dotIndex = className.lastIndexOf('.');
+                            String packageName = dotIndex < 0 ? "" : className.substring(0, dotIndex);
+                            Set<String> namesOfPackage = namesByPackage.get(packageName);
+                            if (namesOfPackage == null) {
+                                namesOfPackage = newHashSet();
+                                namesByPackage.put(packageName, namesOfPackage);
+                            }
+                            namesOfPackage.add(className.substring(dotIndex + 1));
+                        }
+                        this.classNamesByPackage = namesByPackage;
+                    }
+                }
+            }
+            return namesByPackage;
+        }
+
+    }
+
 }
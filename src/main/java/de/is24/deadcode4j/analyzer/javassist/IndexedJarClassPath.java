@@ -0,0 +1,95 @@
+package de.is24.deadcode4j.analyzer.javassist;
+
+import de.is24.deadcode4j.analyzer.classfile.JarIndex;
+import javassist.ClassPath;
+import javassist.NotFoundException;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The <code>IndexedJarClassPath</code> is a Javassist {@link javassist.ClassPath} answering lookups by means of a
+ * shared {@link JarIndex}; the JAR file is opened only if a class file is actually read.
+ *
+ * @since 2.2.0
+ */
+final class IndexedJarClassPath implements ClassPath {
+
+    @Nonnull
+    private final JarIndex jarIndex;
+    @Nonnull
+    private final String jarUrl;
+    private ZipFile zipFile;
+
+    public IndexedJarClassPath(@Nonnull JarIndex jarIndex) {
+        this.jarIndex = jarIndex;
+        this.jarUrl = "jar:" + jarIndex.getFile().toURI() + "!/";
+    }
+
+    @Nonnull
+    private static String toEntryName(@Nonnull String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+    @Override
+    public String toString() {
+        return this.jarIndex.getFile().getPath();
+    }
+
+    /**
+     * Returns the index used to look up classes.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public JarIndex getJarIndex() {
+        return this.jarIndex;
+    }
+
+    @Override
+    public synchronized InputStream openClassfile(String className) throws NotFoundException {
+        if (!this.jarIndex.contains(className)) {
+            return null;
+        }
+        try {
+            if (this.zipFile == null) {
+                this.zipFile = new ZipFile(this.jarIndex.getFile());
+            }
+            ZipEntry entry = this.zipFile.getEntry(toEntryName(className));
+            return entry == null ? null : this.zipFile.getInputStream(entry);
+        } catch (IOException e) {
+            throw new NotFoundException("Failed to read [" + className + "] from [" + this + "]!", e);
+        }
+    }
+
+    @Override
+    public URL find(String className) {
+        if (!this.jarIndex.contains(className)) {
+            return null;
+        }
+        try {
+            return new URL(this.jarUrl + toEntryName(className));
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.zipFile == null) {
+            return;
+        }
+        try {
+            this.zipFile.close();
+        } catch (IOException ignored) {
+            // nothing to do about it
+        }
+        this.zipFile = null;
+    }
+
+}
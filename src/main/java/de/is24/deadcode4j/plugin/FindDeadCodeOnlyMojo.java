@@ -15,12 +15,15 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.repository.RepositorySystem;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Iterables.filter;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.transform;
 import static de.is24.deadcode4j.Utils.getKeyFor;
@@ -77,6 +80,16 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
     @Parameter
     @SuppressWarnings("PMD.ImmutableField")
     private boolean ignoreMainClasses = false;
+    /**
+     * Reuse the results of the previous analysis for all files that did not change.<br/>
+     * The results are stored in <code>target/deadcode4j/analysis.cache</code> of the project being executed; note that
+     * only analyzers whose results depend on nothing but a file's content benefit from this.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.incremental", defaultValue = "false")
+    @SuppressWarnings("PMD.ImmutableField")
+    private boolean incremental = false;
     /**
      * Lists the fqcn of the interfaces marking a class as being "live code".
      *
@@ -85,6 +98,18 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
     @Parameter
     @SuppressWarnings("PMD.ImmutableField")
     private Set<String> interfacesMarkingLiveCode = emptySet();
+    /**
+     * The directory in which to store the indexes of the dependencies' JAR files, e.g.
+     * <code>${settings.localRepository}/../deadcode4j</code>. The indexes are named after the checksum of a JAR file
+     * and provide the class names and class hierarchies of its classes; thus the JAR files need to be examined only
+     * once, even across several projects. The checksum itself is calculated only if the path, size or modification
+     * date of a JAR file changed.<br/>
+     * By default, the JAR files are indexed anew for each analysis.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.jarIndexDirectory")
+    private File jarIndexDirectory;
     @Component
     private MavenProject project;
     /**
@@ -97,11 +122,65 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
     private List<String> modulesToSkip = emptyList();
     @Component
     private MojoExecution mojoExecution;
+    /**
+     * Consider classes to be dead unless they are reachable from a <i>root</i>, i.e. from an entity like a Spring XML
+     * file, a <code>web.xml</code> or a main class. This way, groups of dead classes referencing each other are found
+     * in a single run.<br/>
+     * By default, a class is considered to be dead if nothing depends on it.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.reachabilityAnalysis", defaultValue = "false")
+    @SuppressWarnings("PMD.ImmutableField")
+    private boolean reachabilityAnalysis = false;
     @Parameter(property = "reactorProjects", readonly = true)
     @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
     private List<MavenProject> reactorProjects;
     @Component
     private RepositorySystem repositorySystem;
+    /**
+     * Determine the dependencies of classes by scanning the class files' constant pools directly instead of loading
+     * the classes with Javassist. The reported dependencies are the same, but the analysis of large class directories
+     * is considerably faster.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.scanConstantPools", defaultValue = "false")
+    @SuppressWarnings("PMD.ImmutableField")
+    private boolean scanConstantPools = false;
+    /**
+     * Determine the classes used as type arguments by reading the generic signatures of the class files. Java files
+     * are parsed only if they contain type arguments the class files cannot provide, e.g. those of
+     * <code>new ArrayList&lt;Foo&gt;()</code> or of casts.<br/>
+     * The type arguments of local variables are read from the <code>LocalVariableTypeTable</code>, so the classes
+     * must be compiled with debug information - which is the default for Maven.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.readGenericSignatures", defaultValue = "false")
+    @SuppressWarnings("PMD.ImmutableField")
+    private boolean readGenericSignatures = false;
+    /**
+     * Determine the references to constants inlined by the compiler by matching the values of the constants declared
+     * by the analyzed modules with the literals of the class files' constant pools. Java files are parsed only if this
+     * does not reveal which constant is referenced, e.g. for constants declared by several classes or small numbers
+     * that are not part of the constant pool.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.detectConstantsInByteCode", defaultValue = "false")
+    @SuppressWarnings("PMD.ImmutableField")
+    private boolean detectConstantsInByteCode = false;
+    /**
+     * Skip parsing Java files that cannot contribute to the analysis. Each Java file is split into tokens first; it is
+     * parsed only if it contains type arguments or might refer to a constant of another class - e.g. by a static
+     * import or a qualified name like <code>Foo.BAR</code>. The reported dependencies are the same.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.prefilterJavaFiles", defaultValue = "false")
+    @SuppressWarnings("PMD.ImmutableField")
+    private boolean prefilterJavaFiles = false;
     /**
      * Skip sending usage statistics.<br/>
      * If set to {@code false}, statistics will be sent.<br/>
@@ -129,6 +208,35 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
     @Parameter
     @SuppressWarnings("PMD.ImmutableField")
     private Set<String> superClassesMarkingLiveCode = emptySet();
+    /**
+     * The degree of parallelism of the analysis. If greater than <code>1</code>,
+     * <ul>
+     * <li>the files of a module are distributed among this number of threads,</li>
+     * <li>up to this number of modules that do not depend on each other are analyzed concurrently,</li>
+     * <li>the directories of a module are listed concurrently and</li>
+     * <li>the results of the modules are merged concurrently.</li>
+     * </ul>
+     * As the modules and their files are processed by separate pools of threads, up to twice this number of threads
+     * may be busy at the same time. Using more than one thread speeds up the analysis of large projects, at the cost of
+     * higher memory consumption.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.threads", defaultValue = "1")
+    @SuppressWarnings("PMD.ImmutableField")
+    private int threads = 1;
+    /**
+     * The number of threads used to parse Java files ahead of their analysis.<br/>
+     * Parsing takes the lion's share of analyzing Java files; parsing them in advance speeds up the analysis, at the
+     * cost of keeping a few parsed files in memory. Each thread analyzing files (see <code>threads</code>) has up to
+     * twice this number of files parsed ahead; the threads parsing the files are shared by all of them. If set to
+     * <code>0</code>, Java files are parsed when analyzed.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.parsingThreads", defaultValue = "0")
+    @SuppressWarnings("PMD.ImmutableField")
+    private int parsingThreads = 0;
     @Component
     private UpdateChecker updateChecker;
     /**
@@ -200,14 +308,12 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
                 new AopXmlAnalyzer(),
                 new ApacheTilesAnalyzer(),
                 new CastorClassesAnalyzer(),
-                new ClassDependencyAnalyzer(),
                 new FacesConfigXmlAnalyzer(),
                 new HibernateAnnotationsAnalyzer(),
                 new JeeAnnotationsAnalyzer(),
                 new JerseyWebXmlAnalyzer(),
                 new JettyXmlAnalyzer(),
                 new LogbackXmlAnalyzer(),
-                new ReferenceToConstantsAnalyzer(),
                 new ServletContainerInitializerAnalyzer(),
                 new SpringAnnotationsAnalyzer(),
                 new SpringDataCustomRepositoriesAnalyzer(),
@@ -217,18 +323,65 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
                 new SpringWebXmlAnalyzer(),
                 new SpringXmlAnalyzer(),
                 new TldAnalyzer(),
-                new TypeErasureAnalyzer(),
                 new WebXmlAnalyzer(),
                 new WsddAnalyzer());
-        DeadCodeComputer deadCodeComputer = new DeadCodeComputer();
+        DeadCodeComputer deadCodeComputer = new DeadCodeComputer(this.reachabilityAnalysis);
+        if (this.reachabilityAnalysis) {
+            getLog().info("Treating classes that are not reachable from any root as dead code.");
+        }
+        if (this.prefilterJavaFiles) {
+            getLog().info("Parsing only those Java files that may contain type arguments or references to constants.");
+        }
+        if (this.parsingThreads > 0) {
+            getLog().info("Parsing Java files in advance using " + this.parsingThreads + " threads.");
+        }
+        addClassDependencyAnalyzer(analyzers);
+        addTypeErasureAnalyzers(analyzers);
+        addConstantsAnalyzer(analyzers);
         addCustomAnnotationsAnalyzerIfConfigured(analyzers);
         addCustomInterfacesAnalyzerIfConfigured(analyzers);
         addCustomSuperClassesAnalyzerIfConfigured(analyzers);
         addCustomXmlAnalyzerIfConfigured(analyzers);
         addIgnoreClassesAnalyzerIfConfigured(deadCodeComputer, analyzers);
         addMainClassAnalyzerIfConfigured(analyzers);
-        DeadCodeFinder deadCodeFinder = new DeadCodeFinder(deadCodeComputer, analyzers);
-        return deadCodeFinder.findDeadCode(gatherModules());
+        multiplexXmlAnalyzers(analyzers);
+        AnalysisCache analysisCache = loadAnalysisCacheIfConfigured(analyzers);
+        if (this.jarIndexDirectory != null) {
+            getLog().info("Storing the indexes of the dependencies' JAR files in [" + this.jarIndexDirectory + "].");
+        }
+        DeadCodeFinder deadCodeFinder = new DeadCodeFinder(deadCodeComputer, analyzers, this.threads, analysisCache,
+                this.parsingThreads, this.jarIndexDirectory);
+        DeadCode deadCode = deadCodeFinder.findDeadCode(gatherModules());
+        storeAnalysisCache(analysisCache);
+        return deadCode;
+    }
+
+    private void addClassDependencyAnalyzer(Set<Analyzer> analyzers) {
+        if (scanConstantPools) {
+            analyzers.add(new ConstantPoolDependencyAnalyzer());
+            getLog().info("Scanning the constant pools of class files to determine their dependencies.");
+        } else {
+            analyzers.add(new ClassDependencyAnalyzer());
+        }
+    }
+
+    private void addTypeErasureAnalyzers(Set<Analyzer> analyzers) {
+        if (readGenericSignatures) {
+            analyzers.add(new GenericSignatureAnalyzer());
+            analyzers.add(new TypeErasureAnalyzer(true));
+            getLog().info("Reading the generic signatures of class files to determine type arguments.");
+        } else {
+            analyzers.add(new TypeErasureAnalyzer(false, prefilterJavaFiles));
+        }
+    }
+
+    private void addConstantsAnalyzer(Set<Analyzer> analyzers) {
+        if (detectConstantsInByteCode) {
+            analyzers.add(new InlinedConstantsAnalyzer());
+            getLog().info("Scanning the constant pools of class files to determine references to constants.");
+        } else {
+            analyzers.add(new ReferenceToConstantsAnalyzer(prefilterJavaFiles));
+        }
     }
 
     private void addCustomAnnotationsAnalyzerIfConfigured(Set<Analyzer> analyzers) {
@@ -286,6 +439,64 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
         getLog().info("Treating classes with a main method as live code.");
     }
 
+    private void multiplexXmlAnalyzers(Set<Analyzer> analyzers) {
+        List<XmlAnalyzer> xmlAnalyzers = newArrayList(filter(analyzers, XmlAnalyzer.class));
+        if (incremental) {
+            // cacheable analyzers must not be hidden, as their results are cached separately
+            xmlAnalyzers.removeAll(newArrayList(filter(xmlAnalyzers, CacheableAnalyzer.class)));
+        }
+        if (xmlAnalyzers.size() < 2) {
+            return;
+        }
+        analyzers.removeAll(xmlAnalyzers);
+        analyzers.add(new MultiplexingXmlAnalyzer(xmlAnalyzers));
+    }
+
+    private AnalysisCache loadAnalysisCacheIfConfigured(Set<Analyzer> analyzers) {
+        if (!incremental) {
+            return null;
+        }
+        File cacheFile = new File(project.getBuild().getDirectory(), "deadcode4j/analysis.cache");
+        String pluginVersion = mojoExecution == null ? "unknown" : mojoExecution.getVersion();
+        getLog().info("Reusing the results of the previous analysis stored in [" + cacheFile + "].");
+        return AnalysisCache.loadFrom(cacheFile,
+                "deadcode4j:" + pluginVersion + ":" + describeAnalyzerConfiguration(), analyzers);
+    }
+
+    /**
+     * Describes the settings of the analyzers, so that the cached reports are discarded if any of them changes.
+     */
+    private String describeAnalyzerConfiguration() {
+        StringBuilder buffy = new StringBuilder()
+                .append("annotations=").append(Sets.newTreeSet(annotationsMarkingLiveCode))
+                .append(";interfaces=").append(Sets.newTreeSet(interfacesMarkingLiveCode))
+                .append(";superClasses=").append(Sets.newTreeSet(superClassesMarkingLiveCode))
+                .append(";classesToIgnore=").append(Sets.newTreeSet(classesToIgnore))
+                .append(";ignoreMainClasses=").append(ignoreMainClasses)
+                .append(";scanConstantPools=").append(scanConstantPools)
+                .append(";readGenericSignatures=").append(readGenericSignatures)
+                .append(";detectConstantsInByteCode=").append(detectConstantsInByteCode)
+                .append(";prefilterJavaFiles=").append(prefilterJavaFiles)
+                .append(";customXmls=");
+        for (CustomXml customXml : customXmls) {
+            buffy.append('[').append(customXml.getEndOfFileName())
+                    .append(',').append(customXml.getRootElement())
+                    .append(',').append(customXml.getXPaths()).append(']');
+        }
+        return buffy.toString();
+    }
+
+    private void storeAnalysisCache(AnalysisCache analysisCache) {
+        if (analysisCache == null) {
+            return;
+        }
+        try {
+            analysisCache.store();
+        } catch (IOException e) {
+            getLog().warn("Failed to store the analysis cache; the next analysis will not be incremental.", e);
+        }
+    }
+
     private Iterable<Module> gatherModules() throws MojoExecutionException {
         ModuleGenerator moduleGenerator = new ModuleGenerator(this.repositorySystem);
         return moduleGenerator.getModulesFor(getProjectsToAnalyze());
@@ -21,7 +21,8 @@ public class SubDirectoryFilter implements FileFilter {
 
     @Override
     public boolean accept(File file) {
-        return file.isDirectory() && directory.equals(file.getParentFile()) && subDirectoryName.equals(file.getName());
+        // check the name first, as it is the cheapest and most selective check
+        return subDirectoryName.equals(file.getName()) && directory.equals(file.getParentFile()) && file.isDirectory();
     }
 
 }
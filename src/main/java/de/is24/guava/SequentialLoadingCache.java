@@ -83,4 +83,14 @@ public class SequentialLoadingCache<K, V> extends AbstractLoadingCache<K, Option
         return value == null ? Optional.<V>absent() : value;
     }
 
+    /**
+     * Stores the given value, replacing the value cached for the given key (if any).
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public void put(@Nullable K key, @Nonnull Optional<V> value) {
+        this.cache.put(key, value);
+    }
+
 }
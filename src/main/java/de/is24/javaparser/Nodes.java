@@ -2,21 +2,22 @@ package de.is24.javaparser;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.AnnotationDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EmptyTypeDeclaration;
 import com.github.javaparser.ast.body.EnumDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.QualifiedNameExpr;
 import com.github.javaparser.ast.stmt.TypeDeclarationStmt;
-import com.github.javaparser.ast.visitor.GenericVisitorAdapter;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 
 import javax.annotation.Nonnull;
-import java.util.Deque;
-import java.util.List;
+import javax.annotation.Nullable;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
-import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Lists.newLinkedList;
 import static de.is24.deadcode4j.Utils.isEmpty;
 
 /**
@@ -42,120 +43,51 @@ public final class Nodes {
         }
     }
 
+    /**
+     * Returns the binary name of the type the given node belongs to, e.g. <code>Outer$1</code> for an anonymous class
+     * or <code>Outer$1Local</code> for a local class.<br/>
+     * The binary names of all types declared by a compilation unit are calculated at once and stored as the
+     * {@link Node#setData(Object) data} of the <code>CompilationUnit</code>; subsequent calls merely look up the name.
+     */
     @Nonnull
     public static String getTypeName(@Nonnull Node node) {
-        List<Node> anonymousClasses = newArrayList();
-        StringBuilder buffy = new StringBuilder();
-        Node loopNode = node;
-        for (; ; ) {
-            if (ObjectCreationExpr.class.isInstance(loopNode)) {
-                if (!isEmpty(ObjectCreationExpr.class.cast(loopNode).getAnonymousClassBody())) {
-                    anonymousClasses.add(loopNode);
-                }
-            } else if (TypeDeclarationStmt.class.isInstance(loopNode)) {
-                anonymousClasses.add(loopNode);
-            } else if (TypeDeclaration.class.isInstance(loopNode)
-                    && !TypeDeclarationStmt.class.isInstance(loopNode.getParentNode())) {
-                TypeDeclaration typeDeclaration = TypeDeclaration.class.cast(loopNode);
-                prependSeparatorIfNecessary('$', buffy).insert(0, typeDeclaration.getName());
-                appendAnonymousClasses(anonymousClasses, typeDeclaration, buffy);
-            } else if (CompilationUnit.class.isInstance(loopNode)) {
-                if (buffy.length() == 0) {
-                    buffy.append("package-info");
-                }
-                final CompilationUnit compilationUnit = CompilationUnit.class.cast(loopNode);
-                if (compilationUnit.getPackage() != null) {
-                    prepend(compilationUnit.getPackage().getName(), buffy);
+        for (Node loopNode = node; loopNode != null; loopNode = loopNode.getParentNode()) {
+            if (declaresType(loopNode)) {
+                String typeName = getBinaryNames(getCompilationUnit(loopNode)).get(loopNode);
+                if (typeName == null) {
+                    throw new RuntimeException("Failed to calculate the binary name of [" + loopNode + "]!");
                 }
-            }
-            loopNode = loopNode.getParentNode();
-            if (loopNode == null) {
-                return buffy.toString();
+                return typeName;
             }
         }
+        StringBuilder buffy = new StringBuilder("package-info");
+        CompilationUnit compilationUnit = getCompilationUnit(node);
+        if (compilationUnit.getPackage() != null) {
+            prepend(compilationUnit.getPackage().getName(), buffy);
+        }
+        return buffy.toString();
     }
 
-    private static void appendAnonymousClasses(@Nonnull final List<Node> anonymousClasses,
-                                               @Nonnull TypeDeclaration typeDeclaration,
-                                               @Nonnull final StringBuilder buffy) {
-        if (anonymousClasses.isEmpty()) {
-            return;
-        }
-        Boolean typeResolved = typeDeclaration.accept(new GenericVisitorAdapter<Boolean, Void>() {
-            private Deque<Integer> indexOfAnonymousClasses = newLinkedList();
-            private Deque<Integer> indexOfNamedAnonymousClasses = newLinkedList();
-            private int indexOfNodeToFind = anonymousClasses.size() - 1;
-
-            @Override
-            public Boolean visit(ObjectCreationExpr node, Void arg) {
-                if (isEmpty(node.getAnonymousClassBody())) {
-                    return super.visit(node, arg);
-                }
-                int currentIndex = indexOfAnonymousClasses.removeLast() + 1;
-                indexOfAnonymousClasses.addLast(currentIndex);
-                if (anonymousClasses.get(indexOfNodeToFind) == node) {
-                    buffy.append('$').append(indexOfAnonymousClasses.getLast());
-                    if (indexOfNodeToFind-- == 0) {
-                        return Boolean.TRUE;
-                    }
-                }
-                indexOfAnonymousClasses.addLast(0);
-                indexOfNamedAnonymousClasses.addLast(0);
-                try {
-                    return super.visit(node, null);
-                } finally {
-                    indexOfAnonymousClasses.removeLast();
-                    indexOfNamedAnonymousClasses.removeLast();
-                }
-            }
-
-            @Override
-            public Boolean visit(TypeDeclarationStmt node, Void arg) {
-                int currentIndex = indexOfNamedAnonymousClasses.removeLast() + 1;
-                indexOfNamedAnonymousClasses.addLast(currentIndex);
-                if (anonymousClasses.get(indexOfNodeToFind) == node) {
-                    buffy.append('$').append(indexOfNamedAnonymousClasses.getLast()).append(node.getTypeDeclaration().getName());
-                    if (indexOfNodeToFind-- == 0) {
-                        return Boolean.TRUE;
-                    }
-                }
-                indexOfAnonymousClasses.addLast(0);
-                indexOfNamedAnonymousClasses.addLast(0);
-                try {
-                    return super.visit(node, null);
-                } finally {
-                    indexOfAnonymousClasses.removeLast();
-                    indexOfNamedAnonymousClasses.removeLast();
-                }
-            }
-
-            @Override
-            public Boolean visit(ClassOrInterfaceDeclaration n, Void arg) {
-                indexOfAnonymousClasses.addLast(0);
-                indexOfNamedAnonymousClasses.addLast(0);
-                try {
-                    return super.visit(n, null);
-                } finally {
-                    indexOfAnonymousClasses.removeLast();
-                    indexOfNamedAnonymousClasses.removeLast();
-                }
-            }
-
-            @Override
-            public Boolean visit(EnumDeclaration n, Void arg) {
-                indexOfAnonymousClasses.addLast(0);
-                indexOfNamedAnonymousClasses.addLast(0);
-                try {
-                    return super.visit(n, null);
-                } finally {
-                    indexOfAnonymousClasses.removeLast();
-                    indexOfNamedAnonymousClasses.removeLast();
-                }
-            }
+    private static boolean declaresType(@Nonnull Node node) {
+        if (ObjectCreationExpr.class.isInstance(node)) {
+            return !isEmpty(ObjectCreationExpr.class.cast(node).getAnonymousClassBody());
+        }
+        return TypeDeclarationStmt.class.isInstance(node)
+                || TypeDeclaration.class.isInstance(node)
+                && !EmptyTypeDeclaration.class.isInstance(node)
+                && !TypeDeclarationStmt.class.isInstance(node.getParentNode());
+    }
 
-        }, null);
-        assert typeResolved : "Failed to locate anonymous class definition!";
-        anonymousClasses.clear();
+    @Nonnull
+    private static Map<Node, String> getBinaryNames(@Nonnull CompilationUnit compilationUnit) {
+        Object data = compilationUnit.getData();
+        if (BinaryNames.class.isInstance(data)) {
+            return BinaryNames.class.cast(data).namesOfTypes;
+        }
+        BinaryNames binaryNames = new BinaryNames();
+        compilationUnit.accept(binaryNames, null);
+        compilationUnit.setData(binaryNames);
+        return binaryNames.namesOfTypes;
     }
 
     @Nonnull
@@ -177,4 +109,83 @@ public final class Nodes {
         return buffy;
     }
 
+    /**
+     * Calculates the binary names of all types declared by a compilation unit. Anonymous and local classes are
+     * numbered separately for each enclosing class in the order of their declaration.
+     */
+    private static final class BinaryNames extends VoidVisitorAdapter<BinaryNames.EnclosingType> {
+
+        private final Map<Node, String> namesOfTypes = new IdentityHashMap<Node, String>();
+        private String packagePrefix = "";
+
+        @Override
+        public void visit(CompilationUnit n, EnclosingType arg) {
+            if (n.getPackage() != null) {
+                this.packagePrefix = prepend(n.getPackage().getName(), new StringBuilder()).append('.').toString();
+            }
+            super.visit(n, null);
+        }
+
+        @Override
+        public void visit(ClassOrInterfaceDeclaration n, EnclosingType arg) {
+            super.visit(n, enter(n, arg));
+        }
+
+        @Override
+        public void visit(EnumDeclaration n, EnclosingType arg) {
+            super.visit(n, enter(n, arg));
+        }
+
+        @Override
+        public void visit(AnnotationDeclaration n, EnclosingType arg) {
+            super.visit(n, enter(n, arg));
+        }
+
+        @Override
+        public void visit(ObjectCreationExpr n, EnclosingType arg) {
+            if (arg == null || isEmpty(n.getAnonymousClassBody())) {
+                super.visit(n, arg);
+                return;
+            }
+            super.visit(n, declare(n, arg.name + '$' + ++arg.numberOfAnonymousClasses));
+        }
+
+        @Override
+        public void visit(TypeDeclarationStmt n, EnclosingType arg) {
+            if (arg == null) {
+                super.visit(n, null);
+                return;
+            }
+            super.visit(n, declare(n, arg.name + '$' + ++arg.numberOfLocalClasses + n.getTypeDeclaration().getName()));
+        }
+
+        @Nonnull
+        private EnclosingType enter(@Nonnull TypeDeclaration typeDeclaration, @Nullable EnclosingType enclosingType) {
+            if (TypeDeclarationStmt.class.isInstance(typeDeclaration.getParentNode()) && enclosingType != null) {
+                // the local class was declared by the statement
+                return new EnclosingType(enclosingType.name);
+            }
+            return declare(typeDeclaration, enclosingType == null
+                    ? this.packagePrefix + typeDeclaration.getName()
+                    : enclosingType.name + '$' + typeDeclaration.getName());
+        }
+
+        @Nonnull
+        private EnclosingType declare(@Nonnull Node node, @Nonnull String name) {
+            this.namesOfTypes.put(node, name);
+            return new EnclosingType(name);
+        }
+
+        private static final class EnclosingType {
+            private final String name;
+            private int numberOfAnonymousClasses = 0;
+            private int numberOfLocalClasses = 0;
+
+            public EnclosingType(@Nonnull String name) {
+                this.name = name;
+            }
+        }
+
+    }
+
 }
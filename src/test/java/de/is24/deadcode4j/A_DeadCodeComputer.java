@@ -12,6 +12,7 @@ import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 
 public class A_DeadCodeComputer {
@@ -55,13 +56,66 @@ public class A_DeadCodeComputer {
         assertThat("Should recognize one class as dead", deadClasses, contains("DependingClass"));
     }
 
+    @Test
+    public void recognizesClassesNotReachableFromRootAsDeadCodeInReachabilityMode() {
+        objectUnderTest = new DeadCodeComputer(true);
+        setUpDependency("A", "B");
+        setUpDependency("B", "A");
+        setUpDependency("C", "D");
+        setUpDependency("D");
+        setUpDependency("E", "F");
+        setUpDependency("F", "G");
+        setUpDependency("G", "E");
+        Set<String> analyzedClasses = newHashSet(codeDependencies.keySet());
+        setUpDependency("_Spring_", "C");
+
+        Collection<String> deadClasses = computeDeadClasses(analyzedClasses);
+
+        assertThat(deadClasses, containsInAnyOrder("A", "B", "E", "F", "G"));
+    }
+
+    @Test
+    public void handlesLongDependencyChainsInReachabilityMode() {
+        objectUnderTest = new DeadCodeComputer(true);
+        DependencyGraph.Builder builder = new DependencyGraph.Builder().addDependency("_Main-Class_", "C0");
+        for (int i = 0; i < 200000; i++) {
+            builder.addAnalyzedClass("C" + i).addDependency("C" + i, "C" + (i + 1));
+        }
+        builder.addAnalyzedClass("Dead").addDependency("Dead", "C0");
+
+        DeadCode deadCode = objectUnderTest.computeDeadCode(
+                new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), builder.build()));
+
+        assertThat(deadCode.getDeadClasses(), contains("Dead"));
+    }
+
+    @Test
+    public void considersExtensionsOfAnalyzedCode() {
+        DependencyGraph graph = new DependencyGraph.Builder()
+                .addAnalyzedClass("A").addAnalyzedClass("B").addDependency("A", "B").build();
+        DeadCode deadCode = objectUnderTest.computeDeadCode(
+                new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), graph));
+
+        DependencyGraph extendedGraph = graph.extendWith(
+                new DependencyGraph.Builder().addDependency("_IgnoredClasses_", "A").build());
+        DeadCode deadCodeOfExtension = objectUnderTest.computeDeadCode(
+                new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), extendedGraph));
+
+        assertThat(deadCode.getDeadClasses(), contains("A"));
+        assertThat(deadCodeOfExtension.getDeadClasses(), hasSize(0));
+    }
+
     private void setUpDependency(String depender, String... dependees) {
         codeDependencies.put(depender, newHashSet(dependees));
     }
 
     private Collection<String> computeDeadClasses() {
+        return computeDeadClasses(codeDependencies.keySet());
+    }
+
+    private Collection<String> computeDeadClasses(Set<String> analyzedClasses) {
         AnalyzedCode analyzedCode = new AnalyzedCode(
-                EnumSet.noneOf(AnalysisStage.class), codeDependencies.keySet(), codeDependencies);
+                EnumSet.noneOf(AnalysisStage.class), analyzedClasses, codeDependencies);
         DeadCode deadCode = objectUnderTest.computeDeadCode(analyzedCode);
         return deadCode.getDeadClasses();
     }
@@ -1,26 +1,44 @@
 package de.is24.deadcode4j;
 
+import com.google.common.collect.Sets;
 import de.is24.deadcode4j.analyzer.AnalyzerAdapter;
 import de.is24.deadcode4j.junit.FileLoader;
 import de.is24.deadcode4j.junit.LoggingRule;
+import de.is24.guava.NonNullFunction;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import javax.annotation.Nonnull;
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.ModuleBuilder.givenModule;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static java.util.Collections.singleton;
 import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
 
 public final class A_DeadCodeFinder {
 
     @Rule
     public final LoggingRule enableLogging = new LoggingRule();
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     private DeadCodeFinder objectUnderTest;
 
@@ -86,8 +104,414 @@ public final class A_DeadCodeFinder {
         assertThat("As no valid analyzer is set up, everything should be dead!", deadCode.getDeadClasses(), hasSize(greaterThan(0)));
     }
 
+    @Test
+    public void computesTheSameDeadCodeUsingSeveralThreads() {
+        Analyzer analyzer = new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                analysisContext.addAnalyzedClass(fileName.getName());
+                analysisContext.addDependencies(fileName.getParentFile().getName(), fileName.getName());
+            }
+        };
+        List<Module> modules = newArrayList(givenModule("A", FileLoader.getFile(".")));
+        DeadCode sequentialResult = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzer)).findDeadCode(modules);
+
+        DeadCode parallelResult = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzer), 4).findDeadCode(modules);
+
+        assertThat(parallelResult.getAnalyzedClasses(), is(equalTo(sequentialResult.getAnalyzedClasses())));
+        assertThat(parallelResult.getDeadClasses(), is(equalTo(sequentialResult.getDeadClasses())));
+    }
+
+    @Test
+    public void mergesResultsOfManyModulesAndOfProjectUsingSeveralThreads() {
+        Analyzer analyzer = new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+                String moduleId = analysisContext.getModule().getModuleId();
+                analysisContext.addAnalyzedClass(moduleId);
+                analysisContext.addDependencies(moduleId, "Common");
+                if (moduleId.endsWith("0")) {
+                    analysisContext.addDependencies("_Main_", moduleId);
+                }
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisSink analysisSink, @Nonnull AnalyzedCode analyzedCode) {
+                analysisSink.addAnalyzedClass("Common");
+                analysisSink.addDependencies("_Project_", "M1");
+            }
+        };
+        List<Module> modules = newArrayList();
+        for (int i = 0; i < 12; i++) {
+            modules.add(givenModule("M" + i));
+        }
+        DeadCode sequentialResult = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzer)).findDeadCode(modules);
+
+        DeadCode parallelResult = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzer), 4).findDeadCode(modules);
+
+        assertThat(parallelResult.getAnalyzedClasses(), hasSize(13));
+        assertThat(parallelResult.getAnalyzedClasses(), is(equalTo(sequentialResult.getAnalyzedClasses())));
+        assertThat(parallelResult.getDeadClasses(), is(equalTo(sequentialResult.getDeadClasses())));
+        assertThat(parallelResult.getDeadClasses(), not(hasItems("Common", "M0", "M1", "M10")));
+        assertThat(parallelResult.getDeadClasses(), hasItem("M2"));
+    }
+
+    @Test
+    public void mergesPartialResultsBeforeFinishingModule() {
+        final List<String> finishedFiles = newArrayList();
+        createObjectUnderTest(4, new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                FileNames fileNames = FileNames.class.cast(analysisContext.getCache().get("fileNames"));
+                if (fileNames == null) {
+                    fileNames = new FileNames();
+                    analysisContext.getCache().put("fileNames", fileNames);
+                }
+                fileNames.names.add(fileName.getPath());
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+                finishedFiles.addAll(FileNames.class.cast(analysisContext.getCache().get("fileNames")).names);
+            }
+        });
+        final List<String> analyzedFiles = newArrayList();
+        Module module = givenModule("A", FileLoader.getFile("."));
+        new DeadCodeFinder(new DeadCodeComputer(), newHashSet(new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                analyzedFiles.add(fileName.getPath());
+            }
+        })).findDeadCode(newArrayList(module));
+
+        objectUnderTest.findDeadCode(newArrayList(module));
+
+        assertThat(finishedFiles, hasSize(greaterThan(1)));
+        assertThat("Partial results should be merged in order!", finishedFiles, is(equalTo(analyzedFiles)));
+    }
+
+    @Test
+    public void analyzesIndependentModulesConcurrently() {
+        final CountDownLatch modulesBeingFinished = new CountDownLatch(2);
+        final AtomicBoolean analyzedConcurrently = new AtomicBoolean(true);
+        createObjectUnderTest(2, new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+                modulesBeingFinished.countDown();
+                try {
+                    if (!modulesBeingFinished.await(5, TimeUnit.SECONDS)) {
+                        analyzedConcurrently.set(false);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    analyzedConcurrently.set(false);
+                }
+            }
+        });
+
+        objectUnderTest.findDeadCode(newArrayList(givenModule("A"), givenModule("B")));
+
+        assertThat("Modules should have been analyzed at the same time!", analyzedConcurrently.get(), is(true));
+    }
+
+    @Test
+    public void providesIntermediateResultsOfRequiredModulesWhenAnalyzingConcurrently() {
+        final Map<String, IntermediateResult> availableResults = new ConcurrentHashMap<String, IntermediateResult>();
+        createObjectUnderTest(4, new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+                String moduleId = analysisContext.getModule().getModuleId();
+                IntermediateResult intermediateResult = analysisContext.getIntermediateResult("modules");
+                if (intermediateResult != null) {
+                    availableResults.put(moduleId, intermediateResult);
+                }
+                analysisContext.getCache().put("modules", IntermediateResults.resultSetFor(singleton(moduleId)));
+            }
+        });
+        Module a = givenModule("A");
+        Module b = givenModule("B");
+        Module c = givenModule("C", a, b);
+        Module d = givenModule("D", c);
+
+        objectUnderTest.findDeadCode(newArrayList(d, c, b, a));
+
+        assertThat(availableResults.keySet(), containsInAnyOrder("C", "D"));
+        assertThat(IntermediateResults.<String>resultSetFrom(givenContextFor(d, availableResults.get("D")), "modules")
+                .getResults(), containsInAnyOrder("A", "B", "C"));
+    }
+
+    @Test
+    public void reusesCachedResultsOfCacheableAnalyzers() throws IOException {
+        File cacheFile = new File(temporaryFolder.getRoot(), "analysis.cache");
+        CountingCacheableAnalyzer cacheableAnalyzer = new CountingCacheableAnalyzer();
+        final AtomicInteger otherAnalyzerCalls = new AtomicInteger();
+        Set<Analyzer> analyzers = Sets.<Analyzer>newHashSet(cacheableAnalyzer, new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                otherAnalyzerCalls.incrementAndGet();
+            }
+        });
+        List<Module> modules = newArrayList(givenModule("A", FileLoader.getFile(".")));
+        AnalysisCache analysisCache = AnalysisCache.loadFrom(cacheFile, "JUnit", analyzers);
+        DeadCode initialResult = new DeadCodeFinder(new DeadCodeComputer(), analyzers, 1, analysisCache)
+                .findDeadCode(modules);
+        analysisCache.store();
+        int numberOfFiles = cacheableAnalyzer.calls.getAndSet(0);
+        otherAnalyzerCalls.set(0);
+
+        analysisCache = AnalysisCache.loadFrom(cacheFile, "JUnit", analyzers);
+        DeadCode cachedResult = new DeadCodeFinder(new DeadCodeComputer(), analyzers, 4, analysisCache)
+                .findDeadCode(modules);
+
+        assertThat(numberOfFiles, is(greaterThan(1)));
+        assertThat("Cached results should be reused!", cacheableAnalyzer.calls.get(), is(0));
+        assertThat("Other analyzers should still be called!", otherAnalyzerCalls.get(), is(numberOfFiles));
+        assertThat(cachedResult.getAnalyzedClasses(), is(equalTo(initialResult.getAnalyzedClasses())));
+        assertThat(cachedResult.getDeadClasses(), is(equalTo(initialResult.getDeadClasses())));
+    }
+
+    @Test
+    public void analyzesFilesPreparedInAdvanceInOrder() {
+        final List<String> analyzedFiles = newArrayList();
+        Module module = givenModule("A", FileLoader.getFile("."));
+        new DeadCodeFinder(new DeadCodeComputer(), newHashSet(new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                analyzedFiles.add(fileName.getPath());
+            }
+        })).findDeadCode(newArrayList(module));
+        final List<String> preparedFiles = newArrayList();
+        final AtomicInteger numberOfPreparations = new AtomicInteger();
+        final AtomicInteger maximumNumberOfPreparationsAhead = new AtomicInteger();
+        this.objectUnderTest = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(new PreparingAnalyzer() {
+            @Override
+            public void prepareAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+                numberOfPreparations.incrementAndGet();
+                fileContext.getOrCreateArtifact("prepared", new NonNullFunction<FileContext, String>() {
+                    @Nonnull
+                    @Override
+                    public String apply(@Nonnull FileContext input) {
+                        return Thread.currentThread().getName();
+                    }
+                });
+            }
+
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+                String preparingThread = fileContext.getOrCreateArtifact("prepared",
+                        new NonNullFunction<FileContext, String>() {
+                            @Nonnull
+                            @Override
+                            public String apply(@Nonnull FileContext input) {
+                                return "none";
+                            }
+                        });
+                assertThat(preparingThread, startsWith("deadcode4j-preparer-"));
+                assertThat(FileContext.fileContextFor(analysisContext, fileContext.getFile()),
+                        is(sameInstance(fileContext)));
+                int preparationsAhead = numberOfPreparations.get() - preparedFiles.size();
+                if (preparationsAhead > maximumNumberOfPreparationsAhead.get()) {
+                    maximumNumberOfPreparationsAhead.set(preparationsAhead);
+                }
+                preparedFiles.add(fileContext.getFile().getPath());
+            }
+
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisSink analysisSink, @Nonnull AnalyzedCode analyzedCode) {
+            }
+        }), 1, null, 2);
+
+        objectUnderTest.findDeadCode(newArrayList(module));
+
+        assertThat(preparedFiles, hasSize(greaterThan(4)));
+        assertThat("Prepared files should be analyzed in order!", preparedFiles, is(equalTo(analyzedFiles)));
+        assertThat(maximumNumberOfPreparationsAhead.get(), is(lessThanOrEqualTo(4)));
+    }
+
+    @Test
+    public void limitsTheLookAheadForFilesThatAreNotPrepared() throws IOException {
+        String[] names = new String[200];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = i % 100 == 0 ? "Class" + i + ".java" : "resource" + i + ".txt";
+        }
+        File directory = givenFiles(names);
+        final List<File> files = new RepositoryWalker(new Repository(directory)).listFiles();
+        final AtomicInteger numberOfAnalyzedFiles = new AtomicInteger();
+        final List<String> filesPreparedTooEarly = new CopyOnWriteArrayList<String>();
+        this.objectUnderTest = new DeadCodeFinder(new DeadCodeComputer(), Sets.<Analyzer>newHashSet(
+                new AnalyzerAdapter() {
+                    @Override
+                    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                        numberOfAnalyzedFiles.incrementAndGet();
+                    }
+                },
+                new JavaFilePreparer() {
+                    @Override
+                    public void prepareAnalysis(@Nonnull AnalysisContext analysisContext,
+                                                @Nonnull FileContext fileContext) {
+                        int position = files.indexOf(fileContext.getFile());
+                        // at most 8 files are pending, including the one handed out next
+                        if (numberOfAnalyzedFiles.get() <= position - 8) {
+                            filesPreparedTooEarly.add(fileContext.getFile().getName());
+                        }
+                    }
+                }), 1, null, 1);
+
+        objectUnderTest.findDeadCode(singleton(givenModule("A", directory)));
+
+        assertThat(numberOfAnalyzedFiles.get(), is(names.length));
+        assertThat(filesPreparedTooEarly, is(empty()));
+    }
+
+    @Test
+    public void sharesEntriesAmongWorkerContextsAndReleasesThem() throws IOException {
+        File directory = givenFiles("A", "B", "C", "D");
+        final AtomicInteger numberOfSharedEntries = new AtomicInteger();
+        final AtomicInteger numberOfOpenEntries = new AtomicInteger();
+        createObjectUnderTest(4, new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                analysisContext.getOrCreateSharedEntry("shared", new NonNullFunction<AnalysisContext, Object>() {
+                    @Nonnull
+                    @Override
+                    public Object apply(@Nonnull AnalysisContext input) {
+                        return numberOfSharedEntries.incrementAndGet();
+                    }
+                });
+                analysisContext.getOrCreateCacheEntry("closeable", new OpenEntrySupplier(numberOfOpenEntries));
+            }
+        });
+
+        objectUnderTest.findDeadCode(singleton(givenModule("A", directory)));
+
+        assertThat(numberOfSharedEntries.get(), is(1));
+        assertThat(numberOfOpenEntries.get(), is(0));
+    }
+
+    @Test
+    public void releasesWorkerContextsIfAnalysisFails() throws IOException {
+        File directory = givenFiles("A", "B", "C", "D");
+        final File fileOfFirstWorker = new RepositoryWalker(new Repository(directory)).listFiles().get(0);
+        final AtomicInteger numberOfOpenEntries = new AtomicInteger();
+        createObjectUnderTest(4, new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                analysisContext.getOrCreateCacheEntry("closeable", new OpenEntrySupplier(numberOfOpenEntries));
+                if (fileOfFirstWorker.equals(fileName)) {
+                    throw new AssertionError("analysis failed");
+                }
+            }
+        });
+
+        try {
+            objectUnderTest.findDeadCode(singleton(givenModule("A", directory)));
+            fail("Analysis should fail!");
+        } catch (AssertionError e) {
+            assertThat(e.getMessage(), is("analysis failed"));
+        }
+
+        assertThat("Only the failed worker's context should be left open!", numberOfOpenEntries.get(), is(1));
+    }
+
+    private abstract static class JavaFilePreparer extends AnalyzerAdapter
+            implements PreparingAnalyzer, SelectiveAnalyzer {
+
+        @Nonnull
+        @Override
+        public Iterable<String> getFileNameSuffixes() {
+            return singleton(".java");
+        }
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull FileContext fileContext) {
+        }
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        }
+
+    }
+
+    private File givenFiles(String... names) throws IOException {
+        File directory = temporaryFolder.newFolder();
+        for (String name : names) {
+            assertThat(new File(directory, name).createNewFile(), is(true));
+        }
+        return directory;
+    }
+
+    private AnalysisContext givenContextFor(Module module, IntermediateResult intermediateResult) {
+        Map<Object, IntermediateResult> intermediateResults = newHashMap();
+        intermediateResults.put("modules", intermediateResult);
+        return new AnalysisContext(module, intermediateResults);
+    }
+
     private void createObjectUnderTest(Analyzer... analyzers) {
-        this.objectUnderTest = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzers));
+        createObjectUnderTest(1, analyzers);
+    }
+
+    private void createObjectUnderTest(int numberOfThreads, Analyzer... analyzers) {
+        this.objectUnderTest = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzers), numberOfThreads);
+    }
+
+    private static class CountingCacheableAnalyzer extends AnalyzerAdapter implements CacheableAnalyzer {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            calls.incrementAndGet();
+            analysisContext.addAnalyzedClass(fileName.getName());
+            analysisContext.addDependencies(fileName.getParentFile().getName(), fileName.getName());
+        }
+    }
+
+    private static class OpenEntrySupplier implements NonNullFunction<AnalysisContext, Closeable> {
+        private final AtomicInteger numberOfOpenEntries;
+
+        public OpenEntrySupplier(AtomicInteger numberOfOpenEntries) {
+            this.numberOfOpenEntries = numberOfOpenEntries;
+        }
+
+        @Nonnull
+        @Override
+        public Closeable apply(@Nonnull AnalysisContext input) {
+            numberOfOpenEntries.incrementAndGet();
+            return new Closeable() {
+                @Override
+                public void close() {
+                    numberOfOpenEntries.decrementAndGet();
+                }
+            };
+        }
+    }
+
+    private static class FileNames implements PartialResult {
+        private final List<String> names = newArrayList();
+
+        @Override
+        public void mergeSubsequent(@Nonnull PartialResult subsequentResult) {
+            this.names.addAll(FileNames.class.cast(subsequentResult).names);
+        }
     }
 
 }
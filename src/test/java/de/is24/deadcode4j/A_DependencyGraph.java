@@ -0,0 +1,209 @@
+package de.is24.deadcode4j;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class A_DependencyGraph {
+
+    private final DependencyGraph.Builder builder = new DependencyGraph.Builder();
+
+    @Test
+    public void providesAnalyzedClassesAndDependencies() {
+        builder.addAnalyzedClass("A").addAnalyzedClass("B")
+                .addDependency("A", "C").addDependency("A", "B").addDependency("_XML_", "A");
+
+        AnalyzedCode analyzedCode = new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), builder.build());
+
+        assertThat(analyzedCode.getAnalyzedClasses(), containsInAnyOrder("A", "B"));
+        assertThat(analyzedCode.getAnalyzedClasses(), not(hasItem("C")));
+        Map<String, Set<String>> codeDependencies = analyzedCode.getCodeDependencies();
+        assertThat(codeDependencies.keySet(), containsInAnyOrder("A", "_XML_"));
+        assertThat(codeDependencies.get("A"), containsInAnyOrder("B", "C"));
+        assertThat(codeDependencies.get("A").contains("C"), is(true));
+        assertThat(codeDependencies.get("A").contains("A"), is(false));
+        assertThat(codeDependencies.get("B"), is(nullValue()));
+        assertThat(codeDependencies.get("unknown"), is(nullValue()));
+    }
+
+    @Test
+    public void dropsDuplicateDependencies() {
+        for (int i = 0; i < 5000; i++) {
+            builder.addDependency("A", "B" + (i % 10));
+        }
+
+        DependencyGraph graph = builder.build();
+
+        assertThat(graph.getNumberOfDependencies(), is(10));
+        assertThat(graph.getDependeeIdsOf(graph.getId("A")).length, is(10));
+    }
+
+    @Test
+    public void keepsAllDependenciesWhenCompacting() {
+        for (int i = 0; i < 3000; i++) {
+            builder.addDependency("A" + (i % 7), "B" + i);
+            builder.addDependency("A" + (i % 7), "B" + i);
+        }
+
+        DependencyGraph graph = builder.build();
+
+        assertThat(graph.getNumberOfDependencies(), is(3000));
+        int[] dependees = graph.getDependeeIdsOf(graph.getId("A0"));
+        assertThat(dependees.length, is(429));
+        for (int i = 1; i < dependees.length; i++) {
+            assertThat("Dependees should be sorted!", dependees[i], is(greaterThan(dependees[i - 1])));
+        }
+    }
+
+    @Test
+    public void mergesGraphsWithDifferentIds() {
+        DependencyGraph first = new DependencyGraph.Builder()
+                .addAnalyzedClass("A").addDependency("A", "B").build();
+        DependencyGraph second = new DependencyGraph.Builder()
+                .addAnalyzedClass("C").addDependency("C", "A").addDependency("A", "D").build();
+
+        DependencyGraph merged = builder.addAll(first).addAll(second).build();
+
+        AnalyzedCode analyzedCode = new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), merged);
+        assertThat(analyzedCode.getAnalyzedClasses(), containsInAnyOrder("A", "C"));
+        assertThat(analyzedCode.getCodeDependencies().get("A"), containsInAnyOrder("B", "D"));
+        assertThat(analyzedCode.getCodeDependencies().get("C"), contains("A"));
+    }
+
+    @Test
+    public void providesIdsAsBitSets() {
+        builder.addAnalyzedClass("A").addAnalyzedClass("B").addDependency("A", "B").addDependency("A", "C");
+
+        DependencyGraph graph = builder.build();
+
+        BitSet deadClasses = graph.getAnalyzedClassIds();
+        deadClasses.andNot(graph.getDependeeIds());
+        assertThat(deadClasses.cardinality(), is(1));
+        assertThat(graph.getName(deadClasses.nextSetBit(0)), is("A"));
+        assertThat("Returned BitSet must be a copy!", graph.getAnalyzedClassIds().cardinality(), is(2));
+    }
+
+    @Test
+    public void isNotAffectedByLaterAdditions() {
+        builder.addAnalyzedClass("A").addDependency("A", "B");
+        DependencyGraph graph = builder.build();
+
+        builder.addAnalyzedClass("C").addDependency("A", "C");
+
+        assertThat(graph.getNumberOfNames(), is(2));
+        assertThat(graph.getId("C"), is(-1));
+        assertThat(graph.getNumberOfDependencies(), is(1));
+    }
+
+    @Test
+    public void extendsGraphWithoutModifyingIt() {
+        DependencyGraph graph = builder.addAnalyzedClass("A").addDependency("A", "B").build();
+        DependencyGraph delta = new DependencyGraph.Builder()
+                .addAnalyzedClass("B").addDependency("A", "B").addDependency("A", "C").addDependency("_XML_", "A")
+                .build();
+
+        DependencyGraph extendedGraph = graph.extendWith(delta);
+
+        assertThat(extendedGraph.getNumberOfNames(), is(4));
+        assertThat(extendedGraph.getNumberOfDependencies(), is(3));
+        AnalyzedCode analyzedCode = new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), extendedGraph);
+        assertThat(analyzedCode.getAnalyzedClasses(), containsInAnyOrder("A", "B"));
+        assertThat(analyzedCode.getCodeDependencies().keySet(), containsInAnyOrder("A", "_XML_"));
+        assertThat(analyzedCode.getCodeDependencies().get("A"), contains("B", "C"));
+        assertThat(extendedGraph.getReachableIds(bitSetOf(extendedGraph.getId("_XML_"))).cardinality(), is(4));
+        assertThat(graph.getNumberOfNames(), is(2));
+        assertThat(graph.getId("C"), is(-1));
+        assertThat(graph.getNumberOfDependencies(), is(1));
+    }
+
+    @Test
+    public void returnsSameGraphIfExtensionAddsNothing() {
+        DependencyGraph graph = builder.addAnalyzedClass("A").addDependency("A", "B").build();
+
+        DependencyGraph extendedGraph = graph.extendWith(builder.build());
+
+        assertThat(extendedGraph, is(sameInstance(graph)));
+    }
+
+    @Test
+    public void keepsAllDependenciesWhenExtendingRepeatedly() {
+        DependencyGraph graph = builder.addDependency("A", "B").build();
+        for (int i = 0; i < 20; i++) {
+            graph = graph.extendWith(new DependencyGraph.Builder()
+                    .addAnalyzedClass("C" + i).addDependency("A", "C" + i).addDependency("C" + i, "B").build());
+        }
+
+        assertThat(graph.getNumberOfNames(), is(22));
+        assertThat(graph.getNumberOfDependencies(), is(41));
+        assertThat(graph.getAnalyzedClassIds().cardinality(), is(20));
+        int[] dependees = graph.getDependeeIdsOf(graph.getId("A"));
+        assertThat(dependees.length, is(21));
+        for (int i = 1; i < dependees.length; i++) {
+            assertThat("Dependees should be sorted!", dependees[i], is(greaterThan(dependees[i - 1])));
+        }
+        DependencyGraph copy = new DependencyGraph.Builder().addAll(graph).build();
+        assertThat(copy.getNumberOfDependencies(), is(41));
+        assertThat(copy.getDependerIds().cardinality(), is(21));
+    }
+
+    @Test
+    public void maintainsReachableIdsWhenExtending() {
+        DependencyGraph graph = builder
+                .addAnalyzedClass("A").addAnalyzedClass("B").addAnalyzedClass("C").addAnalyzedClass("D")
+                .addDependency("_Root_", "A").addDependency("A", "B").addDependency("C", "D")
+                .addDependency("_Other_", "C")
+                .build();
+        assertThat(namesOf(graph, graph.getIdsReachableFromRoots()), containsInAnyOrder("_Root_", "_Other_", "A", "B", "C", "D"));
+
+        DependencyGraph withAdditionalRoot = graph.extendWith(new DependencyGraph.Builder()
+                .addAnalyzedClass("E").addAnalyzedClass("F").addDependency("_New_", "E").addDependency("B", "F")
+                .build());
+        DependencyGraph withoutRoot = withAdditionalRoot.extendWith(new DependencyGraph.Builder()
+                .addAnalyzedClass("_Other_").build());
+
+        assertThat(namesOf(withAdditionalRoot, withAdditionalRoot.getIdsReachableFromRoots()),
+                containsInAnyOrder("_Root_", "_Other_", "_New_", "A", "B", "C", "D", "E", "F"));
+        assertThat(namesOf(withoutRoot, withoutRoot.getIdsReachableFromRoots()),
+                containsInAnyOrder("_Root_", "_New_", "A", "B", "E", "F"));
+        DependencyGraph flatGraph = new DependencyGraph.Builder().addAll(withoutRoot).build();
+        assertThat(withoutRoot.getIdsReachableFromRoots().cardinality(),
+                is(flatGraph.getIdsReachableFromRoots().cardinality()));
+        assertThat(namesOf(graph, graph.getIdsReachableFromRoots()), hasSize(6));
+    }
+
+    @Test
+    public void maintainsDerivedIdsWhenExtending() {
+        DependencyGraph graph = builder.addAnalyzedClass("A").addDependency("A", "B").build();
+        graph.getDependeeIds();
+
+        DependencyGraph extendedGraph = graph.extendWith(new DependencyGraph.Builder()
+                .addAnalyzedClass("C").addDependency("C", "A").build());
+
+        assertThat(namesOf(extendedGraph, extendedGraph.getAnalyzedClassIds()), containsInAnyOrder("A", "C"));
+        assertThat(namesOf(extendedGraph, extendedGraph.getDependeeIds()), containsInAnyOrder("A", "B"));
+        assertThat(namesOf(extendedGraph, extendedGraph.getDependerIds()), containsInAnyOrder("A", "C"));
+        assertThat(namesOf(graph, graph.getDependeeIds()), contains("B"));
+    }
+
+    private static Set<String> namesOf(DependencyGraph graph, BitSet ids) {
+        Set<String> names = new HashSet<String>();
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            names.add(graph.getName(id));
+        }
+        return names;
+    }
+
+    private static BitSet bitSetOf(int id) {
+        BitSet bitSet = new BitSet();
+        bitSet.set(id);
+        return bitSet;
+    }
+
+}
@@ -0,0 +1,115 @@
+package de.is24.deadcode4j;
+
+import de.is24.deadcode4j.junit.TempFileRule;
+import de.is24.guava.NonNullFunction;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.FileContext.fileContextFor;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertArrayEquals;
+
+public final class A_FileContext {
+
+    @Rule
+    public final TempFileRule tempFileRule = new TempFileRule();
+
+    @Test
+    public void readsContentOnlyOnce() throws IOException {
+        File file = tempFileRule.getTempFile();
+        FileUtils.writeStringToFile(file, "initial", "UTF-8");
+        FileContext objectUnderTest = new FileContext(file);
+
+        byte[] content = objectUnderTest.getContent();
+        FileUtils.writeStringToFile(file, "modified", "UTF-8");
+
+        assertThat(objectUnderTest.getContent(), is(sameInstance(content)));
+        assertArrayEquals("initial".getBytes("UTF-8"), IOUtils.toByteArray(objectUnderTest.openStream()));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void failsIfFileCannotBeRead() {
+        new FileContext(new File("does/not/exist")).getContent();
+    }
+
+    @Test
+    public void createsArtifactOnlyOnce() {
+        final AtomicInteger numberOfCalls = new AtomicInteger();
+        NonNullFunction<FileContext, Object> supplier = new NonNullFunction<FileContext, Object>() {
+            @Nonnull
+            @Override
+            public Object apply(@Nonnull FileContext input) {
+                numberOfCalls.incrementAndGet();
+                return new Object();
+            }
+        };
+        FileContext objectUnderTest = new FileContext(tempFileRule.getTempFile());
+
+        Object artifact = objectUnderTest.getOrCreateArtifact("key", supplier);
+
+        assertThat(objectUnderTest.getOrCreateArtifact("key", supplier), is(sameInstance(artifact)));
+        assertThat(numberOfCalls.get(), is(1));
+        assertThat(objectUnderTest.getOrCreateArtifact("anotherKey", supplier), is(not(sameInstance(artifact))));
+    }
+
+    @Test
+    public void isReusedForTheSameFile() {
+        AnalysisContext analysisContext = givenAnalysisContext(givenModule("A"));
+        File file = tempFileRule.getTempFile();
+
+        FileContext fileContext = fileContextFor(analysisContext, file);
+
+        assertThat(fileContextFor(analysisContext, file), is(sameInstance(fileContext)));
+        assertThat(fileContextFor(analysisContext, new File("another")), is(not(sameInstance(fileContext))));
+    }
+
+    @Test
+    public void isReplacedByPreparedContext() {
+        AnalysisContext analysisContext = givenAnalysisContext(givenModule("A"));
+        File file = tempFileRule.getTempFile();
+        FileContext fileContext = fileContextFor(analysisContext, file);
+        FileContext preparedContext = new FileContext(file);
+
+        assertThat(fileContextFor(analysisContext, preparedContext), is(sameInstance(preparedContext)));
+        assertThat(fileContextFor(analysisContext, file), is(sameInstance(preparedContext)));
+        assertThat(fileContextFor(analysisContext, file), is(not(sameInstance(fileContext))));
+    }
+
+    @Test
+    public void closesArtifactsWhenReleased() {
+        final AtomicInteger numberOfCalls = new AtomicInteger();
+        NonNullFunction<FileContext, Closeable> supplier = new NonNullFunction<FileContext, Closeable>() {
+            @Nonnull
+            @Override
+            public Closeable apply(@Nonnull FileContext input) {
+                return new Closeable() {
+                    @Override
+                    public void close() {
+                        numberOfCalls.incrementAndGet();
+                    }
+                };
+            }
+        };
+        FileContext objectUnderTest = new FileContext(tempFileRule.getTempFile());
+        Closeable artifact = objectUnderTest.getOrCreateArtifact("key", supplier);
+
+        objectUnderTest.release();
+
+        assertThat(numberOfCalls.get(), is(1));
+        assertThat(objectUnderTest.getOrCreateArtifact("key", supplier), is(not(sameInstance(artifact))));
+    }
+
+}
@@ -6,10 +6,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static de.is24.deadcode4j.ModuleBuilder.givenModule;
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 
 public final class A_Module {
 
@@ -51,6 +54,50 @@ public final class A_Module {
         assertThat(modules, contains(z, c, y, b, x, a));
     }
 
+    @Test
+    public void groupsModulesIntoLevels() {
+        Module z = givenModule("Z");
+        Module y = givenModule("Y", z);
+        Module c = givenModule("C", z);
+        Module b = givenModule("B", c);
+        Module x = givenModule("X", y, z);
+        Module a = givenModule("A", b, x);
+
+        List<List<Module>> levels = Module.sortIntoLevels(asList(a, b, c, x, y, z));
+
+        List<List<Module>> expectedLevels = newArrayList();
+        expectedLevels.add(asList(z));
+        expectedLevels.add(asList(c, y));
+        expectedLevels.add(asList(b, x));
+        expectedLevels.add(asList(a));
+        assertThat(levels, is(equalTo(expectedLevels)));
+    }
+
+    @Test
+    public void sortsLongChainOfModules() {
+        List<Module> modules = newArrayList();
+        Module previousModule = givenModule("0000");
+        modules.add(previousModule);
+        for (int i = 1; i < 2000; i++) {
+            previousModule = givenModule(String.format("%04d", i), previousModule);
+            modules.add(previousModule);
+        }
+        List<Module> expectedOrder = newArrayList(modules);
+        Collections.shuffle(modules);
+
+        Iterable<Module> sortedModules = Module.sort(modules);
+
+        assertThat(newArrayList(sortedModules), is(equalTo(expectedOrder)));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void throwsExceptionIfRequiredModuleIsMissing() {
+        Module a = givenModule("A");
+        Module b = givenModule("B", a);
+
+        Module.sort(asList(b));
+    }
+
     @Test(expected = RuntimeException.class)
     public void throwsExceptionIfSortingFails() {
         ArrayList<Resource> dependencies = new ArrayList<Resource>();
@@ -0,0 +1,71 @@
+package de.is24.deadcode4j;
+
+import de.is24.deadcode4j.junit.FileLoader;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.apache.commons.io.filefilter.TrueFileFilter.TRUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class A_RepositoryWalker {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void listsAllFilesOfRepository() {
+        File directory = FileLoader.getFile(".");
+
+        List<File> files = new RepositoryWalker(new Repository(directory)).listFiles();
+
+        assertThat(files, hasSize(greaterThan(100)));
+        assertThat(files, containsInAnyOrder(FileUtils.listFiles(directory, TRUE, TRUE).toArray()));
+    }
+
+    @Test
+    public void listsTheSameFilesInTheSameOrderConcurrently() {
+        RepositoryWalker objectUnderTest = new RepositoryWalker(new Repository(FileLoader.getFile(".")));
+        List<File> sequentiallyListedFiles = objectUnderTest.listFiles();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<File> concurrentlyListedFiles = objectUnderTest.listFiles(executor);
+
+            assertThat(concurrentlyListedFiles, is(equalTo(sequentiallyListedFiles)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void doesNotEnterRejectedDirectories() throws IOException {
+        File directory = temporaryFolder.newFolder("repository");
+        File skippedDirectory = new File(directory, "skip");
+        FileUtils.touch(new File(skippedDirectory, "skipped.txt"));
+        File listedFile = new File(directory, "sub/listed.txt");
+        FileUtils.touch(listedFile);
+        final List<File> examinedFiles = newArrayList();
+
+        List<File> files = new RepositoryWalker(new Repository(directory, new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                examinedFiles.add(file);
+                return !(file.isDirectory() && "skip".equals(file.getName()));
+            }
+        })).listFiles();
+
+        assertThat(files, contains(listedFile));
+        assertThat(examinedFiles, not(hasItem(new File(skippedDirectory, "skipped.txt"))));
+    }
+
+}
@@ -0,0 +1,47 @@
+package de.is24.deadcode4j;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public final class A_SymbolTable {
+
+    private final SymbolTable objectUnderTest = new SymbolTable();
+
+    @Test
+    public void assignsConsecutiveIds() {
+        for (int i = 0; i < 10000; i++) {
+            assertThat(objectUnderTest.intern("name" + i), is(i));
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertThat(objectUnderTest.intern("name" + i), is(i));
+            assertThat(objectUnderTest.getId("name" + i), is(i));
+            assertThat(objectUnderTest.getName(i), is("name" + i));
+        }
+        assertThat(objectUnderTest.size(), is(10000));
+    }
+
+    @Test
+    public void returnsMinusOneForUnknownName() {
+        objectUnderTest.intern("known");
+
+        assertThat(objectUnderTest.getId("unknown"), is(-1));
+    }
+
+    @Test
+    public void createsIndependentCopy() {
+        objectUnderTest.intern("A");
+        SymbolTable copy = objectUnderTest.copy();
+
+        objectUnderTest.intern("B");
+        copy.intern("C");
+
+        assertThat(copy.getId("B"), is(-1));
+        assertThat(copy.getId("C"), is(1));
+        assertThat(objectUnderTest.getId("C"), is(-1));
+        assertThat(objectUnderTest.getId("B"), is(1));
+    }
+
+}
@@ -0,0 +1,158 @@
+package de.is24.deadcode4j;
+
+import com.google.common.base.Strings;
+import de.is24.deadcode4j.analyzer.AnalyzerAdapter;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class An_AnalysisCache {
+
+    private static final List<Analyzer> ANALYZERS = Collections.<Analyzer>singletonList(new SomeCacheableAnalyzer());
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File cacheFile;
+    private File analyzedFile;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFile = new File(temporaryFolder.getRoot(), "deadcode4j/analysis.cache");
+        analyzedFile = temporaryFolder.newFile("Foo.class");
+        FileUtils.writeStringToFile(analyzedFile, "content", "UTF-8");
+    }
+
+    @Test
+    public void reusesStoredResultsOfUnchangedFile() throws IOException {
+        givenCachedResults();
+
+        AnalyzedCode analyzedCode = loadCache(ANALYZERS).getAnalyzedCodeFor(new FileContext(analyzedFile));
+
+        assertThat(analyzedCode, is(notNullValue()));
+        assertThat(analyzedCode.getAnalyzedClasses(), contains("Foo"));
+        assertThat(analyzedCode.getCodeDependencies().get("Foo"), containsInAnyOrder("Bar", "Baz"));
+    }
+
+    @Test
+    public void reusesStoredResultsOfTouchedFileWithSameContent() throws IOException {
+        givenCachedResults();
+        touch();
+
+        AnalyzedCode analyzedCode = loadCache(ANALYZERS).getAnalyzedCodeFor(new FileContext(analyzedFile));
+
+        assertThat(analyzedCode, is(notNullValue()));
+        assertThat(analyzedCode.getAnalyzedClasses(), contains("Foo"));
+    }
+
+    @Test
+    public void discardsStoredResultsOfModifiedFile() throws IOException {
+        givenCachedResults();
+        FileUtils.writeStringToFile(analyzedFile, "changed", "UTF-8");
+        touch();
+
+        AnalyzedCode analyzedCode = loadCache(ANALYZERS).getAnalyzedCodeFor(new FileContext(analyzedFile));
+
+        assertThat(analyzedCode, is(nullValue()));
+    }
+
+    @Test
+    public void discardsStoredResultsIfAnalyzersChange() throws IOException {
+        givenCachedResults();
+
+        AnalysisCache objectUnderTest = loadCache(asList(new SomeCacheableAnalyzer(), new AnotherCacheableAnalyzer()));
+
+        assertThat(objectUnderTest.getAnalyzedCodeFor(new FileContext(analyzedFile)), is(nullValue()));
+    }
+
+    @Test
+    public void discardsStoredResultsIfConfigurationChanges() throws IOException {
+        givenCachedResults();
+
+        AnalysisCache objectUnderTest = AnalysisCache.loadFrom(cacheFile, "JUnit:2", ANALYZERS);
+
+        assertThat(objectUnderTest.getAnalyzedCodeFor(new FileContext(analyzedFile)), is(nullValue()));
+    }
+
+    @Test
+    public void storesNamesExceedingSixtyFourKilobytes() throws IOException {
+        String longName = Strings.repeat("Foo", 30000);
+        Map<String, Set<String>> dependencies = newHashMap();
+        dependencies.put(longName, newHashSet("Bar"));
+        String longConfiguration = Strings.repeat("JUnit", 20000);
+        AnalysisCache analysisCache = AnalysisCache.loadFrom(cacheFile, longConfiguration, ANALYZERS);
+        analysisCache.putAnalyzedCodeFor(new FileContext(analyzedFile),
+                new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), newHashSet(longName), dependencies));
+        analysisCache.store();
+
+        AnalyzedCode analyzedCode = AnalysisCache.loadFrom(cacheFile, longConfiguration, ANALYZERS)
+                .getAnalyzedCodeFor(new FileContext(analyzedFile));
+
+        assertThat(analyzedCode, is(notNullValue()));
+        assertThat(analyzedCode.getAnalyzedClasses(), contains(longName));
+        assertThat(analyzedCode.getCodeDependencies().get(longName), contains("Bar"));
+    }
+
+    @Test
+    public void dropsResultsOfFilesThatWereNotAnalyzed() throws IOException {
+        givenCachedResults();
+        loadCache(ANALYZERS).store();
+
+        AnalyzedCode analyzedCode = loadCache(ANALYZERS).getAnalyzedCodeFor(new FileContext(analyzedFile));
+
+        assertThat(analyzedCode, is(nullValue()));
+    }
+
+    @Test
+    public void ignoresCorruptCacheFile() throws IOException {
+        FileUtils.writeStringToFile(cacheFile, "corrupt", "UTF-8");
+
+        AnalysisCache objectUnderTest = loadCache(ANALYZERS);
+
+        assertThat(objectUnderTest.getAnalyzedCodeFor(new FileContext(analyzedFile)), is(nullValue()));
+    }
+
+    private AnalysisCache loadCache(List<? extends Analyzer> analyzers) {
+        return AnalysisCache.loadFrom(cacheFile, "JUnit:1", analyzers);
+    }
+
+    private void givenCachedResults() throws IOException {
+        Map<String, Set<String>> dependencies = newHashMap();
+        dependencies.put("Foo", newHashSet("Bar", "Baz"));
+        AnalysisCache analysisCache = loadCache(ANALYZERS);
+        analysisCache.putAnalyzedCodeFor(new FileContext(analyzedFile),
+                new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), newHashSet("Foo"), dependencies));
+        analysisCache.store();
+    }
+
+    private void touch() {
+        assertThat(analyzedFile.setLastModified(analyzedFile.lastModified() - 60000), is(true));
+    }
+
+    private static class SomeCacheableAnalyzer extends AnalyzerAdapter implements CacheableAnalyzer {
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+        }
+    }
+
+    private static class AnotherCacheableAnalyzer extends SomeCacheableAnalyzer {
+    }
+
+}
@@ -0,0 +1,80 @@
+package de.is24.deadcode4j;
+
+import de.is24.deadcode4j.analyzer.AnalyzerAdapter;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+public final class An_AnalyzerRoutingTable {
+
+    private final Analyzer classAnalyzer = givenSelectiveAnalyzer(".class");
+    private final Analyzer webXmlAnalyzer = givenSelectiveAnalyzer("web.xml");
+    private final Analyzer xmlAnalyzer = givenSelectiveAnalyzer(".xml");
+    private final Analyzer makefileAnalyzer = givenSelectiveAnalyzer("Makefile");
+    private final Analyzer unselectiveAnalyzer = new AnalyzerAdapter() {
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+        }
+    };
+    private final AnalyzerRoutingTable objectUnderTest = new AnalyzerRoutingTable(newArrayList(
+            classAnalyzer, webXmlAnalyzer, unselectiveAnalyzer, xmlAnalyzer, makefileAnalyzer));
+
+    @Test
+    public void routesFileToAnalyzersWithMatchingSuffix() {
+        assertThat(objectUnderTest.getAnalyzersFor(new File("WEB-INF/web.xml")),
+                contains(webXmlAnalyzer, unselectiveAnalyzer, xmlAnalyzer));
+        assertThat(objectUnderTest.getAnalyzersFor(new File("spring.xml")),
+                contains(unselectiveAnalyzer, xmlAnalyzer));
+        assertThat(objectUnderTest.getAnalyzersFor(new File("de/is24/Foo.class")),
+                contains(classAnalyzer, unselectiveAnalyzer));
+    }
+
+    @Test
+    public void routesFileOfUnknownExtensionToAnalyzersDeclaringSuffixWithoutExtension() {
+        assertThat(objectUnderTest.getAnalyzersFor(new File("WEB-INF/logo.png")), contains(unselectiveAnalyzer));
+        assertThat(objectUnderTest.getAnalyzersFor(new File("Makefile")),
+                contains(unselectiveAnalyzer, makefileAnalyzer));
+    }
+
+    @Test
+    public void routesNoFileIfThereAreOnlySelectiveAnalyzers() {
+        AnalyzerRoutingTable routingTable = new AnalyzerRoutingTable(asList(classAnalyzer, xmlAnalyzer));
+
+        assertThat(routingTable.getAnalyzersFor(new File("WEB-INF/logo.png")), empty());
+    }
+
+    private static Analyzer givenSelectiveAnalyzer(final String suffix) {
+        return new AnalyzerSelectingSuffix(suffix);
+    }
+
+    private static class AnalyzerSelectingSuffix extends AnalyzerAdapter implements SelectiveAnalyzer {
+        private final String suffix;
+
+        public AnalyzerSelectingSuffix(String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Nonnull
+        @Override
+        public Iterable<String> getFileNameSuffixes() {
+            return asList(suffix);
+        }
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+        }
+
+        @Override
+        public String toString() {
+            return "Analyzer for [" + suffix + "]";
+        }
+    }
+
+}
@@ -106,4 +106,30 @@ public final class An_IntermediateResultMap {
         assertThat(mergedResult.getResults(), hasEntry(is("foo"), containsInAnyOrder("bar", "foo")));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void doesNotModifyCollectionsOfMergedResults() {
+        HashSet<String> ownValues = newHashSet("bar");
+        HashSet<String> parentValues = newHashSet("foo");
+
+        mergeParent(givenIntermediateResultMap("foo", ownValues), givenIntermediateResultMap("foo", parentValues));
+
+        assertThat(ownValues, contains("bar"));
+        assertThat(parentValues, contains("foo"));
+    }
+
+    @Test
+    public void containsResultReachedViaSeveralPathsOnlyOnce() {
+        IntermediateResultMap<String, ArrayList<String>> commonParent =
+                givenIntermediateResultMap("foo", newArrayList("bar"));
+        IntermediateResultMap<String, ArrayList<String>> firstChild =
+                mergeParent(givenIntermediateResultMap("foo", newArrayList("first")), commonParent);
+        IntermediateResultMap<String, ArrayList<String>> secondChild =
+                mergeParent(givenIntermediateResultMap("foo", newArrayList("second")), commonParent);
+
+        IntermediateResultMap<String, ArrayList<String>> mergedResult = mergeSibling(firstChild, secondChild);
+
+        assertThat(mergedResult.getResults(), hasEntry(is("foo"), contains("first", "bar", "second")));
+        assertThat(mergeSibling(mergedResult, commonParent), is(sameInstance(mergedResult)));
+    }
+
+}
@@ -10,8 +10,7 @@ import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.IntermediateResults.IntermediateResultSet;
 import static de.is24.deadcode4j.IntermediateResults.resultSetFor;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.hasItem;
-import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.*;
 
 public final class An_IntermediateResultSet {
 
@@ -58,6 +57,30 @@ public final class An_IntermediateResultSet {
         assertThat(mergedResult.getResults(), hasItems("foo", "bar"));
     }
 
+    @Test
+    public void containsResultReachedViaSeveralPathsOnlyOnce() {
+        IntermediateResultSet<String> commonParent = givenIntermediateResultSet("foo");
+        IntermediateResultSet<String> firstChild = mergeParent(givenIntermediateResultSet("bar"), commonParent);
+        IntermediateResultSet<String> secondChild = mergeParent(givenIntermediateResultSet("baz"), commonParent);
+
+        IntermediateResultSet<String> mergedResult = mergeSibling(firstChild, secondChild);
+
+        assertThat(mergedResult.getResults(), containsInAnyOrder("foo", "bar", "baz"));
+        assertThat(mergeSibling(mergedResult, firstChild), is(sameInstance(mergedResult)));
+        assertThat(mergeSibling(commonParent, mergedResult), is(sameInstance(mergedResult)));
+    }
+
+    @Test
+    public void mergesManyResults() {
+        IntermediateResultSet<String> mergedResult = givenIntermediateResultSet("0");
+        for (int i = 1; i < 20; i++) {
+            mergedResult = mergeSibling(mergedResult, givenIntermediateResultSet(String.valueOf(i)));
+        }
+
+        assertThat(mergedResult.getResults(), hasSize(20));
+        assertThat(mergedResult.getResults(), hasItems("0", "10", "19"));
+    }
+
     private IntermediateResultSet<String> givenIntermediateResultSet(String element) {
         return resultSetFor(newHashSet(element));
     }
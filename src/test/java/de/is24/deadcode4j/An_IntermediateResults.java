@@ -117,6 +117,25 @@ public final class An_IntermediateResults {
         assertThat(intermediateResults, hasEntry(is(key), hasToString("ForB->(ForA)+ForC->(ForA+ForZ)+ForD+ForX->(ForY->(ForZ))")));
     }
 
+    @Test
+    public void reusesResultsCalculatedForRequiredModules() {
+        Object key = getClass();
+        AnalysisContext rootContext = AnalysisContextBuilder.givenAnalysisContext(givenModule("A"));
+        rootContext.getCache().put(key, new AnIntermediateResult("ForA"));
+        AnalysisContext parentContext = AnalysisContextBuilder.givenAnalysisContext(givenModule("B", rootContext.getModule()));
+        parentContext.getCache().put(key, new AnIntermediateResult("ForB"));
+
+        objectUnderTest.add(rootContext);
+        objectUnderTest.add(parentContext);
+        IntermediateResult firstResult = objectUnderTest.calculateIntermediateResultsFor(
+                givenModule("C", parentContext.getModule())).get(key);
+        IntermediateResult secondResult = objectUnderTest.calculateIntermediateResultsFor(
+                givenModule("D", parentContext.getModule())).get(key);
+
+        assertThat(firstResult, hasToString("ForB->(ForA)"));
+        assertThat(secondResult, is(sameInstance(firstResult)));
+    }
+
     private static class AnIntermediateResult implements IntermediateResult {
         private final String string;
 
@@ -0,0 +1,40 @@
+package de.is24.deadcode4j.analyzer;
+
+import org.junit.Test;
+
+public final class A_ConstantPoolDependencyAnalyzer extends AnAnalyzer<ConstantPoolDependencyAnalyzer> {
+
+    @Override
+    protected ConstantPoolDependencyAnalyzer createAnalyzer() {
+        return new ConstantPoolDependencyAnalyzer();
+    }
+
+    @Test
+    public void reportsExistenceOfClasses() {
+        analyzeFile("A.class");
+        assertThatClassesAreReported("A");
+
+        analyzeFile("B.class");
+        assertThatClassesAreReported("A", "B");
+    }
+
+    @Test
+    public void reportsTheDependencyOfAClassToAnother() {
+        analyzeFile("DependingClass.class");
+
+        assertThatDependenciesAreReportedFor("DependingClass",
+                "IndependentClass",
+                "java.lang.Object");
+    }
+
+    @Test
+    public void recognizesDependencyOfInnerClassToParentClass() {
+        analyzeFile("de/is24/deadcode4j/analyzer/classdependency/ClassWithInnerClasses$UnusedInnerClass.class");
+
+        assertThatClassesAreReported("de.is24.deadcode4j.analyzer.classdependency.ClassWithInnerClasses$UnusedInnerClass");
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.classdependency.ClassWithInnerClasses$UnusedInnerClass",
+                "de.is24.deadcode4j.analyzer.classdependency.ClassWithInnerClasses",
+                "java.lang.Object");
+    }
+
+}
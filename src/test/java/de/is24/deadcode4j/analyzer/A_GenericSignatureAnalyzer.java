@@ -0,0 +1,73 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.junit.FileLoader;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.equalTo;
+
+public final class A_GenericSignatureAnalyzer extends AnAnalyzer<GenericSignatureAnalyzer> {
+
+    private static final String TYPE_ERASURE_DIRECTORY = "de/is24/deadcode4j/analyzer/typeerasure/";
+
+    @Override
+    protected GenericSignatureAnalyzer createAnalyzer() {
+        return new GenericSignatureAnalyzer();
+    }
+
+    @Test
+    public void reportsTypeArgumentsOfSignatures() {
+        analyzeFile(TYPE_ERASURE_DIRECTORY + "TypedArrayList.class");
+
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.typeerasure.TypedArrayList",
+                "java.lang.Comparable",
+                "java.math.BigDecimal",
+                "java.util.ResourceBundle$Control",
+                "java.util.Map$Entry",
+                "java.util.regex.Pattern");
+    }
+
+    @Test
+    public void reportsTypeArgumentsOfMethodsAndLocalVariables() {
+        analyzeFile(TYPE_ERASURE_DIRECTORY + "ClassWithTypeArgumentsInMethods.class");
+
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.typeerasure.ClassWithTypeArgumentsInMethods",
+                "java.lang.Integer",
+                "java.lang.Number",
+                "java.lang.String",
+                "java.math.BigDecimal");
+    }
+
+    @Test
+    public void reportsTheSameDependenciesAsTypeErasureAnalyzerWhenCombinedWithIt() {
+        File directory = FileLoader.getFile(TYPE_ERASURE_DIRECTORY);
+        File sourceDirectory = FileLoader.getFile("../../src/test/java/" + TYPE_ERASURE_DIRECTORY);
+
+        for (File javaFile : sourceDirectory.listFiles()) {
+            String baseName = javaFile.getName().substring(0, javaFile.getName().length() - ".java".length());
+            AnalysisContext parsingContext = givenAnalysisContext(givenModule("A"));
+            new TypeErasureAnalyzer().doAnalysis(parsingContext, javaFile);
+
+            AnalysisContext combinedContext = givenAnalysisContext(givenModule("A"));
+            new TypeErasureAnalyzer(true).doAnalysis(combinedContext, javaFile);
+            for (File classFile : directory.listFiles()) {
+                if (classFile.getName().equals(baseName + ".class") || classFile.getName().startsWith(baseName + "$")) {
+                    objectUnderTest.doAnalysis(combinedContext, classFile);
+                }
+            }
+
+            Map<String, Set<String>> expectedDependencies = parsingContext.getAnalyzedCode().getCodeDependencies();
+            assertThat("Dependencies reported for [" + javaFile + "]",
+                    combinedContext.getAnalyzedCode().getCodeDependencies(), is(equalTo(expectedDependencies)));
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.IntermediateResult;
+import de.is24.deadcode4j.analyzer.classfile.ConstantPoolScanner;
+import de.is24.deadcode4j.junit.FileLoader;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static de.is24.deadcode4j.analyzer.ConstantPoolDependencyAnalyzer.getConstantPoolScanner;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public final class A_InlinedConstantsAnalyzer extends AnAnalyzer<InlinedConstantsAnalyzer> {
+
+    private static final String CONSTANTS_DIRECTORY = "de/is24/deadcode4j/analyzer/constants/";
+    private static final String SOURCE_DIRECTORY = "../../src/test/java/" + CONSTANTS_DIRECTORY;
+    private static final String FQ_CONSTANTS = "de.is24.deadcode4j.analyzer.constants.Constants";
+    private int numberOfParsedFiles;
+
+    @Override
+    protected InlinedConstantsAnalyzer createAnalyzer() {
+        return new InlinedConstantsAnalyzer(new ReferenceToConstantsAnalyzer() {
+            @Override
+            protected boolean isWorthParsing(@Nonnull AnalysisContext analysisContext,
+                                             @Nonnull FileContext fileContext) {
+                numberOfParsedFiles++;
+                return true;
+            }
+        });
+    }
+
+    @Test
+    public void reportsConstantFoundInConstantPoolWithoutParsing() {
+        analyzeFile(CONSTANTS_DIRECTORY + "Constants.class");
+        analyzeFile(CONSTANTS_DIRECTORY + "ClassUsingConstantInMethod.class");
+        analyzeFile(SOURCE_DIRECTORY + "ClassUsingConstantInMethod.java");
+
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.constants.ClassUsingConstantInMethod",
+                FQ_CONSTANTS);
+        assertThat(numberOfParsedFiles, is(0));
+    }
+
+    @Test
+    public void parsesJavaFileIfConstantIsNotPartOfConstantPool() {
+        analyzeFile(CONSTANTS_DIRECTORY + "Constants.class");
+        analyzeFile(CONSTANTS_DIRECTORY + "ClassUsingConstantViaStaticImportInSwitch.class");
+        analyzeFile(SOURCE_DIRECTORY + "ClassUsingConstantViaStaticImportInSwitch.java");
+
+        assertThatDependenciesAreReportedFor(
+                "de.is24.deadcode4j.analyzer.constants.ClassUsingConstantViaStaticImportInSwitch", FQ_CONSTANTS);
+        assertThat(numberOfParsedFiles, is(1));
+    }
+
+    @Test
+    public void reportsConstantsFoundInConstantPoolIfJavaFileIsMissing() {
+        analyzeFile(CONSTANTS_DIRECTORY + "Constants.class");
+        analyzeFile(CONSTANTS_DIRECTORY + "ClassUsingFQConstantInExpression.class");
+
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.constants.ClassUsingFQConstantInExpression",
+                FQ_CONSTANTS);
+    }
+
+    @Test
+    public void ignoresValuesSharedBySeveralConstantsIfJavaFileIsMissing() {
+        analyzeFile(CONSTANTS_DIRECTORY + "Constants.class");
+        analyzeFile(CONSTANTS_DIRECTORY + "InnerClassUsingConstantOfOuterClassInFieldViaQualifier.class");
+        analyzeFile(CONSTANTS_DIRECTORY + "ClassUsingFQConstantInExpression.class");
+        finishAnalysis();
+
+        assertThat(analysisContext.getAnalyzedCode().getCodeDependencies().get(
+                "de.is24.deadcode4j.analyzer.constants.ClassUsingFQConstantInExpression"), is(nullValue()));
+    }
+
+    @Test
+    public void parsesJavaFileIfReferenceToConstantCannotBeConfirmed() {
+        analyzeFile(CONSTANTS_DIRECTORY + "Constants.class");
+        analyzeFile(CONSTANTS_DIRECTORY + "ClassUsingLocalVariableNamedLikeConstantWithSameValue.class");
+        analyzeFile(SOURCE_DIRECTORY + "ClassUsingLocalVariableNamedLikeConstantWithSameValue.java");
+        finishAnalysis();
+
+        assertThat(analysisContext.getAnalyzedCode().getCodeDependencies().get(
+                "de.is24.deadcode4j.analyzer.constants.ClassUsingLocalVariableNamedLikeConstantWithSameValue"),
+                is(nullValue()));
+        assertThat(numberOfParsedFiles, is(1));
+    }
+
+    @Test
+    public void storesConstantsForDependentModules() {
+        analyzeFile(CONSTANTS_DIRECTORY + "Constants.class");
+
+        assertThatIntermediateResultIsStored();
+    }
+
+    @Test
+    public void reportsConstantsOfRequiredModules() {
+        analyzeFile(CONSTANTS_DIRECTORY + "Constants.class");
+        finishAnalysis();
+        AnalysisContext dependentContext = givenAnalysisContext(givenModule("B"), InlinedConstantsAnalyzer.class,
+                IntermediateResult.class.cast(analysisContext.getCache().get(InlinedConstantsAnalyzer.class)));
+
+        objectUnderTest.doAnalysis(dependentContext,
+                FileLoader.getFile(CONSTANTS_DIRECTORY + "ClassUsingConstantInMethod.class"));
+        objectUnderTest.doAnalysis(dependentContext,
+                FileLoader.getFile(SOURCE_DIRECTORY + "ClassUsingConstantInMethod.java"));
+        objectUnderTest.finishAnalysis(dependentContext);
+
+        assertThat(dependentContext.getAnalyzedCode().getCodeDependencies().get(
+                "de.is24.deadcode4j.analyzer.constants.ClassUsingConstantInMethod"), contains(FQ_CONSTANTS));
+    }
+
+    @Test
+    public void reportsTheSameDependenciesToConstantsAsReferenceToConstantsAnalyzer() throws Exception {
+        Collection<File> files = FileUtils.listFiles(FileLoader.getFile(CONSTANTS_DIRECTORY), new String[]{"class"}, true);
+        Collection<File> javaFiles = FileUtils.listFiles(FileLoader.getFile(SOURCE_DIRECTORY), new String[]{"java"}, true);
+        Set<String> classesDeclaringConstants = newHashSet();
+        for (File file : files) {
+            ConstantPoolScanner classFile = getConstantPoolScanner(new FileContext(file));
+            if (!classFile.getConstants().isEmpty()) {
+                classesDeclaringConstants.add(classFile.getClassName());
+            }
+        }
+        AnalysisContext parsingContext = givenAnalysisContext(givenModule("A"));
+        ReferenceToConstantsAnalyzer referenceToConstantsAnalyzer = new ReferenceToConstantsAnalyzer();
+        for (File javaFile : javaFiles) {
+            referenceToConstantsAnalyzer.doAnalysis(parsingContext, javaFile);
+            objectUnderTest.doAnalysis(analysisContext, javaFile);
+        }
+        for (File file : files) {
+            objectUnderTest.doAnalysis(analysisContext, file);
+        }
+        finishAnalysis();
+
+        assertThat(getDependenciesTo(classesDeclaringConstants, analysisContext),
+                is(equalTo(getDependenciesTo(classesDeclaringConstants, parsingContext))));
+        assertThat(numberOfParsedFiles < javaFiles.size(), is(true));
+    }
+
+    private Map<String, Set<String>> getDependenciesTo(Set<String> classes, AnalysisContext analysisContext) {
+        Map<String, Set<String>> dependencies = newHashMap();
+        for (Map.Entry<String, Set<String>> dependency :
+                analysisContext.getAnalyzedCode().getCodeDependencies().entrySet()) {
+            Set<String> dependees = newHashSet(dependency.getValue());
+            dependees.retainAll(classes);
+            dependees.remove(dependency.getKey());
+            if (!dependees.isEmpty()) {
+                dependencies.put(dependency.getKey(), dependees);
+            }
+        }
+        return dependencies;
+    }
+
+}
@@ -1,23 +1,29 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.FileContext;
+import de.is24.deadcode4j.junit.FileLoader;
 import com.github.javaparser.ast.CompilationUnit;
 import org.junit.Before;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 public final class A_JavaFileAnalyzer extends AnAnalyzer<JavaFileAnalyzer> {
 
     private AtomicBoolean didAnalyzeFile;
+    private AtomicReference<CompilationUnit> analyzedCompilationUnit;
 
     @Before
     public void setUp() {
         this.didAnalyzeFile = new AtomicBoolean(false);
+        this.analyzedCompilationUnit = new AtomicReference<CompilationUnit>();
     }
 
     @Override
@@ -26,6 +32,7 @@ public final class A_JavaFileAnalyzer extends AnAnalyzer<JavaFileAnalyzer> {
             @Override
             protected void analyzeCompilationUnit(@Nonnull AnalysisContext analysisContext, @Nonnull CompilationUnit compilationUnit) {
                 didAnalyzeFile.set(true);
+                analyzedCompilationUnit.set(compilationUnit);
             }
         };
     }
@@ -44,4 +51,27 @@ public final class A_JavaFileAnalyzer extends AnAnalyzer<JavaFileAnalyzer> {
         assertThat(didAnalyzeFile.get(), is(false));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void analyzesCompilationUnitParsedInAdvance() throws InterruptedException {
+        final FileContext fileContext = new FileContext(FileLoader.getFile("../../src/test/java/SingleClass.java"));
+        Thread preparingThread = new Thread() {
+            @Override
+            public void run() {
+                objectUnderTest.prepareAnalysis(analysisContext, fileContext);
+            }
+        };
+        preparingThread.start();
+        preparingThread.join();
+        assertThat("The analysis context should not be modified by the preparation!",
+                analysisContext.getCache().isEmpty(), is(true));
+
+        objectUnderTest.doAnalysis(analysisContext, fileContext);
+        CompilationUnit compilationUnit = analyzedCompilationUnit.get();
+        objectUnderTest.doAnalysis(analysisContext, fileContext);
+
+        assertThat(didAnalyzeFile.get(), is(true));
+        assertThat(analyzedCompilationUnit.get(), is(sameInstance(compilationUnit)));
+        fileContext.release();
+    }
+
+}
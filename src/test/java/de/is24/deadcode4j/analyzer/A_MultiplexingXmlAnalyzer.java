@@ -0,0 +1,82 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.AnalysisStage;
+import org.junit.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public final class A_MultiplexingXmlAnalyzer extends AnAnalyzer<MultiplexingXmlAnalyzer> {
+
+    private final AtomicInteger numberOfElementsSeenByStoppingHandler = new AtomicInteger();
+
+    @Override
+    protected MultiplexingXmlAnalyzer createAnalyzer() {
+        XmlAnalyzer stoppingAnalyzer = new XmlAnalyzer("web.xml") {
+            @Nonnull
+            @Override
+            protected DefaultHandler createHandlerFor(@Nonnull AnalysisContext analysisContext) {
+                return new DefaultHandler() {
+                    @Override
+                    public void startElement(String uri, String localName, String qName, Attributes attributes)
+                            throws StopParsing {
+                        numberOfElementsSeenByStoppingHandler.incrementAndGet();
+                        throw new StopParsing();
+                    }
+                };
+            }
+        };
+        XmlAnalyzer failingAnalyzer = new XmlAnalyzer("web.xml") {
+            @Nonnull
+            @Override
+            protected DefaultHandler createHandlerFor(@Nonnull AnalysisContext analysisContext) {
+                return new DefaultHandler() {
+                    @Override
+                    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                        throw new IllegalStateException("JUnit");
+                    }
+                };
+            }
+        };
+        return new MultiplexingXmlAnalyzer(asList(
+                stoppingAnalyzer, failingAnalyzer, new WebXmlAnalyzer(), new SpringXmlAnalyzer()));
+    }
+
+    @Test
+    public void forwardsEventsToAllResponsibleAnalyzers() {
+        analyzeFile("web.xml");
+
+        assertThatDependenciesAreReported(
+                "WebAppListener",
+                "WebAppFilter",
+                "WebAppServlet");
+    }
+
+    @Test
+    public void detachesHandlerThatStopsParsing() {
+        analyzeFile("web.xml");
+
+        assertThat(numberOfElementsSeenByStoppingHandler.get(), is(1));
+    }
+
+    @Test
+    public void detachesFailingHandlerAndReportsException() {
+        analyzeFile("web.xml");
+
+        assertThat(analysisContext.getAnalyzedCode().getStagesWithExceptions(), contains(AnalysisStage.FILE_ANALYSIS));
+    }
+
+    @Test
+    public void declaresSuffixesOfAllAnalyzers() {
+        assertThat(objectUnderTest.getFileNameSuffixes(), contains("web.xml", ".xml"));
+    }
+
+}
@@ -1,11 +1,17 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.analyzer.constants.ClassWithInnerClassNamedLikePotentialTarget;
+import de.is24.deadcode4j.junit.FileLoader;
+import org.apache.commons.io.FileUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -13,6 +19,8 @@ import java.util.Set;
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -580,6 +588,47 @@ public final class A_ReferenceToConstantsAnalyzer extends AnAnalyzer<ReferenceTo
                 "de.is24.deadcode4j.analyzer.constants.Superclass");
     }
 
+    @Test
+    public void recognizesPotentialReferencesToConstants() {
+        assertThat(mayReferToConstants("import static foo.Constants.BAR; class A {}"), is(true));
+        assertThat(mayReferToConstants("class A { String s = Constants.FOO; }"), is(true));
+        assertThat(mayReferToConstants("class A { void foo() { System.out.println(); } }"), is(true));
+        assertThat(mayReferToConstants("class A extends B { int i = FOO; }"), is(true));
+        assertThat(mayReferToConstants("interface A { interface B {} }"), is(true));
+        assertThat(mayReferToConstants("class A { Object o = new Object() { }; }"), is(true));
+        assertThat(mayReferToConstants("enum A { B }"), is(true));
+
+        assertThat(mayReferToConstants("package foo.bar; import java.util.List; class A { }"), is(false));
+        assertThat(mayReferToConstants("class A { void foo() { bar.baz(this.x, A.class, 1.5); } }"), is(false));
+        assertThat(mayReferToConstants("class A { Object o = new Object(); int[] i = new int[] {1}; }"), is(false));
+        assertThat(mayReferToConstants("class A { /* Constants.FOO */ String s = \"Constants.FOO\"; }"), is(false));
+    }
+
+    @Test
+    public void reportsTheSameDependenciesIfFilesWithoutPotentialReferencesAreSkipped() throws IOException {
+        Collection<File> javaFiles = FileUtils.listFiles(FileLoader.getFile("../../src"), new String[]{"java"}, true);
+        AnalysisContext parsingContext = givenAnalysisContext(givenModule("de.is24:deadcode4j-junit"));
+        AnalysisContext prefilteringContext = givenAnalysisContext(givenModule("de.is24:deadcode4j-junit"));
+        ReferenceToConstantsAnalyzer prefilteringAnalyzer = new ReferenceToConstantsAnalyzer(true);
+        int numberOfSkippedFiles = 0;
+
+        for (File javaFile : javaFiles) {
+            objectUnderTest.doAnalysis(parsingContext, javaFile);
+            prefilteringAnalyzer.doAnalysis(prefilteringContext, javaFile);
+            if (!mayReferToConstants(FileUtils.readFileToString(javaFile, "UTF-8"))) {
+                numberOfSkippedFiles++;
+            }
+        }
+
+        assertThat(prefilteringContext.getAnalyzedCode().getCodeDependencies(),
+                is(equalTo(parsingContext.getAnalyzedCode().getCodeDependencies())));
+        assertThat(numberOfSkippedFiles, is(greaterThan(0)));
+    }
+
+    private static boolean mayReferToConstants(String source) {
+        return ReferenceToConstantsAnalyzer.mayReferToConstants(JavaSourceTokens.tokenize(source));
+    }
+
     private void triggerFinishAnalysisEvent() {
         objectUnderTest.finishAnalysis(analysisContext);
     }
@@ -1,9 +1,31 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.IntermediateResult;
+import de.is24.deadcode4j.Resource;
+import de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
+import static java.util.Collections.singleton;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
 
 public class A_ServletContainerInitializerAnalyzer extends AnAnalyzer<ServletContainerInitializerAnalyzer> {
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Override
     protected ServletContainerInitializerAnalyzer createAnalyzer() {
         return new ServletContainerInitializerAnalyzer("JUnit", "de.is24.deadcode4j.junit.SomeInterface") {
@@ -33,4 +55,32 @@ public class A_ServletContainerInitializerAnalyzer extends AnAnalyzer<ServletCon
 
         assertThatNoDependenciesAreReported();
     }
+
+    @Test
+    public void usesTheClassPoolAccessorAndJarIndexDirectoryOfTheModule() throws IOException {
+        File jarIndexDirectory = temporaryFolder.newFolder("index");
+        analysisContext = new AnalysisContext(givenModule("A", null, singleton(Resource.of(givenJarFile()))),
+                Collections.<Object, IntermediateResult>emptyMap(), jarIndexDirectory);
+
+        analyzeFile("SomeServletInitializer.class");
+
+        Object cachedAccessor = analysisContext.getCache().get(ClassPoolAccessor.class);
+        assertThat(cachedAccessor, is(notNullValue()));
+        assertThat(classPoolAccessorFor(analysisContext), is(sameInstance(cachedAccessor)));
+        assertThat("The JAR file should have been indexed in the module's directory!",
+                jarIndexDirectory.list(), is(not(emptyArray())));
+    }
+
+    private File givenJarFile() throws IOException {
+        File jarFile = temporaryFolder.newFile("dependency.jar");
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jarFile));
+        try {
+            jarOutputStream.putNextEntry(new ZipEntry("de/is24/deadcode4j/OnlyInJar.class"));
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        return jarFile;
+    }
+
 }
@@ -1,9 +1,39 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.junit.FileLoader;
+import org.apache.commons.io.FileUtils;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
 public final class A_TypeErasureAnalyzer extends AnAnalyzer<TypeErasureAnalyzer> {
 
+    private static boolean containsTypeArgumentsMissingInByteCode(String source) {
+        return TypeErasureAnalyzer.containsTypeArgumentsMissingInByteCode(JavaSourceTokens.tokenize(source));
+    }
+
+    private static boolean containsTypeArguments(String source) {
+        return TypeErasureAnalyzer.containsTypeArguments(JavaSourceTokens.tokenize(source));
+    }
+
+    private static String readFileToString(File file) {
+        try {
+            return FileUtils.readFileToString(file, "UTF-8");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read [" + file + "]!", e);
+        }
+    }
+
     @Override
     protected TypeErasureAnalyzer createAnalyzer() {
         return new TypeErasureAnalyzer();
@@ -79,6 +109,17 @@ public final class A_TypeErasureAnalyzer extends AnAnalyzer<TypeErasureAnalyzer>
                 "java.util.Set");
     }
 
+    @Test
+    public void resolvesTypesOfEachFileSharingTheSameImports() {
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/typeerasure/ClassReferencingPackageClass.java");
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/typeerasure/ClassShadowingPackageClass.java");
+
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.typeerasure.ClassReferencingPackageClass",
+                "de.is24.deadcode4j.analyzer.typeerasure.PackageClass");
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.typeerasure.ClassShadowingPackageClass",
+                "de.is24.deadcode4j.analyzer.typeerasure.ClassShadowingPackageClass$PackageClass");
+    }
+
     @Test
     public void recognizesLambdaMethodReference() {
         analyzeFile("../../src/test/resources/de/is24/deadcode4j/java8/Lambda.java");
@@ -86,6 +127,56 @@ public final class A_TypeErasureAnalyzer extends AnAnalyzer<TypeErasureAnalyzer>
         assertThatDependenciesAreReportedFor("de.is24.deadcode4j.java8.Lambda", "java.lang.String");
     }
 
+    @Test
+    public void recognizesTypeArgumentsMissingInByteCode() {
+        assertThat(containsTypeArgumentsMissingInByteCode("Object o = new ArrayList<Foo>();"), is(true));
+        assertThat(containsTypeArgumentsMissingInByteCode("Object o = new java.util.ArrayList<Foo>();"), is(true));
+        assertThat(containsTypeArgumentsMissingInByteCode("Object o = new <Foo>Bar();"), is(true));
+        assertThat(containsTypeArgumentsMissingInByteCode("Object o = Collections.<Foo>emptyList();"), is(true));
+        assertThat(containsTypeArgumentsMissingInByteCode("Object o = (List<Foo>) bar;"), is(true));
+        assertThat(containsTypeArgumentsMissingInByteCode("Object o = (Map<Foo, List<Bar>>[]) bar;"), is(true));
+        assertThat(containsTypeArgumentsMissingInByteCode("Object o = List<Foo>::size;"), is(true));
+
+        assertThat(containsTypeArgumentsMissingInByteCode("List<Foo> list = new ArrayList<>();"), is(false));
+        assertThat(containsTypeArgumentsMissingInByteCode("void foo(List<Foo> list) { if (a < b) {} }"), is(false));
+        assertThat(containsTypeArgumentsMissingInByteCode("boolean b = (a < b && c > d);"), is(false));
+        assertThat(containsTypeArgumentsMissingInByteCode("// new ArrayList<Foo>()\n"), is(false));
+        assertThat(containsTypeArgumentsMissingInByteCode("/* (List<Foo>) bar */"), is(false));
+        assertThat(containsTypeArgumentsMissingInByteCode("String s = \"new ArrayList<Foo>()\";"), is(false));
+    }
+
+    @Test
+    public void recognizesTypeArguments() {
+        assertThat(containsTypeArguments("List<Foo> list = new ArrayList<>();"), is(true));
+        assertThat(containsTypeArguments("class Foo<T extends Comparable<T>> {}"), is(true));
+        assertThat(containsTypeArguments("Map<String, List<? super Foo>>[] maps;"), is(true));
+
+        assertThat(containsTypeArguments("Object o = new ArrayList<>();"), is(false));
+        assertThat(containsTypeArguments("void foo() { for (int i = 0; i < 10; i++) {} }"), is(false));
+        assertThat(containsTypeArguments("// List<Foo>\n"), is(false));
+        assertThat(containsTypeArguments("String s = \"List<Foo>\";"), is(false));
+    }
+
+    @Test
+    public void reportsTheSameDependenciesIfFilesWithoutTypeArgumentsAreSkipped() {
+        Collection<File> javaFiles = FileUtils.listFiles(FileLoader.getFile("../../src"), new String[]{"java"}, true);
+        AnalysisContext prefilteringContext = givenAnalysisContext(givenModule("de.is24:deadcode4j-junit"));
+        TypeErasureAnalyzer prefilteringAnalyzer = new TypeErasureAnalyzer(false, true);
+        int numberOfSkippedFiles = 0;
+
+        for (File javaFile : javaFiles) {
+            objectUnderTest.doAnalysis(analysisContext, javaFile);
+            prefilteringAnalyzer.doAnalysis(prefilteringContext, javaFile);
+            if (!containsTypeArguments(readFileToString(javaFile))) {
+                numberOfSkippedFiles++;
+            }
+        }
+
+        assertThat(prefilteringContext.getAnalyzedCode().getCodeDependencies(),
+                is(equalTo(analysisContext.getAnalyzedCode().getCodeDependencies())));
+        assertThat(numberOfSkippedFiles, is(greaterThan(0)));
+    }
+
     @Test
     public void gracefullyHandlesIrrelevantTypes() {
         analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/typeerasure/ClassWithTypesThatShouldNotBeRecognized.java");
@@ -0,0 +1,117 @@
+package de.is24.deadcode4j.analyzer.classfile;
+
+import de.is24.deadcode4j.junit.FileLoader;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.annotation.Annotation;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class A_ConstantPoolScanner {
+
+    @Test
+    public void reportsClassNameAndReferencedClasses() throws IOException {
+        ConstantPoolScanner objectUnderTest = scan(FileLoader.getFile("DependingClass.class"));
+
+        assertThat(objectUnderTest.getClassName(), is("DependingClass"));
+        assertThat(objectUnderTest.getReferencedClasses(),
+                containsInAnyOrder("DependingClass", "IndependentClass", "java.lang.Object"));
+    }
+
+    @Test
+    public void reportsTheSameClassesAsJavassist() throws IOException {
+        ClassPool classPool = new ClassPool(false);
+        Collection<File> classFiles = FileUtils.listFiles(FileLoader.getFile("."), new String[]{"class"}, true);
+
+        for (File classFile : classFiles) {
+            CtClass clazz = classPool.makeClass(new ByteArrayInputStream(FileUtils.readFileToByteArray(classFile)));
+            @SuppressWarnings("unchecked")
+            Set<String> expectedClasses = newHashSet((Collection<String>) clazz.getRefClasses());
+
+            ConstantPoolScanner objectUnderTest = scan(classFile);
+
+            assertThat("Class name of [" + classFile + "]", objectUnderTest.getClassName(), is(clazz.getName()));
+            assertThat("Referenced classes of [" + classFile + "]",
+                    objectUnderTest.getReferencedClasses(), is(equalTo(expectedClasses)));
+            assertThat("Super class of [" + classFile + "]",
+                    objectUnderTest.getSuperClassName(), is(clazz.getClassFile2().getSuperclass()));
+            assertThat("Interfaces of [" + classFile + "]",
+                    objectUnderTest.getInterfaceNames(), is(asList(clazz.getClassFile2().getInterfaces())));
+            assertThat("Annotations of [" + classFile + "]",
+                    objectUnderTest.getAnnotations(), is(equalTo(getAnnotationsOf(clazz))));
+            clazz.detach();
+        }
+        assertThat(classFiles, hasSize(greaterThan(100)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOtherFiles() throws IOException {
+        scan(FileLoader.getFile("de/is24/deadcode4j/analyzer/some.xml"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTruncatedClassFile() throws IOException {
+        byte[] content = FileUtils.readFileToByteArray(FileLoader.getFile("DependingClass.class"));
+
+        ConstantPoolScanner.scan(ByteBuffer.wrap(content, 0, content.length / 2));
+    }
+
+    @Test
+    public void reportsSuperClassInterfacesAndAnnotations() throws IOException {
+        ConstantPoolScanner objectUnderTest = scan(FileLoader.getFile("ClassAnnotatedWithAnnotatedAnnotation.class"));
+
+        assertThat(objectUnderTest.getSuperClassName(), is("java.lang.Object"));
+        assertThat(objectUnderTest.getInterfaceNames(), hasSize(0));
+        assertThat(objectUnderTest.getAnnotations(), contains("de.is24.deadcode4j.junit.AnnotatedAnnotation"));
+
+        objectUnderTest = scan(FileLoader.getFile("ClassImplementingCloneable.class"));
+
+        assertThat(objectUnderTest.getInterfaceNames(), contains("java.lang.Cloneable"));
+    }
+
+    @Test
+    public void reportsConstantsLiteralsAndSourceFile() throws IOException {
+        ConstantPoolScanner objectUnderTest =
+                scan(FileLoader.getFile("de/is24/deadcode4j/analyzer/constants/Constants.class"));
+
+        assertThat(objectUnderTest.getConstants(), allOf(hasEntry("FOO", (Object) "foo"), hasEntry("BAR", (Object) 42)));
+        assertThat(objectUnderTest.getConstants().size(), is(2));
+        assertThat(objectUnderTest.getSourceFileName(), is("Constants.java"));
+
+        objectUnderTest = scan(FileLoader.getFile(
+                "de/is24/deadcode4j/analyzer/constants/ClassUsingFQConstantInExpression.class"));
+
+        assertThat(objectUnderTest.getConstants().size(), is(0));
+        assertThat(objectUnderTest.getLiterals(), hasItems((Object) "foo", "har"));
+    }
+
+    private Set<String> getAnnotationsOf(CtClass clazz) {
+        Set<String> annotations = newHashSet();
+        for (Object attribute : clazz.getClassFile2().getAttributes()) {
+            if (AnnotationsAttribute.class.isInstance(attribute)) {
+                for (Annotation annotation : AnnotationsAttribute.class.cast(attribute).getAnnotations()) {
+                    annotations.add(annotation.getTypeName());
+                }
+            }
+        }
+        return annotations;
+    }
+
+    private ConstantPoolScanner scan(File file) throws IOException {
+        return ConstantPoolScanner.scan(ByteBuffer.wrap(FileUtils.readFileToByteArray(file)));
+    }
+
+}
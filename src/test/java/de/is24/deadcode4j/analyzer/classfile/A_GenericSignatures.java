@@ -0,0 +1,49 @@
+package de.is24.deadcode4j.analyzer.classfile;
+
+import org.junit.Test;
+
+import static de.is24.deadcode4j.analyzer.classfile.GenericSignatures.getTypeArguments;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+
+public final class A_GenericSignatures {
+
+    @Test
+    public void reportsTypeArgumentsOfFieldSignature() {
+        assertThat(getTypeArguments("Ljava/util/List<Ljava/util/Map$Entry<Ljava/lang/String;[Ljava/lang/Integer;>;>;"),
+                containsInAnyOrder("java.util.Map$Entry", "java.lang.String", "java.lang.Integer"));
+    }
+
+    @Test
+    public void reportsTypeArgumentsOfClassSignature() {
+        assertThat(getTypeArguments("<T::Ljava/lang/Comparable<TT;>;U:Ljava/lang/Number;>" +
+                        "Ljava/util/ArrayList<TT;>;Ljava/util/concurrent/Callable<Ljava/math/BigDecimal;>;"),
+                containsInAnyOrder("java.math.BigDecimal"));
+    }
+
+    @Test
+    public void reportsTypeArgumentsOfMethodSignature() {
+        assertThat(getTypeArguments("<X:Ljava/lang/Exception;>(ILjava/util/Map<-Ljava/lang/Long;*>;[[J)" +
+                        "Ljava/util/Set<+Ljava/lang/Byte;>;^TX;^Ljava/io/IOException;"),
+                containsInAnyOrder("java.lang.Long", "java.lang.Byte"));
+    }
+
+    @Test
+    public void reportsTypeArgumentsOfInnerClasses() {
+        assertThat(getTypeArguments("Lde/is24/Outer<Ljava/lang/String;>.Inner<Ljava/lang/Long;>;"),
+                containsInAnyOrder("java.lang.String", "java.lang.Long"));
+    }
+
+    @Test
+    public void ignoresTypeVariablesAndPrimitives() {
+        assertThat(getTypeArguments("Ljava/util/List<[I>;"), hasSize(0));
+        assertThat(getTypeArguments("TT;"), hasSize(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsForMalformedSignature() {
+        getTypeArguments("Ljava/util/List<Ljava/lang/String;");
+    }
+
+}
@@ -0,0 +1,197 @@
+package de.is24.deadcode4j.analyzer.classfile;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import de.is24.deadcode4j.junit.FileLoader;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class A_JarIndex {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void indexesClassesOfJarFile() throws IOException {
+        File jarFile = givenJarFile("ClassImplementingCloneable.class", "de/is24/Broken.class", "readme.txt");
+
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile);
+
+        assertThat(objectUnderTest.getClassNames(), containsInAnyOrder("ClassImplementingCloneable", "de.is24.Broken"));
+        assertThat(objectUnderTest.contains("ClassImplementingCloneable"), is(true));
+        assertThat(objectUnderTest.contains("readme"), is(false));
+        ClassInfo classInfo = objectUnderTest.getClassInfo("ClassImplementingCloneable");
+        assertThat(classInfo, is(notNullValue()));
+        assertThat(classInfo.getSuperClassName(), is("java.lang.Object"));
+        assertThat(classInfo.getInterfaceNames(), contains("java.lang.Cloneable"));
+        assertThat(objectUnderTest.getClassInfo("de.is24.Broken"), is(nullValue()));
+    }
+
+    @Test
+    public void readsClassFilesOnDemand() throws IOException {
+        File jarFile = givenJarFile("ClassImplementingCloneable.class", "DependingClass.class");
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile);
+        ClassInfo classInfo = objectUnderTest.getClassInfo("ClassImplementingCloneable");
+
+        FileUtils.forceDelete(jarFile);
+
+        assertThat(objectUnderTest.contains("DependingClass"), is(true));
+        assertThat(objectUnderTest.getClassInfo("DependingClass"), is(nullValue()));
+        assertThat(objectUnderTest.getClassInfo("ClassImplementingCloneable"), is(sameInstance(classInfo)));
+    }
+
+    @Test
+    public void sharesIndexOfUnchangedJarFile() throws IOException {
+        File jarFile = givenJarFile("DependingClass.class");
+
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile);
+
+        assertThat(JarIndex.indexOf(new File(jarFile.getPath())), is(sameInstance(objectUnderTest)));
+    }
+
+    @Test
+    public void reindexesModifiedJarFile() throws IOException {
+        File jarFile = givenJarFile("DependingClass.class");
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile);
+
+        writeJarFile(jarFile, "DependingClass.class", "IndependentClass.class");
+        JarIndex modifiedIndex = JarIndex.indexOf(jarFile);
+
+        assertThat(modifiedIndex, is(not(sameInstance(objectUnderTest))));
+        assertThat(modifiedIndex.getClassNames(), containsInAnyOrder("DependingClass", "IndependentClass"));
+    }
+
+    @Test(expected = IOException.class)
+    public void failsIfFileIsNoJarFile() throws IOException {
+        File file = temporaryFolder.newFile("broken.jar");
+        FileUtils.writeStringToFile(file, "no jar", "UTF-8");
+
+        JarIndex.indexOf(file);
+    }
+
+    @Test
+    public void storesIndexNamedAfterChecksum() throws IOException {
+        File storageDirectory = temporaryFolder.newFolder("indexes");
+        File jarFile = givenJarFile("ClassImplementingCloneable.class", "de/is24/Broken.class");
+
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile, storageDirectory);
+
+        String checksum = Files.hash(jarFile, Hashing.sha1()).toString();
+        File indexFile = new File(storageDirectory, checksum + ".index");
+        assertThat(indexFile.isFile(), is(true));
+        assertThat(JarIndexFile.readReference(JarIndex.referenceFileFor(jarFile, storageDirectory)), is(checksum));
+        JarIndex storedIndex = JarIndexFile.read(indexFile, jarFile);
+        assertThat(storedIndex.getClassNames(), is(equalTo(objectUnderTest.getClassNames())));
+        ClassInfo classInfo = storedIndex.getClassInfo("ClassImplementingCloneable");
+        assertThat(classInfo, is(notNullValue()));
+        assertThat(classInfo.getSuperClassName(), is("java.lang.Object"));
+        assertThat(classInfo.getInterfaceNames(), contains("java.lang.Cloneable"));
+        assertThat(storedIndex.getClassInfo("de.is24.Broken"), is(nullValue()));
+    }
+
+    @Test
+    public void readsStoredIndexOfJarFileWithSameContent() throws IOException {
+        File storageDirectory = temporaryFolder.newFolder("indexes");
+        File jarFile = givenJarFile("DependingClass.class");
+        File indexFile = new File(storageDirectory, Files.hash(jarFile, Hashing.sha1()) + ".index");
+        JarIndexFile.write(new JarIndex(jarFile, newHashSet("StoredClass"), Collections.<String, ClassInfo>emptyMap()),
+                indexFile);
+
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile, storageDirectory);
+
+        assertThat(objectUnderTest.getClassNames(), contains("StoredClass"));
+        assertThat(objectUnderTest.getFile(), is(jarFile.getAbsoluteFile()));
+    }
+
+    @Test
+    public void ignoresCorruptStoredIndex() throws IOException {
+        File storageDirectory = temporaryFolder.newFolder("indexes");
+        File jarFile = givenJarFile("DependingClass.class");
+        File indexFile = new File(storageDirectory, Files.hash(jarFile, Hashing.sha1()) + ".index");
+        FileUtils.writeStringToFile(indexFile, "corrupt", "UTF-8");
+
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile, storageDirectory);
+
+        assertThat(objectUnderTest.getClassNames(), contains("DependingClass"));
+        assertThat(JarIndexFile.read(indexFile, jarFile).getClassNames(), contains("DependingClass"));
+    }
+
+    @Test
+    public void readsIndexReferencedForPathSizeAndModificationDate() throws IOException {
+        File storageDirectory = temporaryFolder.newFolder("indexes");
+        File jarFile = givenJarFile("DependingClass.class");
+        JarIndexFile.write(new JarIndex(jarFile, newHashSet("ReferencedClass"), Collections.<String, ClassInfo>emptyMap()),
+                new File(storageDirectory, "referenced.index"));
+        JarIndexFile.writeReference("referenced", JarIndex.referenceFileFor(jarFile, storageDirectory));
+
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile, storageDirectory);
+
+        assertThat(objectUnderTest.getClassNames(), contains("ReferencedClass"));
+    }
+
+    @Test
+    public void ignoresDanglingReference() throws IOException {
+        File storageDirectory = temporaryFolder.newFolder("indexes");
+        File jarFile = givenJarFile("DependingClass.class");
+        File referenceFile = JarIndex.referenceFileFor(jarFile, storageDirectory);
+        JarIndexFile.writeReference("missing", referenceFile);
+
+        JarIndex objectUnderTest = JarIndex.indexOf(jarFile, storageDirectory);
+
+        assertThat(objectUnderTest.getClassNames(), contains("DependingClass"));
+        assertThat(JarIndexFile.readReference(referenceFile), is(Files.hash(jarFile, Hashing.sha1()).toString()));
+    }
+
+    @Test
+    public void replacesExistingIndexFile() throws IOException {
+        File storageDirectory = temporaryFolder.newFolder("indexes");
+        File jarFile = givenJarFile("DependingClass.class");
+        File indexFile = new File(storageDirectory, "dependency.index");
+        JarIndexFile.write(new JarIndex(jarFile, newHashSet("OldClass"), Collections.<String, ClassInfo>emptyMap()),
+                indexFile);
+
+        JarIndexFile.write(new JarIndex(jarFile, newHashSet("NewClass"), Collections.<String, ClassInfo>emptyMap()),
+                indexFile);
+
+        assertThat(JarIndexFile.read(indexFile, jarFile).getClassNames(), contains("NewClass"));
+        assertThat(storageDirectory.list(), is(arrayContaining("dependency.index")));
+    }
+
+    private File givenJarFile(String... entries) throws IOException {
+        File jarFile = temporaryFolder.newFile("dependency.jar");
+        writeJarFile(jarFile, entries);
+        return jarFile;
+    }
+
+    private void writeJarFile(File jarFile, String... entries) throws IOException {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jarFile));
+        try {
+            for (String entry : entries) {
+                jarOutputStream.putNextEntry(new ZipEntry(entry));
+                File file = FileLoader.getFile(entry);
+                if (file.exists()) {
+                    jarOutputStream.write(FileUtils.readFileToByteArray(file));
+                } else {
+                    jarOutputStream.write(new byte[]{1, 2, 3});
+                }
+                jarOutputStream.closeEntry();
+            }
+        } finally {
+            jarOutputStream.close();
+        }
+    }
+
+}
@@ -0,0 +1,10 @@
+package de.is24.deadcode4j.analyzer.constants;
+@SuppressWarnings("UnusedDeclaration")
+public class ClassUsingLocalVariableNamedLikeConstantWithSameValue {
+    @Override
+    public String toString() {
+        @SuppressWarnings("UnnecessaryLocalVariable")
+        String FOO = "foo";
+        return FOO;
+    }
+}
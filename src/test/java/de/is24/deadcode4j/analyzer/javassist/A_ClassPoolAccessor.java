@@ -0,0 +1,178 @@
+package de.is24.deadcode4j.analyzer.javassist;
+
+import com.google.common.base.Optional;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.Resource;
+import de.is24.deadcode4j.analyzer.classfile.ClassInfo;
+import de.is24.deadcode4j.junit.FileLoader;
+import de.is24.javassist.CtClasses;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
+import static java.util.Collections.singleton;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class A_ClassPoolAccessor {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void cachesOnlyTheMostRecentlyUsedClasses() throws NotFoundException {
+        BoundedClassPool objectUnderTest = new BoundedClassPool(2);
+
+        CtClass string = objectUnderTest.get("java.lang.String");
+        objectUnderTest.get("java.lang.Integer");
+        assertThat(objectUnderTest.get("java.lang.String"), is(sameInstance(string)));
+        objectUnderTest.get("java.lang.Long");
+
+        assertThat(objectUnderTest.getNumberOfCachedClasses(), is(2));
+        assertThat(objectUnderTest.get("java.lang.String"), is(sameInstance(string)));
+        assertThat(objectUnderTest.get("int"), is(sameInstance(CtClass.intType)));
+    }
+
+    @Test
+    public void keepsEvictedClassesThatAreStillInUse() throws NotFoundException {
+        BoundedClassPool objectUnderTest = new BoundedClassPool(1);
+
+        CtClass string = objectUnderTest.get("java.lang.String");
+        objectUnderTest.get("java.lang.Integer");
+        assertThat(objectUnderTest.getNumberOfCachedClasses(), is(1));
+
+        assertThat(objectUnderTest.get("java.lang.String"), is(sameInstance(string)));
+        assertThat(objectUnderTest.getNumberOfCachedClasses(), is(1));
+    }
+
+    @Test
+    public void reloadsDetachedClasses() throws NotFoundException {
+        BoundedClassPool objectUnderTest = new BoundedClassPool(1);
+
+        CtClass string = objectUnderTest.get("java.lang.String");
+        objectUnderTest.get("java.lang.Integer");
+        string.detach();
+
+        assertThat(objectUnderTest.getNumberOfCachedClasses(), is(1));
+        assertThat(objectUnderTest.get("java.lang.String"), is(not(sameInstance(string))));
+    }
+
+    @Test
+    public void removesClassPathWhenClosed() throws IOException {
+        File jarFile = givenJarFileContaining("de/is24/deadcode4j/OnlyInJar.class");
+        AnalysisContext analysisContext = givenAnalysisContext(
+                givenModule("A", null, singleton(Resource.of(jarFile))));
+        ClassPoolAccessor objectUnderTest = classPoolAccessorFor(analysisContext);
+        ClassPool classPool = objectUnderTest.getClassPool();
+        assertThat(classPool.find("de.is24.deadcode4j.OnlyInJar"), is(notNullValue()));
+
+        analysisContext.release();
+
+        assertThat(classPool.find("de.is24.deadcode4j.OnlyInJar"), is(nullValue()));
+        assertThat(classPoolAccessorFor(analysisContext), is(not(sameInstance(objectUnderTest))));
+    }
+
+    @Test
+    public void providesClassInfoOfIndexedJarFiles() throws IOException {
+        File jarFile = givenJarFileContaining("de/is24/deadcode4j/OnlyInJar.class");
+        ClassPoolAccessor objectUnderTest = classPoolAccessorFor(givenAnalysisContext(
+                givenModule("A", null, singleton(Resource.of(jarFile)))));
+
+        ClassInfo classInfo = objectUnderTest.getClassInfo("ClassImplementingExternalizable");
+        assertThat(classInfo, is(notNullValue()));
+        assertThat(classInfo.getInterfaceNames(), contains("java.io.Externalizable"));
+        assertThat(objectUnderTest.isOnClassPath("ClassImplementingExternalizable"), is(true));
+        assertThat(objectUnderTest.isOnClassPath("de.is24.deadcode4j.OnlyInJar"), is(true));
+        assertThat(objectUnderTest.isOnClassPath("de.is24.deadcode4j.DoesNotExist"), is(false));
+    }
+
+    @Test
+    public void resolvesClassesWithoutLoadingThem() throws IOException {
+        File jarFile = givenJarFileContaining("de/is24/deadcode4j/OnlyInJar.class");
+        File outputDirectory = temporaryFolder.newFolder("classes");
+        FileUtils.copyFile(FileLoader.getFile("DependingClass.class"),
+                new File(outputDirectory, "de/is24/deadcode4j/InOutputDirectory.class"));
+        ClassPoolAccessor objectUnderTest = classPoolAccessorFor(givenAnalysisContext(
+                givenModule("A", outputDirectory, singleton(Resource.of(jarFile)))));
+
+        assertThat(objectUnderTest.resolveClass("de.is24.deadcode4j.OnlyInJar"),
+                is(Optional.of("de.is24.deadcode4j.OnlyInJar")));
+        assertThat(objectUnderTest.resolveClass("de.is24.deadcode4j.InOutputDirectory"),
+                is(Optional.of("de.is24.deadcode4j.InOutputDirectory")));
+        assertThat(objectUnderTest.resolveClass("java.util.Map.Entry"), is(Optional.of("java.util.Map$Entry")));
+        assertThat(objectUnderTest.resolveClass("int"), is(Optional.of("int")));
+        assertThat(objectUnderTest.resolveClass("de.is24.deadcode4j.DoesNotExist"),
+                is(Optional.<String>absent()));
+        assertThat(BoundedClassPool.class.cast(objectUnderTest.getClassPool()).getNumberOfCachedClasses(), is(0));
+    }
+
+    @Test
+    public void resolvesClassesWithinPackages() throws IOException {
+        File jarFile = givenJarFileContaining("de/is24/deadcode4j/OnlyInJar.class");
+        ClassPoolAccessor objectUnderTest = classPoolAccessorFor(givenAnalysisContext(
+                givenModule("A", null, singleton(Resource.of(jarFile)))));
+
+        assertThat(objectUnderTest.resolveClassInPackage("de.is24.deadcode4j", "OnlyInJar"),
+                is(Optional.of("de.is24.deadcode4j.OnlyInJar")));
+        assertThat(objectUnderTest.resolveClassInPackage("", "ClassImplementingExternalizable"),
+                is(Optional.of("ClassImplementingExternalizable")));
+        assertThat(objectUnderTest.resolveClassInPackage("de.is24.deadcode4j", "Module"),
+                is(Optional.of("de.is24.deadcode4j.Module")));
+        assertThat(objectUnderTest.resolveClassInPackage("de.is24.deadcode4j", "DoesNotExist"),
+                is(Optional.<String>absent()));
+        assertThat(objectUnderTest.resolveClassInPackage("java.util", "Map.Entry"),
+                is(Optional.of("java.util.Map$Entry")));
+        assertThat(objectUnderTest.resolveClassInPackage("java.util.Map", "Entry"),
+                is(Optional.of("java.util.Map$Entry")));
+        assertThat(objectUnderTest.resolveClassInPackage("java.lang", "DoesNotExist"),
+                is(Optional.<String>absent()));
+    }
+
+    @Test
+    public void findsTheSameInterfacesAsCtClasses() throws IOException, NotFoundException {
+        ClassPoolAccessor objectUnderTest = classPoolAccessorFor(givenAnalysisContext(givenModule("A")));
+        ClassPool classPool = objectUnderTest.getClassPool();
+        File baseDirectory = FileLoader.getFile(".").getCanonicalFile();
+        Collection<File> classFiles = FileUtils.listFiles(baseDirectory, new String[]{"class"}, true);
+
+        for (File classFile : classFiles) {
+            String path = classFile.getPath().substring(baseDirectory.getPath().length() + 1);
+            String className = path.substring(0, path.length() - ".class".length()).replace(File.separatorChar, '.');
+            CtClass clazz = classPool.get(className);
+
+            assertThat("Interfaces of [" + className + "]", objectUnderTest.getAllImplementedInterfaces(clazz),
+                    is(equalTo(CtClasses.getAllImplementedInterfaces(clazz))));
+        }
+    }
+
+    private File givenJarFileContaining(String entry) throws IOException {
+        File jarFile = temporaryFolder.newFile("dependency.jar");
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jarFile));
+        try {
+            jarOutputStream.putNextEntry(new ZipEntry(entry));
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new ZipEntry("ClassImplementingExternalizable.class"));
+            jarOutputStream.write(FileUtils.readFileToByteArray(
+                    FileLoader.getFile("ClassImplementingExternalizable.class")));
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        return jarFile;
+    }
+
+}
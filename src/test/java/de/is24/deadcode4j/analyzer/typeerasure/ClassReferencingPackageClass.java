@@ -0,0 +1,8 @@
+package de.is24.deadcode4j.analyzer.typeerasure;
+
+import java.util.List;
+
+@SuppressWarnings("UnusedDeclaration")
+public class ClassReferencingPackageClass {
+    private List<PackageClass> packageClasses;
+}
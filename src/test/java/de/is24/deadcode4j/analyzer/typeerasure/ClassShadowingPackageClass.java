@@ -0,0 +1,10 @@
+package de.is24.deadcode4j.analyzer.typeerasure;
+
+import java.util.List;
+
+@SuppressWarnings("UnusedDeclaration")
+public class ClassShadowingPackageClass {
+    private List<PackageClass> packageClasses;
+
+    public static class PackageClass { }
+}
@@ -0,0 +1,14 @@
+package de.is24.deadcode4j.analyzer.typeerasure;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@SuppressWarnings("UnusedDeclaration")
+public class ClassWithTypeArgumentsInMethods {
+    public Set<Integer> getNumbers(Map<String, ? extends Number> numbers) {
+        List<BigDecimal> decimals = null;
+        return null;
+    }
+}
@@ -15,6 +15,8 @@ import java.io.IOException;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 public final class A_Nodes extends AUtilityClass {
 
@@ -61,6 +63,18 @@ public final class A_Nodes extends AUtilityClass {
         }, null);
     }
 
+    @Test
+    public void calculatesTypeNamesOncePerCompilationUnit() throws IOException, ParseException {
+        CompilationUnit compilationUnit = JavaParser.parse(
+                FileLoader.getFile("de/is24/javaparser/TypeNameTestClass.java"));
+
+        assertThat(Nodes.getTypeName(compilationUnit.getTypes().get(0)), is("de.is24.javaparser.TypeNameTestClass"));
+        Object binaryNames = compilationUnit.getData();
+        assertThat(binaryNames, is(notNullValue()));
+        assertThat(Nodes.getTypeName(compilationUnit.getPackage()), is("de.is24.javaparser.package-info"));
+        assertThat(compilationUnit.getData(), is(sameInstance(binaryNames)));
+    }
+
     @Override
     protected Class<?> getType() {
         return Nodes.class;
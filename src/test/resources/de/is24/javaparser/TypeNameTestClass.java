@@ -68,4 +68,9 @@ public class TypeNameTestClass {
     private Object thirdObject = new Object() {
         String s = "de.is24.javaparser.TypeNameTestClass$5";
     };
+    private Object fourthObject = new Object() {
+        class MemberOfAnonymous {
+            String s = "de.is24.javaparser.TypeNameTestClass$6$MemberOfAnonymous";
+        }
+    };
 }